@@ -1,7 +1,11 @@
 package commands;
 
+import java.util.concurrent.CompletableFuture;
+
+import commands.util.CommandArgs;
 import commands.util.CommandObject;
-import net.dv8tion.jda.api.EmbedBuilder;
+import commands.util.CommandResult;
+import commands.util.MentionParser;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.TextChannel;
@@ -22,9 +26,6 @@ import net.dv8tion.jda.api.entities.TextChannel;
  */
 public class Ban extends CommandObject {
 
-	String userName;
-	String guildName;
-	
 	/**
 	 * Description:<br>
 	 * Retrieves the name of the command for the handler's use.
@@ -36,17 +37,6 @@ public class Ban extends CommandObject {
 		return "ban";
 	}
 
-	/**
-	 * Description:<br>
-	 * Retrieves extra details about the command's execution.
-	 * 
-	 * @return 	<code>"&lt;userName&gt; has been banned from &lt;guildName&gt;"</code>
-	 * @since 	1.0.0
-	 */
-	public String extraDetails() {
-		return userName + " has been banned from " + guildName;
-	}
-	
 	/**
 	 * Description:<br>
 	 * Retrieves arguments needed for the command.
@@ -117,6 +107,9 @@ public class Ban extends CommandObject {
 	 * Description:<br>
 	 * Executes the ban command.
 	 * 
+	 * @return				<code>future</code> that finishes with <code>"&lt;userName&gt; has been 
+	 * 						banned from &lt;guildName&gt;"</code>
+	 * 
 	 * @param guild			the guild that the command was executed from
 	 * @param member		the member that gave the command request
 	 * @param textChannel	the text channel that the command was requested in
@@ -124,29 +117,44 @@ public class Ban extends CommandObject {
 	 * 						derive any other arguments made
 	 * @since				1.0.0
 	 */
-	public void execute(Guild guild, Member member, TextChannel textChannel, String[] arg) {
+	public CompletableFuture<CommandResult> execute(Guild guild, Member member, TextChannel textChannel, CommandArgs arg) {
 		
 		// Verifies whether or not the member inputed the username of the person to be banned
-		if (arg.length < 3)
+		if (arg.length() < 3)
 		{
-			EmbedBuilder embed = new EmbedBuilder();
-			
-			embed.addField(member.getEffectiveName(), "You did not tell me who to ban", true);
-			textChannel.sendMessageEmbeds(embed.build()).complete();
-			return;
+			return reply(textChannel, member, "You did not tell me who to ban")
+					.thenApply(message -> CommandResult.NONE);
 		}
 		
-		// Substring removes the "<@!" and ">" characters from the ID
-		Member banMember = guild.getMemberById(arg[2].substring(3, 21));
-		
-		userName = banMember.getEffectiveName();
-		guildName = guild.getName();
-
-		guild.ban(banMember, 0).complete();
+		// Accepts either form of mention, as well as the ID itself. Members that aren't in memory are requested from Discord
+		return retrieveMember(guild, MentionParser.parseUser(arg, 2))
+				.thenCompose(banMember -> ban(guild, member, textChannel, banMember))
+				.exceptionally(error -> replyFailure(textChannel, member, "find that member", error));
+	}
+	
+	/**
+	 * Description:<br>
+	 * Bans a member once they have been found.
+	 * 
+	 * @param guild			the guild that the command was executed from
+	 * @param member		the member that gave the command request
+	 * @param textChannel	the text channel that the command was requested in
+	 * @param banMember	the member to ban, or <code>null</code> if they weren't found
+	 * @return				<code>future</code> that finishes with the command's result
+	 * @since				1.1.0
+	 */
+	private CompletableFuture<CommandResult> ban(Guild guild, Member member, TextChannel textChannel, Member banMember) {
 		
-		EmbedBuilder embed = new EmbedBuilder();
-		embed.addField(member.getEffectiveName(), "Banned " + banMember.getAsMention(), true);
+		if (banMember == null)
+		{
+			return reply(textChannel, member, "I could not find that member")
+					.thenApply(message -> CommandResult.NONE);
+		}
 		
-		textChannel.sendMessageEmbeds(embed.build()).complete();		
+		// Bans the member, and then replies, without waiting on either request
+		return submit(() -> guild.ban(banMember, 0))
+				.thenCompose(banned -> reply(textChannel, member, "Banned " + banMember.getAsMention()))
+				.thenApply(message -> CommandResult.of(banMember.getEffectiveName() + " has been banned from " + guild.getName()))
+				.exceptionally(error -> replyFailure(textChannel, member, "ban " + banMember.getEffectiveName(), error));
 	}
 }
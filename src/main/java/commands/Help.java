@@ -1,12 +1,22 @@
 package commands;
 
-import java.awt.Color;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
+import commands.util.AuthCache;
+import commands.util.CommandArgs;
 import commands.util.CommandObject;
-import mainBot.Config;
+import commands.util.CommandRegistry;
+import commands.util.CommandResult;
+import mainBot.GuildSettingsStore;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.entities.TextChannel;
 
 /**
@@ -23,7 +33,10 @@ import net.dv8tion.jda.api.entities.TextChannel;
  * <br>		&lt;command-argument&gt;: &lt;argument-description&gt;"
  * <br>
  * After creating this embed, it is sent to the text channel that the command request was sent
- * from.
+ * from. Since the commands only change when they are initialized, the embeds are built once
+ * for each tier of member and each command, and sent as they are from then on. Guilds can
+ * have their own command prefix, which is part of the embeds, so they are built once for
+ * each prefix in use.
  * <p>
  * 
  * Date:		August 24, 2021
@@ -33,8 +46,19 @@ import net.dv8tion.jda.api.entities.TextChannel;
  */
 public class Help extends CommandObject{
 	
-	public boolean wasSingle = false;
-	public String singleCommand;
+	// Flags making up the tier of a member
+	private static final int ADMIN_TIER = 1;
+	private static final int OWNER_TIER = 2;
+	private static final int TIERS = 4;
+	
+	// Color of every help embed, as RGB so that AWT is never loaded
+	private static final int CYAN = 0x00FFFF;
+	
+	// Embeds built from the registry for each prefix in use, replaced whenever the registry changes
+	private static final Map<String, Catalogue> catalogues = new ConcurrentHashMap<>();
+	
+	// Guilds can pick any prefix, so only this many prefixes have their embeds kept
+	private static final int MAX_CATALOGUES = 32;
 	
 	/**
 	 * Description:<br>
@@ -47,22 +71,6 @@ public class Help extends CommandObject{
 		return "help";
 	}
 	
-	/**
-	 * Description:<br>
-	 * Retrieves the extra details about the command's execution.
-	 * 
-	 * @return 	<code>""</code> if the embed contains information on every command;
-	 * 			<code>"user request command &lt;command-name&gt;"</code> if a specific
-	 * 			command was requested.
-	 * @since	1.0.0
-	 */
-	public String extraDetails() {
-		if (wasSingle == false)
-			return "";
-		wasSingle = false;
-		return "user requested command \"" + singleCommand + "\";";
-	}
-	
 	/**
 	 * Description:<br>
 	 * Retrieves arguments needed for the command.
@@ -71,7 +79,6 @@ public class Help extends CommandObject{
 	 * @since	1.0.0
 	 */
 	public String getArgs() {
-		new Ban();
 		return " <command>";
 	}
 	
@@ -135,6 +142,10 @@ public class Help extends CommandObject{
 	 * Executes the help command after determining whether to send info on a single
 	 * command, or all commands.
 	 * 
+	 * @return				<code>"user requested command &lt;command-name&gt;"</code> if a 
+	 * 						specific command was requested; nothing if the embed contains
+	 * 						information on every command
+	 * 
 	 * @param guild			the guild that the command was executed from
 	 * @param member		the member that gave the command request
 	 * @param textChannel	the text channel that the command was requested in
@@ -142,120 +153,218 @@ public class Help extends CommandObject{
 	 * 						derive any other arguments made
 	 * @since				1.0.0
 	 */
-	public void execute(Guild guild, Member member, TextChannel textChannel, String[] arg) {
+	public CompletableFuture<CommandResult> execute(Guild guild, Member member, TextChannel textChannel, CommandArgs arg) {
 		
 		// If there is a specific command present in the arg parameter, execute singleEmbedBuild
-		if (arg.length >= 3)
-			singleEmbedBuild(arg[2], textChannel, member);
+		if (arg.length() >= 3)
+		{
+			singleEmbedBuild(arg.get(2), textChannel, member);
+			
+			return CompletableFuture.completedFuture(CommandResult.of("user requested command \"" + arg.get(2) + "\";"));
+		}
 		
-		else
-			allEmbedBuild(textChannel, member);
+		allEmbedBuild(textChannel, member);
 		
+		return CompletableFuture.completedFuture(CommandResult.NONE);
 	}
 	
 	/**
 	 * Description:<br>
-	 * Retrieves information on a specific command.
+	 * Retrieves information on a specific command. Commands the member isn't
+	 * allowed to use are treated as if they don't exist.
 	 * 
 	 * @param cmd		the specific command to retrieve information about
 	 * @param channel	the text channel to send the retrieved information to
 	 * @since 			1.0.0
 	 */
 	public void singleEmbedBuild(String cmd, TextChannel channel, Member member) {
-
-		wasSingle = true;
-		singleCommand = cmd;
-		
-		EmbedBuilder eb = new EmbedBuilder();
-		eb.setTitle("Commands: " + Config.get("COMMAND_PREFIX")  + " <command>");
-		eb.setColor(Color.cyan);
-		
-		boolean commandFound = false;
-		int i = 0;
 		
-		for (CommandObject command : CommandObject.commands) {
-			if (command.compare(cmd)) {
-				
-				commandFound = true;
-
-				break;
-			}
-			
-			i++;
-		}
+		CommandObject command = CommandRegistry.get(cmd);
 		
-		if (commandFound == true)
+		if (command != null && canUse(command, getTier(member)))
 		{
-			CommandObject command = CommandObject.commands.get(i);
-			if (command.isBotOwner(member))
-			{
-				eb.addField(command.getType(), command.getName() + command.getArgs() + ": " + command.getDesc() + command.getArgInfo(), false);
-			}
-			else
-			{
-				eb.addField("Command not found", cmd + " has not been found. Be sure to use \"" + Config.get("COMMAND_PREFIX") + " help\" for more info", false);
-			}
+			channel.sendMessageEmbeds(getCatalogue(GuildSettingsStore.get(channel.getGuild()).getPrefix()).single.get(command)).queue();
+			return;
 		}
 		
-		else
-		{
-			eb.addField("Command not found", cmd + " has not been found. Be sure to use \"" + Config.get("COMMAND_PREFIX") + " help\" for more info", false);
-		}
-
+		// The member's input is part of the message, so this one can't be stored
+		String prefix = GuildSettingsStore.get(channel.getGuild()).getPrefix();
+		EmbedBuilder eb = new EmbedBuilder();
+		eb.setTitle("Commands: " + prefix  + " <command>");
+		eb.setColor(CYAN);
+		eb.addField("Command not found", cmd + " has not been found. Be sure to use \"" + prefix + " help\" for more info", false);
+		
 		channel.sendMessageEmbeds(eb.build()).queue();
 	}
 	
 	/**
 	 * Description:<br>
-	 * Retrieves the information on all commands. Commands are sorted by their
-	 * categories.
+	 * Retrieves the information on all commands the member is allowed to
+	 * use. Commands are sorted by their categories.
 	 * 
 	 * @param channel	text channel that the command request came from
 	 * @since			1.0.0
 	 */
 	public void allEmbedBuild(TextChannel channel, Member member) {
+		channel.sendMessageEmbeds(getCatalogue(GuildSettingsStore.get(channel.getGuild()).getPrefix()).all[getTier(member)]).queue();
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves the stored embeds for a prefix, building them first if the
+	 * prefix is new or the commands have changed since they were last built.
+	 * 
+	 * @param prefix	the command prefix of the guild
+	 * @return			<code>catalogue</code>
+	 * @since			1.1.0
+	 */
+	static Catalogue getCatalogue(String prefix) {
+		long version = CommandRegistry.getVersion();
+		Catalogue current = catalogues.get(prefix);
 		
-		EmbedBuilder eb = new EmbedBuilder();
-		eb.setTitle("Commands: " + Config.get("COMMAND_PREFIX") + " <commands>");
-		eb.setColor(Color.cyan);
-		int i = 0;
+		if (current != null && current.version == version)
+			return current;
 		
-		// String builder to create body of embed
-		StringBuilder sb = new StringBuilder();
+		if (catalogues.size() >= MAX_CATALOGUES)
+			catalogues.clear();
 		
-		CommandObject finalCommand = null;
+		return catalogues.compute(prefix, (key, old) -> (old != null && old.version == version) ? old : new Catalogue(version, key));
+	}
+	
+	/**
+	 * Description:<br>
+	 * Determines which tier a member belongs to, made up of the
+	 * <code>ADMIN_TIER</code> and <code>OWNER_TIER</code> flags.
+	 * 
+	 * @param member	the member that requested help
+	 * @return			<code>tier</code>
+	 * @since			1.1.0
+	 */
+	private static int getTier(Member member) {
+		return (AuthCache.isAdmin(member) ? ADMIN_TIER : 0) | (AuthCache.isOwner(member) ? OWNER_TIER : 0);
+	}
+	
+	/**
+	 * Description:<br>
+	 * Determines whether members of a tier are allowed to use a command.
+	 * 
+	 * @param command	the command to check
+	 * @param tier		the tier of the member
+	 * @return			<code>true</code> if the command is allowed;
+	 * 					<code>false</code> otherwise
+	 * @since			1.1.0
+	 */
+	private static boolean canUse(CommandObject command, int tier) {
+		return (!command.getAdmin() || (tier & ADMIN_TIER) != 0) 
+				&& (!command.getOwner() || (tier & OWNER_TIER) != 0);
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves the line describing a single command.
+	 * 
+	 * @param command	the command to describe
+	 * @return			<code>"&lt;command-name&gt; &lt;command-arguments&gt;: &lt;command-description&gt;"</code>
+	 * @since			1.1.0
+	 */
+	private static String describe(CommandObject command) {
+		return command.getName() + command.getArgs() + ": " + command.getDesc() + command.getArgInfo();
+	}
+	
+	/**
+	 * Description:<br>
+	 * Holds every help embed, built once from the commands in the registry.
+	 * There is an embed listing every command for each tier of member, and
+	 * an embed for each single command. Embeds can't be changed once built,
+	 * so they are sent as they are any number of times.
+	 * 
+	 * @since	1.1.0
+	 */
+	static final class Catalogue {
+		final long version;
+		final String prefix;
+		final MessageEmbed [] all = new MessageEmbed [TIERS];
+		final Map<CommandObject, MessageEmbed> single = new HashMap<>();
 		
-		for (CommandObject command : CommandObject.commands)
-		{
-			// If command type is equal to the currently set type, append the string to add command info
-			if (CommandObject.types.get(i).compareTo(command.getType()) == 0)
+		Catalogue(long version, String prefix) {
+			this.version = version;
+			this.prefix = prefix;
+			
+			String title = "Commands: " + prefix;
+			
+			for (int tier = 0; tier < TIERS; tier++)
 			{
-				sb.append(command.getName() + command.getArgs() + ": " + command.getDesc() + command.getArgInfo() + "\n");
+				EmbedBuilder eb = new EmbedBuilder();
+				eb.setTitle(title + " <commands>");
+				eb.setColor(CYAN);
+				
+				// One or more fields per category, leaving out categories the tier can't use at all
+				for (String type : CommandObject.types)
+				{
+					List<String> lines = new ArrayList<>();
+					
+					for (CommandObject command : CommandObject.commands)
+					{
+						if (command.getType().equals(type) && canUse(command, tier))
+							lines.add(describe(command));
+					}
+					
+					addCategory(eb, type, lines);
+				}
+				
+				all[tier] = eb.build();
 			}
 			
-			// Otherwise, add the embed field with the current command type and string and move on to the next command type
-			else
+			for (CommandObject command : CommandObject.commands)
 			{
-				eb.addField(CommandObject.types.get(i), sb.toString(), false);
+				EmbedBuilder eb = new EmbedBuilder();
+				eb.setTitle(title + " <command>");
+				eb.setColor(CYAN);
+				addCategory(eb, command.getType(), List.of(describe(command)));
 				
-				sb.delete(0, sb.length());
+				single.put(command, eb.build());
+			}
+		}
+		
+		/**
+		 * Description:<br>
+		 * Adds a category's commands to an embed. A field can only hold
+		 * <code>MessageEmbed.VALUE_MAX_LENGTH</code> characters, so a long
+		 * category is split across several fields, without splitting any
+		 * command. The fields after the first have no name, so they read as
+		 * one list.
+		 * 
+		 * @param eb		the embed to add to
+		 * @param type		the category
+		 * @param lines		the line describing each command of the category
+		 * @since			1.1.0
+		 */
+		private static void addCategory(EmbedBuilder eb, String type, List<String> lines) {
+			StringBuilder sb = new StringBuilder();
+			String name = type;
+			
+			for (String line : lines)
+			{
+				// A single command longer than a whole field is cut short rather than left out
+				if (line.length() > MessageEmbed.VALUE_MAX_LENGTH)
+					line = line.substring(0, MessageEmbed.VALUE_MAX_LENGTH - 3) + "...";
 				
-				if (command.isBotOwner(member))
+				if (sb.length() > 0 && sb.length() + 1 + line.length() > MessageEmbed.VALUE_MAX_LENGTH)
 				{
-					// Adds the current command info to the now blank string builder
-					sb.append(command.getName() + command.getArgs() + ": " + command.getDesc() + command.getArgInfo() + "\n");
+					eb.addField(name, sb.toString(), false);
+					
+					sb.setLength(0);
+					name = EmbedBuilder.ZERO_WIDTH_SPACE;
 				}
-
-				i++;
+				
+				if (sb.length() > 0)
+					sb.append("\n");
+				
+				sb.append(line);
 			}
-			finalCommand = command;
-		}
-
-		if (finalCommand.isBotOwner(member))
-		{
-			eb.addField(CommandObject.types.get(i), sb.toString(), false);
+			
+			if (sb.length() > 0)
+				eb.addField(name, sb.toString(), false);
 		}
-		
-		channel.sendMessageEmbeds(eb.build()).queue();
 	}
 }
@@ -1,15 +1,11 @@
 package commands;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import javax.swing.JList;
-import javax.swing.JScrollPane;
+import java.util.concurrent.CompletableFuture;
 
+import commands.util.CommandArgs;
 import commands.util.CommandObject;
-import gui.GuiMain;
-import mainBot.Bot;
-import net.dv8tion.jda.api.EmbedBuilder;
+import commands.util.CommandResult;
+import commands.util.MentionParser;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.TextChannel;
@@ -31,9 +27,6 @@ import net.dv8tion.jda.api.entities.TextChannel;
  */
 public class Kick extends CommandObject{
 
-	String userName;
-	String guildName;
-	
 	/**
 	 * Description:<br>
 	 * Retrieves the name of the command for the handler's use.
@@ -45,17 +38,6 @@ public class Kick extends CommandObject{
 		return "kick";
 	}
 
-	/**
-	 * Description:<br>
-	 * Retrieves the extra details about the command's execution.
-	 * 
-	 * @return	<code>"&lt;userName&gt; has been kicked from &lt;guildName&gt;"</code>
-	 * @since	1.0.0
-	 */
-	public String extraDetails() {
-		return userName + " has been kicked from " + guildName;
-	}
-
 	/**
 	 * Description:<br>
 	 * Retrieves arguments needed for the command.
@@ -126,6 +108,9 @@ public class Kick extends CommandObject{
 	 * Description:<br>
 	 * Executes the kick command. After kicking, the changes are reflected in the GUI
 	 * 
+	 * @return				<code>future</code> that finishes with <code>"&lt;userName&gt; has been 
+	 * 						kicked from &lt;guildName&gt;"</code>
+	 * 
 	 * @param guild			the guild that the command was executed from
 	 * @param member		the member that gave the command request
 	 * @param textChannel	the text channel that the command was requested in
@@ -133,64 +118,45 @@ public class Kick extends CommandObject{
 	 * 						derive any other arguments made
 	 * @since				1.0.0
 	 */
-	public void execute(Guild guild, Member member, TextChannel textChannel, String[] arg) {
+	public CompletableFuture<CommandResult> execute(Guild guild, Member member, TextChannel textChannel, CommandArgs arg) {
 		
 		// Verifies whether or not the member inputed the username of the person to be kicked
-		if (arg.length < 3)
+		if (arg.length() < 3)
 		{
-			EmbedBuilder embed = new EmbedBuilder();
-			
-			embed.addField(member.getEffectiveName(), "You did not tell me who to kick", true);
-			textChannel.sendMessageEmbeds(embed.build()).complete();
-			return;
+			return reply(textChannel, member, "You did not tell me who to kick")
+					.thenApply(message -> CommandResult.NONE);
 		}
 		
-		Member kickMember = guild.getMemberById(arg[2].substring(3, 21));
-		
-		userName = kickMember.getEffectiveName();
-		guildName = guild.getName();
-		
-		guild.kick(kickMember).queue();
-		
-		EmbedBuilder embed = new EmbedBuilder();
-		embed.addField(member.getEffectiveName(), "Kicked " + kickMember.getAsMention(), true);
-		
-		textChannel.sendMessageEmbeds(embed.build()).complete();		
-		
-		// Used to retrieve the proper JList of the member / banned member arrays
-		int guildIndex = Bot.jda.getGuilds().indexOf(guild);
-		
-		ArrayList<String> list = new ArrayList<String>();
-		
-		List<net.dv8tion.jda.api.entities.Guild.Ban> banList = guild.retrieveBanList().complete();
+		// Accepts either form of mention, as well as the ID itself. Members that aren't in memory are requested from Discord
+		return retrieveMember(guild, MentionParser.parseUser(arg, 2))
+				.thenCompose(kickMember -> kick(guild, member, textChannel, kickMember))
+				.exceptionally(error -> replyFailure(textChannel, member, "find that member", error));
+	}
+	
+	/**
+	 * Description:<br>
+	 * Kicks a member once they have been found.
+	 * 
+	 * @param guild			the guild that the command was executed from
+	 * @param member		the member that gave the command request
+	 * @param textChannel	the text channel that the command was requested in
+	 * @param kickMember	the member to kick, or <code>null</code> if they weren't found
+	 * @return				<code>future</code> that finishes with the command's result
+	 * @since				1.1.0
+	 */
+	private CompletableFuture<CommandResult> kick(Guild guild, Member member, TextChannel textChannel, Member kickMember) {
 		
-		if (!banList.isEmpty())
+		if (kickMember == null)
 		{
-			for (int k = 0; k < banList.size(); k++)
-			{
-				// Inputs a banned user's name and ID into the array
-				list.add((k+1) + ") " + banList.get(k).getUser().getAsMention() + " " + banList.get(k).getUser().getName());
-			}
+			return reply(textChannel, member, "I could not find that member")
+					.thenApply(message -> CommandResult.NONE);
 		}
 		
-		// Sets the GUI's banned member list to the updated list
-		GuiMain.frameObject.memberPanel.bannedMemberListArray.set(guildIndex, new JList<String>(list.toArray(new String[list.size()])));
-		list.clear();
-	
-		// Removes the two scroll panes from the tabbed pane in the members pane
-		GuiMain.frameObject.memberPanel.tabbedPane.remove(GuiMain.frameObject.memberPanel.scrollPane);
-		GuiMain.frameObject.memberPanel.tabbedPane.remove(GuiMain.frameObject.memberPanel.bannedScrollPane);
-		
-		// Adds the updated panes to the member pane
-		GuiMain.frameObject.memberPanel.scrollPane = new JScrollPane(GuiMain.frameObject.memberPanel.memberListArray.get(guildIndex));
-		GuiMain.frameObject.memberPanel.bannedScrollPane = new JScrollPane(GuiMain.frameObject.memberPanel.bannedMemberListArray.get(guildIndex));
-
-		// Adds the updated member panes to the tabbed pane
-		GuiMain.frameObject.memberPanel.tabbedPane.add("Members", GuiMain.frameObject.memberPanel.scrollPane);
-		GuiMain.frameObject.memberPanel.tabbedPane.add("Banned Members", GuiMain.frameObject.memberPanel.bannedScrollPane);
-		
-		// Refreshes the GUI
-		GuiMain.frameObject.revalidate();
+		// Kick, and then reply. The GUI drops the member once Discord reports them gone
+		return submit(() -> guild.kick(kickMember))
+				.thenCompose(kicked -> reply(textChannel, member, "Kicked " + kickMember.getAsMention()))
+				.thenApply(message -> CommandResult.of(kickMember.getEffectiveName() + " has been kicked from " + guild.getName()))
+				.exceptionally(error -> replyFailure(textChannel, member, "kick " + kickMember.getEffectiveName(), error));
 	}
 
 }
@@ -4,8 +4,15 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import org.json.simple.JSONObject;
+
+import commands.util.CommandArgs;
 import commands.util.CommandObject;
+import commands.util.CommandResult;
+import mainBot.ClusterNode;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
@@ -18,7 +25,8 @@ import net.dv8tion.jda.api.entities.TextChannel;
  * methods that return the command's unique information.
  * The lines object traverses through the source code directory of the project and 
  * counts both the total number of lines of code in the project, as well as the total
- * number of files in the source code directory.
+ * number of files in the source code directory. When the bot runs as a cluster, the
+ * reply also adds up how many nodes, shards and guilds the whole cluster is running.
  * <p>
  * 
  * Date:		August 28, 2021
@@ -41,16 +49,17 @@ public class Lines extends CommandObject {
 	public String getName() {
 		return "lines";
 	}
-
+	
 	/**
 	 * Description:<br>
-	 * Retrieves the extra details about the command's execution.
+	 * Retrieves how many rate limit tokens the command takes. Counting
+	 * lines reads every source file, so it costs more than other commands.
 	 * 
-	 * @return	<code>""</code>
-	 * @since	1.0.0
+	 * @return	<code>3</code>
+	 * @since	1.1.0
 	 */
-	public String extraDetails() {
-		return "";
+	public int getCost() {
+		return 3;
 	}
 
 	/**
@@ -131,20 +140,67 @@ public class Lines extends CommandObject {
 	 * 						derive any other arguments made
 	 * @since				1.0.0
 	 */
-	public void execute(Guild guild, Member member, TextChannel textChannel, String[] arg) {
-		// If the static variable is 0, start traversing the files to count number of files and LoC
-		if (linesOfCode == 0)
+	public CompletableFuture<CommandResult> execute(Guild guild, Member member, TextChannel textChannel, CommandArgs arg) {
+		int lines, files;
+		
+		// Only one execution at a time may count, since the counts are shared
+		synchronized (Lines.class)
 		{
-			File file = new File("src/main/java");
-			File [] dir = file.listFiles();
+			// If the static variable is 0, start traversing the files to count number of files and LoC
+			if (linesOfCode == 0)
+			{
+				File file = new File("src/main/java");
+				File [] dir = file.listFiles();
+				
+				traverseDirectory(dir, 0);
+			}
 			
-			traverseDirectory(dir, 0);
+			lines = linesOfCode;
+			files = numberOfFiles;
 		}
 		
 		EmbedBuilder embed = new EmbedBuilder();
-		embed.addField(member.getEffectiveName(), "I am made of " + linesOfCode + " lines of code and docs within " + numberOfFiles + " files.", true);
+		embed.addField(member.getEffectiveName(), "I am made of " + lines + " lines of code and docs within " + files + " files.", true);
+		
+		if (!ClusterNode.isConnected())
+		{
+			textChannel.sendMessageEmbeds(embed.build()).queue();
+			
+			return CompletableFuture.completedFuture(CommandResult.NONE);
+		}
+		
+		// Every node runs the same code, so the cluster only adds how much of it is running
+		return ClusterNode.retrieveHealth()
+				.handle((nodes, error) -> {
+					embed.addField("Cluster", (error == null) ? getClusterSummary(nodes) : "I could not reach the other nodes", false);
+					
+					return embed.build();
+				})
+				.thenCompose(built -> textChannel.sendMessageEmbeds(built).submit())
+				.thenApply(message -> CommandResult.NONE);
+	}
+	
+	/**
+	 * Description:<br>
+	 * Adds up the health reports of every node in the cluster.
+	 * 
+	 * @param nodes		the latest health report of each node
+	 * @return			<code>"&lt;nodes&gt; nodes are running &lt;shards&gt; shards in &lt;guilds&gt; guilds"</code>
+	 * @since			1.1.0
+	 */
+	private static String getClusterSummary(List<JSONObject> nodes) {
+		long shards = 0;
+		long guilds = 0;
+		long heap = 0;
+		
+		for (JSONObject node : nodes)
+		{
+			shards += ((Number) node.get("shards")).longValue();
+			guilds += ((Number) node.get("guilds")).longValue();
+			heap += ((Number) node.get("heapUsedMb")).longValue();
+		}
 		
-		textChannel.sendMessageEmbeds(embed.build()).queue();
+		return nodes.size() + " nodes are running " + shards + " shards in " + guilds + " guilds, using " + heap + " MB";
 	}
 
 	/**
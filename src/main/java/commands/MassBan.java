@@ -0,0 +1,182 @@
+package commands;
+
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+
+import commands.util.BulkAction;
+import commands.util.CommandArgs;
+import commands.util.CommandObject;
+import commands.util.CommandResult;
+import commands.util.TargetSelector;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.requests.GatewayIntent;
+
+/**
+ * Description:<br>
+ * MassBan represents the massban command, which bans many members with a single request
+ * from an admin. The class extends the abstract class <code>CommandObject</code>, and inherits the
+ * methods that return the command's unique information.
+ * The members are chosen by a <code>TargetSelector</code> from the arguments, and the action is
+ * run against all of them by a <code>BulkAction</code>, a few at a time. Once every member has
+ * been handled, a single summary is sent and the GUI's ban list is refreshed once for the whole batch.
+ * <p>
+ * 
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version 	1.1.0
+ * @since 		1.1.0
+ */
+public class MassBan extends CommandObject {
+
+	/**
+	 * Description:<br>
+	 * Retrieves the name of the command for the handler's use.
+	 * 
+	 * @return 	<code>"massban"</code>
+	 * @since 	1.1.0
+	 */
+	public String getName() {
+		return "massban";
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves arguments needed for the command.
+	 * 
+	 * @return 	<code>" &lt;targets...&gt;"</code>
+	 * @since 	1.1.0
+	 */
+	public String getArgs() {
+		return " <targets...>";
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the information for the command's arguments.
+	 * 
+	 * @return 	<code>"- &lt;targets...&gt;: members to ban"</code>
+	 * @since 	1.1.0
+	 */
+	public String getArgInfo() {
+		return "\n- <targets...>: members to ban; any mix of @members, IDs, @roles, "
+				+ "or joined:<minutes> for everyone who joined within that many minutes";
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the category of the command.
+	 * 
+	 * @return 	<code>"Admin"</code>
+	 * @since 	1.1.0
+	 */
+	public String getType() {
+		return "Admin";
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the description of the command.
+	 * 
+	 * @return 	<code>"bans many members at once"</code>
+	 * @since 	1.1.0
+	 */
+	public String getDesc() {
+		return "bans many members at once";
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves whether or not admin privileges are required to execute the command.
+	 * 
+	 * @return 	<code>true</code>
+	 * @since 	1.1.0
+	 */
+	public boolean getAdmin() {
+		return true;
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves whether or not the command can only be executed by the bot host.
+	 * 
+	 * @return	<code>false</code>
+	 * @since	1.1.0
+	 */
+	public boolean getOwner() {
+		return false;
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves the gateway intents the command needs. Selecting members
+	 * by role or by when they joined downloads the guild's members.
+	 * 
+	 * @return	<code>GUILD_MEMBERS</code>
+	 * @since	1.1.0
+	 */
+	public EnumSet<GatewayIntent> getIntents() {
+		return EnumSet.of(GatewayIntent.GUILD_MEMBERS);
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves how many rate limit tokens the command takes. A single
+	 * request can act on many members, so it costs more than other commands.
+	 * 
+	 * @return	<code>5</code>
+	 * @since	1.1.0
+	 */
+	public int getCost() {
+		return 5;
+	}
+
+	/**
+	 * Description:<br>
+	 * Executes the mass ban command.
+	 * 
+	 * @return				<code>future</code> that finishes with <code>"&lt;count&gt; of &lt;total&gt; members have been banned from &lt;guildName&gt;"</code>
+	 * 
+	 * @param guild			the guild that the command was executed from
+	 * @param member		the member that gave the command request
+	 * @param textChannel	the text channel that the command was requested in
+	 * @param arg			the command itself split into separate words. This allows the bot to 
+	 * 						derive any other arguments made
+	 * @since				1.1.0
+	 */
+	public CompletableFuture<CommandResult> execute(Guild guild, Member member, TextChannel textChannel, CommandArgs arg) {
+		
+		// Members are only downloaded if a role or joined: argument needs them
+		return TargetSelector.select(guild, member, arg, 2)
+				.thenCompose(selection -> massBan(guild, member, textChannel, selection))
+				.exceptionally(error -> replyFailure(textChannel, member, "find the members to ban", error));
+	}
+	
+	/**
+	 * Description:<br>
+	 * Acts on the selected members once they are known.
+	 * 
+	 * @param guild			the guild that the command was executed from
+	 * @param member		the member that gave the command request
+	 * @param textChannel	the text channel that the command was requested in
+	 * @param selection		the members named in the request
+	 * @return				<code>future</code> that finishes with the command's result
+	 * @since				1.1.0
+	 */
+	private CompletableFuture<CommandResult> massBan(Guild guild, Member member, TextChannel textChannel, TargetSelector selection) {
+		
+		if (selection.getTargets().isEmpty())
+		{
+			return reply(textChannel, member, "You did not tell me who to ban")
+					.thenApply(message -> CommandResult.NONE);
+		}
+		
+		// Users who already left can still be banned by their ID
+		return BulkAction.run(selection.getTargets(), userId -> submit(() -> guild.ban(Long.toString(userId), 0)))
+				.thenCompose(bulk -> textChannel.sendMessageEmbeds(bulk.getSummary(member, "Banned", selection.getInvalid())).submit()
+						.thenCompose(message -> refreshBanList(guild))
+						.thenApply(refreshed -> CommandResult.of(bulk.getSucceeded() + " of " + bulk.getTotal() + " members have been banned from " + guild.getName())))
+				.exceptionally(error -> replyFailure(textChannel, member, "finish the mass ban", error));
+	}
+}
@@ -0,0 +1,196 @@
+package commands;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+import commands.util.AuthCache;
+import commands.util.CommandArgs;
+import commands.util.CommandObject;
+import commands.util.CommandResult;
+import mainBot.GuildBootstrap;
+import mainBot.GuildSettings;
+import mainBot.GuildSettingsStore;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.TextChannel;
+
+/**
+ * Description:<br>
+ * Settings represents the settings command that is called by an admin.
+ * The class extends the abstract class <code>CommandObject</code>, and inherits the
+ * methods that return the command's unique information.
+ * The settings command shows or changes the guild's own settings: its command prefix,
+ * and the names of its admin and silenced roles. A setting that was never changed
+ * follows the config file. Changes apply right away, and are saved by the
+ * <code>GuildSettingsStore</code>. A renamed admin or silenced role is set up
+ * from the guild template under its new name.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class Settings extends CommandObject {
+
+	private static final String RESET = "reset";
+
+	/**
+	 * Description:<br>
+	 * Retrieves the name of the command for the handler's use.
+	 *
+	 * @return	<code>"settings"</code>
+	 * @since	1.1.0
+	 */
+	public String getName() {
+		return "settings";
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves arguments needed for the command.
+	 *
+	 * @return	<code>" [&lt;setting&gt; &lt;value&gt;]"</code>
+	 * @since	1.1.0
+	 */
+	public String getArgs() {
+		return " [<setting> <value>]";
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the information for the command's arguments.
+	 *
+	 * @return	<code>"- &lt;setting&gt;: ..."</code>
+	 * @since	1.1.0
+	 */
+	public String getArgInfo() {
+		return "\n- <setting>: prefix, adminrole or silencedrole, or reset followed by a setting"
+				+ "\n- <value>: the new value; leave both out to show every setting";
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the category of the command.
+	 *
+	 * @return	<code>"Admin"</code>
+	 * @since	1.1.0
+	 */
+	public String getType() {
+		return "Admin";
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the description of the command.
+	 *
+	 * @return	<code>"shows or changes this guild's settings"</code>
+	 * @since	1.1.0
+	 */
+	public String getDesc() {
+		return "shows or changes this guild's settings";
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves whether or not admin privileges are required to execute the command.
+	 *
+	 * @return	<code>true</code>
+	 * @since	1.1.0
+	 */
+	public boolean getAdmin() {
+		return true;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves whether or not the command can only be executed by the bot host.
+	 *
+	 * @return	<code>false</code>
+	 * @since	1.1.0
+	 */
+	public boolean getOwner() {
+		return false;
+	}
+
+	/**
+	 * Description:<br>
+	 * Executes the settings command.
+	 * Without arguments, every setting of the guild is shown. With a setting and a value,
+	 * the setting is changed, and with <code>reset</code> and a setting, the setting goes
+	 * back to following the config file.
+	 *
+	 * @param guild			the guild that the command was executed from
+	 * @param member		the member that gave the command request
+	 * @param textChannel	the text channel that the command was requested in
+	 * @param arg			the command itself split into separate words. This allows any
+	 * 						other arguments to be derived for specialized use
+	 * @return				<code>future</code> that finishes with the change that was made
+	 * @since				1.1.0
+	 */
+	public CompletableFuture<CommandResult> execute(Guild guild, Member member, TextChannel textChannel, CommandArgs arg) {
+
+		if (arg.length() < 3)
+		{
+			return reply(textChannel, member, describe(GuildSettingsStore.get(guild)))
+					.thenApply(message -> CommandResult.NONE);
+		}
+
+		boolean reset = arg.get(2).equalsIgnoreCase(RESET);
+
+		if (arg.length() < 4)
+		{
+			return reply(textChannel, member, reset 
+						? "You did not tell me which setting to reset" 
+						: "You did not tell me the new value. Use \"reset " + arg.get(2) + "\" to go back to the default")
+					.thenApply(message -> CommandResult.NONE);
+		}
+
+		String key = (reset ? arg.get(3) : arg.get(2)).toLowerCase(Locale.ROOT);
+
+		// Role names may have spaces, so the value is the rest of the message
+		String value = reset ? null : arg.getRest(3);
+
+		GuildSettings settings;
+
+		try {
+			settings = GuildSettingsStore.set(guild.getIdLong(), key, value);
+		} catch (IllegalArgumentException e) {
+			return reply(textChannel, member, "I could not change that, since " + e.getMessage())
+					.thenApply(message -> CommandResult.NONE);
+		}
+
+		// The admin role is looked up again under its new name
+		if (key.equals(GuildSettings.ADMIN_ROLE))
+			AuthCache.invalidate(guild);
+
+		// A renamed role is set up like the one it replaces, with its permissions and overrides
+		if (key.equals(GuildSettings.ADMIN_ROLE) || key.equals(GuildSettings.SILENCED_ROLE))
+			GuildBootstrap.initGuild(guild);
+
+		String details = key + " is now \"" + settings.get(key) + "\"" + (reset ? " (default)" : "");
+
+		return reply(textChannel, member, details)
+				.thenApply(message -> CommandResult.of(details));
+	}
+
+	/**
+	 * Description:<br>
+	 * Lists every setting of a guild, marking the ones that follow the
+	 * config file.
+	 *
+	 * @param settings	the guild's settings
+	 * @return			<code>"&lt;setting&gt;: &lt;value&gt;" for every setting</code>
+	 * @since			1.1.0
+	 */
+	private static String describe(GuildSettings settings) {
+		StringBuilder sb = new StringBuilder();
+
+		for (String key : GuildSettings.KEYS)
+		{
+			sb.append(key + ": \"" + settings.get(key) + "\"" + (settings.isChanged(key) ? "" : " (default)") + "\n");
+		}
+
+		return sb.toString();
+	}
+}
@@ -1,6 +1,10 @@
 package commands;
 
+import java.util.concurrent.CompletableFuture;
+
+import commands.util.CommandArgs;
 import commands.util.CommandObject;
+import commands.util.CommandResult;
 import mainBot.Bot;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
@@ -21,8 +25,6 @@ import net.dv8tion.jda.api.entities.TextChannel;
  * @since		1.0.0
  */
 public class Shutdown extends CommandObject{
-	String user;
-	
 	/**
 	 * Description:<br>
 	 * Retrieves the name of the command for the handler's use.
@@ -34,17 +36,6 @@ public class Shutdown extends CommandObject{
 		return "shutdown";
 	}
 
-	/**
-	 * Description:<br>
-	 * Retrieves the extra details about the command's execution.
-	 * 
-	 * @return	<code>&lt;user&gt; shut down bot;
-	 * @since	1.0.0
-	 */
-	public String extraDetails() {
-		return (user + " shut down bot;");
-	}
-
 	/**
 	 * Description:<br>
 	 * Retrieves the arguments needed for the command.
@@ -114,7 +105,10 @@ public class Shutdown extends CommandObject{
 	/**
 	 * Description:<br>
 	 * Executes the shutdown command. First, the dev message function is called, and
-	 * then the shutdown method from the Bot class is called.
+	 * then the shutdown method from the Bot class is called. Since the program exits,
+	 * the method never actually returns.
+	 * 
+	 * @return				<code>"&lt;user&gt; shut down bot;"</code>
 	 * 
 	 * @param guild			the guild that the command was executed from
 	 * @param member		the member that gave the command request
@@ -123,11 +117,13 @@ public class Shutdown extends CommandObject{
 	 * 						derive any other arguments made
 	 * @since				1.0.0
 	 */
-	public void execute(Guild guild, Member member, TextChannel textChannel, String[] arg) {
-		this.user = member.getEffectiveName();
+	public CompletableFuture<CommandResult> execute(Guild guild, Member member, TextChannel textChannel, CommandArgs arg) {
+		CommandResult result = CommandResult.of(member.getEffectiveName() + " shut down bot;");
 		
-		super.devMessage(getName(), getArgs(), guild, user);
+		super.devMessage(getName(), result.getDetails(), guild, member.getEffectiveName());
 		
 		Bot.shutdown(textChannel);
+		
+		return CompletableFuture.completedFuture(result);
 	}
 }
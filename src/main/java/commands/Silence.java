@@ -1,7 +1,13 @@
 package commands;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import commands.util.CommandArgs;
 import commands.util.CommandObject;
-import net.dv8tion.jda.api.EmbedBuilder;
+import commands.util.CommandResult;
+import commands.util.MentionParser;
+import mainBot.GuildSettingsStore;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Role;
@@ -13,7 +19,8 @@ import net.dv8tion.jda.api.entities.TextChannel;
  * The class extends the abstract class <code>CommandObject</code>, and inherits the
  * methods that return the command's unique information.
  * The silence command gives the desired member the "Silenced" guild role, which takes
- * away their speaking privileges in both text and voice channels.
+ * away their speaking privileges in both text and voice channels. Guilds can use a
+ * role with another name through their settings.
  * <p>
  * 
  * Date:		August 27, 2021
@@ -23,11 +30,6 @@ import net.dv8tion.jda.api.entities.TextChannel;
  */
 public class Silence extends CommandObject{
 
-	String userName;
-	
-	// Variable used in deciding if a member is silenced or unsilenced
-	public String state;
-	
 	/**
 	 * Description:<br>
 	 * Retrieves the name of the command for the handler's use.
@@ -39,17 +41,6 @@ public class Silence extends CommandObject{
 		return "silence";
 	}
 
-	/**
-	 * Description:<br>
-	 * Retrieves the extra details about the command's execution.
-	 * 
-	 * @return	<code>&lt;userName&gt; has been &lt;state&gt;
-	 * @since	1.0.0
-	 */
-	public String extraDetails() {
-		return userName + " has been " + state;
-	}
-
 	/**
 	 * Description:<br>
 	 * Retrieves the arguments needed for the command.
@@ -131,44 +122,63 @@ public class Silence extends CommandObject{
 	 * 						other arguments to be derived for specialized use
 	 * @since				1.0.0
 	 */
-	public void execute(Guild guild, Member member, TextChannel textChannel, String[] arg) {
+	public CompletableFuture<CommandResult> execute(Guild guild, Member member, TextChannel textChannel, CommandArgs arg) {
 		
-		if (arg.length < 3)
+		if (arg.length() < 3)
 		{
-			EmbedBuilder embed = new EmbedBuilder();
-			
-			embed.addField(member.getEffectiveName(), "You did not tell me who to silence", true);
-			textChannel.sendMessageEmbeds(embed.build()).complete();
-			return;
+			return reply(textChannel, member, "You did not tell me who to silence")
+					.thenApply(message -> CommandResult.NONE);
 		}
 		
-		EmbedBuilder embed = new EmbedBuilder();
+		// Accepts either form of mention, as well as the ID itself. Members that aren't in memory are requested from Discord
+		return retrieveMember(guild, MentionParser.parseUser(arg, 2))
+				.thenCompose(silenceMember -> silence(guild, member, textChannel, silenceMember))
+				.exceptionally(error -> replyFailure(textChannel, member, "find that member", error));
+	}
+	
+	/**
+	 * Description:<br>
+	 * Silences or unsilences a member once they have been found.
+	 * 
+	 * @param guild			the guild that the command was executed from
+	 * @param member		the member that gave the command request
+	 * @param textChannel	the text channel that the command was requested in
+	 * @param silenceMember	the member to silence, or <code>null</code> if they weren't found
+	 * @return				<code>future</code> that finishes with the command's result
+	 * @since				1.1.0
+	 */
+	private CompletableFuture<CommandResult> silence(Guild guild, Member member, TextChannel textChannel, Member silenceMember) {
 		
-		Member silenceMember = guild.getMemberById(arg[2].substring(3, 21));
-		userName = silenceMember.getEffectiveName();
+		if (silenceMember == null)
+		{
+			return reply(textChannel, member, "I could not find that member")
+					.thenApply(message -> CommandResult.NONE);
+		}
 		
-		Role silenceRole = guild.getRolesByName("Silenced", true).get(0);
+		String roleName = GuildSettingsStore.get(guild).getSilencedRole();
+		List<Role> roles = guild.getRolesByName(roleName, true);
 		
-		// If the member already has the role, the role is removed and the user unsilenced
-		if (silenceMember.getRoles().contains(silenceRole))
+		if (roles.isEmpty())
 		{
-			guild.removeRoleFromMember(silenceMember, silenceRole).queue();
-			
-			state = "unsilenced";
-
-			embed.addField(member.getEffectiveName(), extraDetails(), true);
-			
-			textChannel.sendMessageEmbeds(embed.build()).queue();
-			return;
+			return reply(textChannel, member, "This guild does not have a " + roleName + " role")
+					.thenApply(message -> CommandResult.NONE);
 		}
 		
-		// Adds the role to the member
-		state = "silenced";
-		guild.addRoleToMember(silenceMember, silenceRole).queue();
-
-		embed.addField(member.getEffectiveName(), extraDetails(), true);
+		Role silenceRole = roles.get(0);
+		
+		// If the member already has the role, the role is removed and the user unsilenced
+		boolean unsilence = silenceMember.getRoles().contains(silenceRole);
+		
+		String details = silenceMember.getEffectiveName() + " has been " + (unsilence ? "unsilenced" : "silenced");
+		
+		CompletableFuture<Void> action = unsilence 
+				? submit(() -> guild.removeRoleFromMember(silenceMember, silenceRole)) 
+				: submit(() -> guild.addRoleToMember(silenceMember, silenceRole));
 		
-		textChannel.sendMessageEmbeds(embed.build()).queue();
+		return action
+				.thenCompose(done -> reply(textChannel, member, details))
+				.thenApply(message -> CommandResult.of(details))
+				.exceptionally(error -> replyFailure(textChannel, member, (unsilence ? "unsilence " : "silence ") + silenceMember.getEffectiveName(), error));
 	}
 
 }
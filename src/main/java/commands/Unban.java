@@ -1,19 +1,17 @@
 package commands;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import javax.swing.JList;
-import javax.swing.JScrollPane;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
 
+import commands.util.BanCache;
+import commands.util.CommandArgs;
 import commands.util.CommandObject;
-import gui.GuiMain;
-import mainBot.Bot;
-import net.dv8tion.jda.api.EmbedBuilder;
+import commands.util.CommandResult;
+import commands.util.MentionParser;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.TextChannel;
-import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.requests.GatewayIntent;
 
 /**
  * Description:<br>
@@ -32,9 +30,6 @@ import net.dv8tion.jda.api.entities.User;
  */
 public class Unban extends CommandObject {
 
-	String userName;
-	String guildName;
-	
 	/**
 	 * Description:<br>
 	 * Retrieves the name of the command for the handler's use.
@@ -46,17 +41,6 @@ public class Unban extends CommandObject {
 		return "unban";
 	}
 
-	/**
-	 * Description:<br>
-	 * Retrieves the extra details about the command's execution.
-	 * 
-	 * @return	<code>&lt;userName&gt; has been unbanned from &lt;guildName&gt;"</code>
-	 * @since	1.0.0
-	 */
-	public String extraDetails() {
-		return userName + " has been unbanned from " + guildName;
-	}
-
 	/**
 	 * Description:<br>
 	 * Retrieves arguments needed for the command.
@@ -121,6 +105,18 @@ public class Unban extends CommandObject {
 	public boolean getOwner() {
 		return false;
 	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves the gateway intents the command needs. The banned user is
+	 * found in the <code>BanCache</code>, which ban events keep current.
+	 * 
+	 * @return	<code>GUILD_BANS</code>
+	 * @since	1.1.0
+	 */
+	public EnumSet<GatewayIntent> getIntents() {
+		return EnumSet.of(GatewayIntent.GUILD_BANS);
+	}
 
 	/**
 	 * Description:<br>
@@ -128,6 +124,9 @@ public class Unban extends CommandObject {
 	 * After retrieving the username from the arg parameter, the desired member is unbanned
 	 * from the guild. Finally, the changes are then reflected in the GUI.
 	 * 
+	 * @return				<code>future</code> that finishes with <code>"&lt;userName&gt; has been 
+	 * 						unbanned from &lt;guildName&gt;"</code>
+	 * 
 	 * @param guild			the guild that the command was executed from
 	 * @param member		the member that gave the command request
 	 * @param textChannel	the text channel that the command was requested from
@@ -135,66 +134,31 @@ public class Unban extends CommandObject {
 	 * 						any other arguments to be derived for specialized use
 	 * @since				1.0.0
 	 */
-	public void execute(Guild guild, Member member, TextChannel textChannel, String[] arg) {
+	public CompletableFuture<CommandResult> execute(Guild guild, Member member, TextChannel textChannel, CommandArgs arg) {
 		
-		User bannedUser = null;
-		
-		if (arg.length < 3)
-		{
-			EmbedBuilder embed = new EmbedBuilder();
-			
-			embed.addField(member.getEffectiveName(), "You did not tell me who to unban", true);
-			textChannel.sendMessageEmbeds(embed.build()).complete();
-			return;
-		}
-		
-		String userId = arg[2].substring(3, 21);
-		List<net.dv8tion.jda.api.entities.Guild.Ban> banList = guild.retrieveBanList().complete();
-
-		guildName = guild.getName();
-		for (int i = 0; i < banList.size(); i++)
-		{
-			if (banList.get(i).getUser().getId().compareTo(userId) == 0)
-			{
-				userName = banList.get(i).getUser().getName();
-				bannedUser = banList.get(i).getUser();
-			}
-		}
-		
-		guild.unban(userId).complete();
-		
-		EmbedBuilder embed = new EmbedBuilder();
-		embed.addField(member.getEffectiveName(), "Unbanned " + bannedUser.getAsMention(), true);
-		
-		textChannel.sendMessageEmbeds(embed.build()).complete();		
-		
-		int guildIndex = Bot.jda.getGuilds().indexOf(guild);
-		
-		ArrayList<String> list = new ArrayList<String>();
-		banList = guild.retrieveBanList().complete();
-		
-		if (!banList.isEmpty())
+		if (arg.length() < 3)
 		{
-			for (int k = 0; k < banList.size(); k++)
-			{
-				list.add((k+1) + ") " + banList.get(k).getUser().getAsMention() + " " + banList.get(k).getUser().getName());
-			}
+			return reply(textChannel, member, "You did not tell me who to unban")
+					.thenApply(message -> CommandResult.NONE);
 		}
 		
-		GuiMain.frameObject.memberPanel.bannedMemberListArray.set(guildIndex, new JList<String>(list.toArray(new String[list.size()])));
-		list.clear();
-		
-		GuiMain.frameObject.memberPanel.tabbedPane.remove(GuiMain.frameObject.memberPanel.scrollPane);
-		GuiMain.frameObject.memberPanel.tabbedPane.remove(GuiMain.frameObject.memberPanel.bannedScrollPane);
-		
-		GuiMain.frameObject.memberPanel.scrollPane = new JScrollPane(GuiMain.frameObject.memberPanel.memberListArray.get(guildIndex));
-		GuiMain.frameObject.memberPanel.bannedScrollPane = new JScrollPane(GuiMain.frameObject.memberPanel.bannedMemberListArray.get(guildIndex));
-
-		// Replaces the removed panel with the updated one
-		GuiMain.frameObject.memberPanel.tabbedPane.add("Members", GuiMain.frameObject.memberPanel.scrollPane);
-		GuiMain.frameObject.memberPanel.tabbedPane.add("Banned Members", GuiMain.frameObject.memberPanel.bannedScrollPane);
-		GuiMain.frameObject.revalidate();
+		long userId = MentionParser.parseUser(arg, 2);
 		
+		return BanCache.retrieveBannedUser(guild, userId)
+				.thenCompose(bannedUser -> {
+					if (bannedUser == null)
+					{
+						return reply(textChannel, member, "That user is not banned")
+								.thenApply(message -> CommandResult.NONE);
+					}
+					
+					// Unban, reply, and then refresh the GUI with the updated ban list
+					return submit(() -> guild.unban(bannedUser))
+							.thenCompose(unbanned -> reply(textChannel, member, "Unbanned " + bannedUser.getAsMention()))
+							.thenCompose(message -> refreshBanList(guild))
+							.thenApply(refreshed -> CommandResult.of(bannedUser.getName() + " has been unbanned from " + guild.getName()));
+				})
+				.exceptionally(error -> replyFailure(textChannel, member, "unban that user", error));
 	}
 
 }
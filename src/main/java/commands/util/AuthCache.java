@@ -0,0 +1,186 @@
+package commands.util;
+
+import java.util.List;
+
+import gnu.trove.map.hash.TLongLongHashMap;
+import mainBot.Bot;
+import mainBot.Config;
+import mainBot.GuildSettingsStore;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.events.role.RoleCreateEvent;
+import net.dv8tion.jda.api.events.role.RoleDeleteEvent;
+import net.dv8tion.jda.api.events.role.update.RoleUpdateNameEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+
+/**
+ * Description:<br>
+ * The AuthCache class decides whether a member is an admin or the bot
+ * owner without searching through the guild's roles on every command.
+ * The ID of each guild's admin role is looked up by the name in its
+ * <code>GuildSettings</code> the first time it is needed and kept as a
+ * <code>long</code>. Whenever a role is created, deleted or renamed, or
+ * the guild changes the name, the guild's entry is dropped and looked up
+ * again on the next command. The owner's ID is read from the config
+ * snapshot and compared as a <code>long</code> as well. Both are read
+ * again whenever the config file changes them.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class AuthCache extends ListenerAdapter {
+
+	// Stored for guilds that have no admin role. Guilds that haven't been looked up yet have no entry
+	private static final long NO_ROLE = -1;
+
+	// Guild ID to admin role ID, guarded by itself
+	private static final TLongLongHashMap adminRoles = new TLongLongHashMap();
+
+	// Guild ID to the number of times its admin role was forgotten, guarded by adminRoles
+	private static final TLongLongHashMap generations = new TLongLongHashMap();
+
+	// Number of times every admin role was forgotten, guarded by adminRoles
+	private static long clears;
+
+	private static volatile long ownerId;
+	private static AuthCache listener;
+
+	/**
+	 * Description:<br>
+	 * Reads the owner's ID from the config, forgets every admin role, and
+	 * starts listening for role changes.
+	 *
+	 * @since	1.1.0
+	 */
+	public static synchronized void init() {
+		ownerId = Config.current().ownerId;
+
+		synchronized (adminRoles)
+		{
+			adminRoles.clear();
+			clears++;
+		}
+
+		if (listener == null)
+		{
+			listener = new AuthCache();
+			Bot.shards.addEventListener(listener);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Determines if a member has the admin role of their guild.
+	 *
+	 * @param member	the member to check
+	 * @return			<code>true</code> if the member has the admin role;
+	 * 					<code>false</code> if they don't, or the guild has no
+	 * 					admin role
+	 * @since			1.1.0
+	 */
+	public static boolean isAdmin(Member member) {
+		long roleId = getAdminRoleId(member.getGuild());
+
+		if (roleId == NO_ROLE)
+			return false;
+
+		List<Role> roles = member.getRoles();
+
+		for (int i = 0; i < roles.size(); i++)
+		{
+			if (roles.get(i).getIdLong() == roleId)
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Description:<br>
+	 * Determines if a member is the bot owner.
+	 *
+	 * @param member	the member to check
+	 * @return			<code>true</code> if the member's ID is the owner ID in the
+	 * 					private.json file; <code>false</code> otherwise
+	 * @since			1.1.0
+	 */
+	public static boolean isOwner(Member member) {
+		return member.getIdLong() == ownerId;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the ID of a guild's admin role, looking it up by name if
+	 * it isn't known yet. The role is looked up without holding the lock,
+	 * so it is only kept if the guild's admin role wasn't forgotten in the
+	 * meantime. Otherwise it may already be out of date, and is looked up
+	 * again the next time.
+	 *
+	 * @param guild		the guild to check
+	 * @return			<code>admin-role-ID</code>, or <code>NO_ROLE</code> if the
+	 * 					guild has no admin role
+	 * @since			1.1.0
+	 */
+	private static long getAdminRoleId(Guild guild) {
+		long guildId = guild.getIdLong();
+		long generation;
+		long clearsBefore;
+
+		synchronized (adminRoles)
+		{
+			if (adminRoles.containsKey(guildId))
+				return adminRoles.get(guildId);
+
+			generation = generations.get(guildId);
+			clearsBefore = clears;
+		}
+
+		List<Role> roles = guild.getRolesByName(GuildSettingsStore.get(guild).getAdminRole(), true);
+		long roleId = roles.isEmpty() ? NO_ROLE : roles.get(0).getIdLong();
+
+		synchronized (adminRoles)
+		{
+			if (generations.get(guildId) == generation && clears == clearsBefore)
+				adminRoles.put(guildId, roleId);
+		}
+
+		return roleId;
+	}
+
+	/**
+	 * Description:<br>
+	 * Forgets the admin role of a guild, so it is looked up again the
+	 * next time it is needed.
+	 *
+	 * @param guild		the guild whose roles changed
+	 * @since			1.1.0
+	 */
+	public static void invalidate(Guild guild) {
+		long guildId = guild.getIdLong();
+
+		synchronized (adminRoles)
+		{
+			adminRoles.remove(guildId);
+			generations.adjustOrPutValue(guildId, 1, 1);
+		}
+	}
+
+	@Override
+	public void onRoleCreate(RoleCreateEvent event) {
+		invalidate(event.getGuild());
+	}
+
+	@Override
+	public void onRoleDelete(RoleDeleteEvent event) {
+		invalidate(event.getGuild());
+	}
+
+	@Override
+	public void onRoleUpdateName(RoleUpdateNameEvent event) {
+		invalidate(event.getGuild());
+	}
+}
@@ -0,0 +1,362 @@
+package commands.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+import mainBot.Bot;
+import mainBot.GatewaySettings;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.guild.GuildBanEvent;
+import net.dv8tion.jda.api.events.guild.GuildUnbanEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.requests.GatewayIntent;
+
+/**
+ * Description:<br>
+ * The BanCache class keeps the ban list of each guild, so it isn't
+ * retrieved from Discord on every unban or every change shown in the GUI.
+ * Retrieving a ban list goes through every page of it, so each guild's
+ * ban list is only retrieved the first time it is needed, and is then
+ * kept current by the guild's ban and unban events. The banned users are
+ * kept by ID as a <code>long</code>, so finding whether a user is banned
+ * is a single hash lookup.
+ * <br>
+ * Discord only sends ban events with the <code>GUILD_BANS</code> intent.
+ * If the config file leaves it out, the kept ban lists can't be trusted,
+ * so a guild's ban list is retrieved again each time it is needed, as it
+ * was before.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class BanCache extends ListenerAdapter {
+
+	/**
+	 * Description:<br>
+	 * A ban or unban that happened while the guild's ban list was being
+	 * retrieved.
+	 *
+	 * @since	1.1.0
+	 */
+	private static final class Change {
+		final User user;
+		final boolean banned;
+
+		Change(User user, boolean banned) {
+			this.user = user;
+			this.banned = banned;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * The ban list of a single guild. Everything but the future is guarded
+	 * by the object itself.
+	 *
+	 * @since	1.1.0
+	 */
+	private static final class GuildBans {
+
+		// User ID to banned user
+		final TLongObjectHashMap<User> users = new TLongObjectHashMap<>();
+
+		// Changes to apply once the ban list arrives, in the order they happened. Null once it arrived
+		List<Change> pending = new ArrayList<>();
+
+		// Finishes once the ban list arrived
+		final CompletableFuture<GuildBans> loaded = new CompletableFuture<>();
+
+		/**
+		 * Description:<br>
+		 * Fills in the ban list retrieved from Discord, and then applies
+		 * the changes that happened meanwhile. Applying a change the
+		 * retrieved ban list already has changes nothing.
+		 *
+		 * @param banList	the retrieved ban list
+		 * @since			1.1.0
+		 */
+		void fill(List<Guild.Ban> banList) {
+			synchronized (this)
+			{
+				for (int i = 0; i < banList.size(); i++)
+				{
+					User user = banList.get(i).getUser();
+					users.put(user.getIdLong(), user);
+				}
+
+				for (Change change : pending)
+				{
+					apply(change.user, change.banned);
+				}
+
+				pending = null;
+			}
+
+			loaded.complete(this);
+		}
+
+		/**
+		 * Description:<br>
+		 * Records a ban or unban, holding it back until the ban list arrived.
+		 *
+		 * @param user		the user that was banned or unbanned
+		 * @param banned	<code>true</code> if the user was banned
+		 * @since			1.1.0
+		 */
+		synchronized void change(User user, boolean banned) {
+			if (pending != null)
+				pending.add(new Change(user, banned));
+			else
+				apply(user, banned);
+		}
+
+		/**
+		 * Description:<br>
+		 * Adds or removes a banned user. Must be called while holding the
+		 * object's lock.
+		 *
+		 * @param user		the user that was banned or unbanned
+		 * @param banned	<code>true</code> if the user was banned
+		 * @since			1.1.0
+		 */
+		private void apply(User user, boolean banned) {
+			if (banned)
+				users.put(user.getIdLong(), user);
+			else
+				users.remove(user.getIdLong());
+		}
+
+		/**
+		 * Description:<br>
+		 * Retrieves a banned user.
+		 *
+		 * @param userId	ID of the user
+		 * @return			<code>user</code>, or <code>null</code> if the
+		 * 					user isn't banned
+		 * @since			1.1.0
+		 */
+		synchronized User get(long userId) {
+			return users.get(userId);
+		}
+
+		/**
+		 * Description:<br>
+		 * Copies the banned users, ordered by ID like Discord orders them.
+		 *
+		 * @return	<code>banned-users</code>
+		 * @since	1.1.0
+		 */
+		synchronized List<User> copy() {
+			List<User> copy = new ArrayList<>(users.valueCollection());
+			copy.sort(Comparator.comparingLong(User::getIdLong));
+			return copy;
+		}
+	}
+
+	// Guild ID to ban list, guarded by itself. Guilds whose ban list was never needed have no entry
+	private static final TLongObjectHashMap<GuildBans> guilds = new TLongObjectHashMap<>();
+
+	// Whether ban events arrive, so the kept ban lists stay current
+	private static volatile boolean tracked;
+	private static BanCache listener;
+
+	/**
+	 * Description:<br>
+	 * Forgets every ban list, and starts listening for bans and unbans.
+	 * The shards must have logged in, so their intents are known.
+	 *
+	 * @since	1.1.0
+	 */
+	public static synchronized void init() {
+		tracked = GatewaySettings.isEnabled(GatewayIntent.GUILD_BANS);
+
+		synchronized (guilds)
+		{
+			guilds.clear();
+		}
+
+		if (listener == null)
+		{
+			listener = new BanCache();
+			Bot.shards.addEventListener(listener);
+		}
+
+		if (!tracked)
+			System.out.println("BANS: the GUILD_BANS intent is off, so ban lists are retrieved each time they are needed");
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a banned user of a guild, retrieving the guild's ban list
+	 * first if it isn't kept yet.
+	 *
+	 * @param guild		the guild
+	 * @param userId	ID of the user
+	 * @return			<code>future</code> that finishes with the user, or
+	 * 					with <code>null</code> if the user isn't banned
+	 * @since			1.1.0
+	 */
+	public static CompletableFuture<User> retrieveBannedUser(Guild guild, long userId) {
+		return load(guild).thenApply(bans -> bans.get(userId));
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves every banned user of a guild, retrieving the guild's ban
+	 * list first if it isn't kept yet.
+	 *
+	 * @param guild		the guild
+	 * @return			<code>future</code> that finishes with the banned users
+	 * @since			1.1.0
+	 */
+	public static CompletableFuture<List<User>> retrieveBannedUsers(Guild guild) {
+		return load(guild).thenApply(GuildBans::copy);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the kept banned users of a guild, without going to Discord.
+	 *
+	 * @param guildId	ID of the guild
+	 * @return			<code>banned-users</code>, or <code>null</code> if the
+	 * 					guild's ban list hasn't arrived yet
+	 * @since			1.1.0
+	 */
+	public static List<User> getBannedUsers(long guildId) {
+		GuildBans bans;
+
+		synchronized (guilds)
+		{
+			bans = guilds.get(guildId);
+		}
+
+		if (bans == null || !bans.loaded.isDone() || bans.loaded.isCompletedExceptionally())
+			return null;
+
+		return bans.copy();
+	}
+
+	/**
+	 * Description:<br>
+	 * Shows a guild's ban list again after a command changed it. Ban
+	 * events already keep the shown ban list current, so the ban list is
+	 * only retrieved again if they don't arrive, and only if something
+	 * shows it.
+	 *
+	 * @param guild		the guild whose ban list changed
+	 * @return			<code>future</code> that finishes once the ban list
+	 * 					is shown
+	 * @since			1.1.0
+	 */
+	public static CompletableFuture<Void> refresh(Guild guild) {
+		if (tracked || !Bot.observer.isShowingBans())
+			return CompletableFuture.completedFuture(null);
+
+		return load(guild).thenRun(() -> Bot.observer.bansChanged(guild));
+	}
+
+	/**
+	 * Description:<br>
+	 * Forgets a guild's ban list after the bot left the guild.
+	 *
+	 * @param guildId	ID of the guild
+	 * @since			1.1.0
+	 */
+	public static void forget(long guildId) {
+		synchronized (guilds)
+		{
+			guilds.remove(guildId);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a guild's kept ban list, retrieving it from Discord if it
+	 * isn't kept yet, or can't be trusted without ban events.
+	 *
+	 * @param guild		the guild
+	 * @return			<code>future</code> that finishes once the ban list arrived
+	 * @since			1.1.0
+	 */
+	private static CompletableFuture<GuildBans> load(Guild guild) {
+		long guildId = guild.getIdLong();
+		GuildBans bans;
+
+		synchronized (guilds)
+		{
+			bans = guilds.get(guildId);
+
+			// A ban list that is still arriving is shared, whether or not ban events arrive
+			if (bans != null && (tracked || !bans.loaded.isDone()))
+				return bans.loaded;
+
+			bans = new GuildBans();
+			guilds.put(guildId, bans);
+		}
+
+		GuildBans loading = bans;
+
+		guild.retrieveBanList().submit().whenComplete((banList, error) -> {
+			if (error == null)
+			{
+				loading.fill(banList);
+				return;
+			}
+
+			// Retrieved again the next time it is needed
+			synchronized (guilds)
+			{
+				if (guilds.get(guildId) == loading)
+					guilds.remove(guildId);
+			}
+
+			loading.loaded.completeExceptionally(error);
+		});
+
+		return loading.loaded;
+	}
+
+	/**
+	 * Description:<br>
+	 * Records a ban in the guild's kept ban list, and shows it.
+	 *
+	 * @param guild		the guild
+	 * @param user		the user that was banned or unbanned
+	 * @param banned	<code>true</code> if the user was banned
+	 * @since			1.1.0
+	 */
+	private static void change(Guild guild, User user, boolean banned) {
+		GuildBans bans;
+
+		synchronized (guilds)
+		{
+			bans = guilds.get(guild.getIdLong());
+		}
+
+		// A ban list that was never needed is retrieved with the change in it
+		if (bans == null)
+			return;
+
+		bans.change(user, banned);
+
+		if (bans.loaded.isDone())
+			Bot.observer.bansChanged(guild);
+	}
+
+	@Override
+	public void onGuildBan(GuildBanEvent event) {
+		change(event.getGuild(), event.getUser(), true);
+	}
+
+	@Override
+	public void onGuildUnban(GuildUnbanEvent event) {
+		change(event.getGuild(), event.getUser(), false);
+	}
+}
@@ -0,0 +1,253 @@
+package commands.util;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import mainBot.Config;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+
+/**
+ * Description:<br>
+ * The BulkAction class runs a single moderation action, such as a ban,
+ * against many users. Only a few actions are in flight at any time, set
+ * by <code>BULK_CONCURRENCY</code> in the config file; as soon as one
+ * finishes, the next one starts. JDA already waits on Discord's rate
+ * limits for every request, and keeping the number in flight small makes
+ * sure a large batch doesn't crowd out replies to other commands.
+ * <br>
+ * Once every action has finished, the number that succeeded and the
+ * reason each of the others failed are available for a single summary.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class BulkAction {
+
+	// Most failures and ignored arguments listed in the summary, to stay within Discord's field limit
+	private static final int MAX_LISTED_FAILURES = 15;
+	private static final int MAX_LISTED_IGNORED = 15;
+
+	// Room kept at the end of a field for the number that weren't listed
+	private static final int MORE_LENGTH = 32;
+
+	private final Iterator<Long> targets;
+	private final LongFunction<? extends CompletionStage<?>> action;
+	private final int total;
+	private final AtomicInteger running = new AtomicInteger();
+	private final AtomicInteger succeeded = new AtomicInteger();
+	private final ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+	private final CompletableFuture<BulkAction> done = new CompletableFuture<>();
+
+	/**
+	 * Description:<br>
+	 * Constructor for the class. Use <code>run</code> instead.
+	 *
+	 * @param targets	IDs of the users to act on
+	 * @param action	starts the action for a single user
+	 * @since			1.1.0
+	 */
+	private BulkAction(Collection<Long> targets, LongFunction<? extends CompletionStage<?>> action) {
+		this.targets = targets.iterator();
+		this.action = action;
+		this.total = targets.size();
+	}
+
+	/**
+	 * Description:<br>
+	 * Runs an action against every target, a few at a time.
+	 *
+	 * @param targets	IDs of the users to act on
+	 * @param action	starts the action for a single user and returns its future
+	 * @return			<code>future</code> that finishes once every action has
+	 * 					finished, whether or not it succeeded
+	 * @since			1.1.0
+	 */
+	public static CompletableFuture<BulkAction> run(Collection<Long> targets, LongFunction<? extends CompletionStage<?>> action) {
+		BulkAction bulk = new BulkAction(targets, action);
+
+		int workers = Math.max(1, Math.min(Config.current().bulkConcurrency, bulk.total));
+
+		bulk.running.set(workers);
+
+		for (int i = 0; i < workers; i++)
+		{
+			bulk.next();
+		}
+
+		return bulk.done;
+	}
+
+	/**
+	 * Description:<br>
+	 * Starts actions until one of them has to wait on Discord. When that
+	 * one finishes, this is called again. Once there are no targets left,
+	 * the last worker to finish completes the batch.
+	 *
+	 * @since	1.1.0
+	 */
+	private void next() {
+		while (true)
+		{
+			Long target;
+
+			synchronized (targets)
+			{
+				target = targets.hasNext() ? targets.next() : null;
+			}
+
+			if (target == null)
+			{
+				if (running.decrementAndGet() == 0)
+					done.complete(this);
+
+				return;
+			}
+
+			CompletableFuture<?> future = start(target);
+
+			// Actions that failed right away are counted here, rather than growing the stack
+			if (future.isDone())
+			{
+				future.whenComplete((result, error) -> record(target, error));
+				continue;
+			}
+
+			future.whenComplete((result, error) -> {
+				record(target, error);
+				next();
+			});
+
+			return;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Starts the action for a single target.
+	 *
+	 * @param target	ID of the user
+	 * @return			<code>future</code> of the action
+	 * @since			1.1.0
+	 */
+	private CompletableFuture<?> start(long target) {
+		try {
+			return action.apply(target).toCompletableFuture();
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Counts the outcome of a single action.
+	 *
+	 * @param target	ID of the user
+	 * @param error		the reason the action failed, or <code>null</code>
+	 * @since			1.1.0
+	 */
+	private void record(long target, Throwable error) {
+		if (error == null)
+		{
+			succeeded.incrementAndGet();
+			return;
+		}
+
+		// Futures wrap the actual error
+		Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+
+		failures.add("<@" + target + ">: " + cause.getMessage());
+	}
+
+	/**
+	 * Description:<br>
+	 * Builds the summary of the batch.
+	 *
+	 * @param member	the member that requested the command
+	 * @param verb		what was done to the users, such as "Banned"
+	 * @param ignored	arguments that didn't name anyone
+	 * @return			<code>summary-embed</code>
+	 * @since			1.1.0
+	 */
+	public MessageEmbed getSummary(Member member, String verb, List<String> ignored) {
+		EmbedBuilder embed = new EmbedBuilder();
+		embed.addField(member.getEffectiveName(), verb + " " + succeeded.get() + " of " + total + " members", false);
+
+		if (!failures.isEmpty())
+		{
+			embed.addField("Failed", list(failures, "\n", MAX_LISTED_FAILURES), false);
+		}
+		
+		if (!ignored.isEmpty())
+		{
+			embed.addField("Ignored", list(ignored, " ", MAX_LISTED_IGNORED), false);
+		}
+
+		return embed.build();
+	}
+
+	/**
+	 * Description:<br>
+	 * Lists as many items as fit in a single field of the summary, and
+	 * how many more there are. Items come from the members' messages and
+	 * Discord's errors, so a single one can be long enough to fill the
+	 * field on its own.
+	 *
+	 * @param items		the items to list
+	 * @param separator	what goes between two items
+	 * @param max		most items listed
+	 * @return			<code>field-value</code>
+	 * @since			1.1.0
+	 */
+	private static String list(Collection<String> items, String separator, int max) {
+		StringBuilder sb = new StringBuilder();
+		int listed = 0;
+
+		for (String item : items)
+		{
+			if (listed == max || sb.length() + item.length() + separator.length() > MessageEmbed.VALUE_MAX_LENGTH - MORE_LENGTH)
+				break;
+
+			sb.append(item).append(separator);
+			listed++;
+		}
+
+		if (listed < items.size())
+			sb.append("...and " + (items.size() - listed) + " more");
+
+		return sb.toString();
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the number of actions that succeeded.
+	 *
+	 * @return	<code>succeeded</code>
+	 * @since	1.1.0
+	 */
+	public int getSucceeded() {
+		return succeeded.get();
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the number of users in the batch.
+	 *
+	 * @return	<code>total</code>
+	 * @since	1.1.0
+	 */
+	public int getTotal() {
+		return total;
+	}
+}
@@ -0,0 +1,160 @@
+package commands.util;
+
+/**
+ * Description:<br>
+ * A lightweight view of the words in a command message. Instead of
+ * splitting the message into separate strings, only the start and end
+ * offset of every word is stored, and a word is only turned into a
+ * string when a command actually asks for it.
+ * <br>
+ * Index 0 is the prefix that was used, index 1 is the name of the
+ * command, and every index after that is an argument of the command.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public final class CommandArgs {
+
+	private final String content;
+
+	// Start and end offsets of each word, stored one after another
+	private final int [] bounds;
+	private final int count;
+
+	/**
+	 * Description:<br>
+	 * Constructor used by the Tokenizer.
+	 *
+	 * @param content	the raw message
+	 * @param bounds	start and end offsets of each word
+	 * @param count		number of words in the message
+	 * @since			1.1.0
+	 */
+	CommandArgs(String content, int [] bounds, int count) {
+		this.content = content;
+		this.bounds = bounds;
+		this.count = count;
+	}
+
+	/**
+	 * Description:<br>
+	 * Builds a view from words that were already separated, such as the
+	 * ones created by the GUI. Every entry stays exactly one word, even
+	 * if it contains spaces.
+	 *
+	 * @param words		the separate words of the command
+	 * @return			<code>command-args</code>
+	 * @since			1.1.0
+	 */
+	public static CommandArgs of(String... words) {
+		StringBuilder sb = new StringBuilder();
+		int [] bounds = new int [words.length * 2];
+
+		for (int i = 0; i < words.length; i++)
+		{
+			if (i > 0)
+				sb.append(' ');
+
+			bounds[2 * i] = sb.length();
+			sb.append(words[i]);
+			bounds[2 * i + 1] = sb.length();
+		}
+
+		return new CommandArgs(sb.toString(), bounds, words.length);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the number of words in the command.
+	 *
+	 * @return	<code>number-of-words</code>
+	 * @since	1.1.0
+	 */
+	public int length() {
+		return count;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a single word of the command as a string.
+	 *
+	 * @param i		index of the word
+	 * @return		<code>word</code>
+	 * @since		1.1.0
+	 */
+	public String get(int i) {
+		checkIndex(i);
+		return content.substring(bounds[2 * i], bounds[2 * i + 1]);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the offset in the raw message where a word starts.
+	 *
+	 * @param i		index of the word
+	 * @return		<code>start-offset</code>
+	 * @since		1.1.0
+	 */
+	public int start(int i) {
+		checkIndex(i);
+		return bounds[2 * i];
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the offset in the raw message right after a word ends.
+	 *
+	 * @param i		index of the word
+	 * @return		<code>end-offset</code>
+	 * @since		1.1.0
+	 */
+	public int end(int i) {
+		checkIndex(i);
+		return bounds[2 * i + 1];
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the raw message the offsets point into.
+	 *
+	 * @return	<code>raw-message</code>
+	 * @since	1.1.0
+	 */
+	public String getContent() {
+		return content;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves everything in the raw message starting at a word, which
+	 * is useful for arguments that may contain spaces.
+	 *
+	 * @param i		index of the first word
+	 * @return		<code>rest-of-message</code>
+	 * @since		1.1.0
+	 */
+	public String getRest(int i) {
+		checkIndex(i);
+		return content.substring(bounds[2 * i]);
+	}
+
+	/**
+	 * Description:<br>
+	 * Ensures a word exists before reading its offsets.
+	 *
+	 * @param i		index of the word
+	 * @since		1.1.0
+	 */
+	private void checkIndex(int i) {
+		if (i < 0 || i >= count)
+			throw new IndexOutOfBoundsException("Index " + i + " out of bounds for " + count + " words");
+	}
+
+	@Override
+	public String toString() {
+		return content;
+	}
+}
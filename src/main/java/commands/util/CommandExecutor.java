@@ -0,0 +1,185 @@
+package commands.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import mainBot.GuildLanes;
+import mainBot.LatencyHistogram;
+import net.dv8tion.jda.api.entities.Guild;
+
+/**
+ * Description:<br>
+ * The CommandExecutor class is responsible for running commands away from
+ * JDA's event thread. Several commands wait on Discord's REST API, and
+ * running them on the event thread would stall every other event for every
+ * guild. Instead, the Handler only parses the message and hands the command
+ * off to this class.
+ * <br>
+ * Commands are placed in their guild's lane of the shared <code>GuildLanes</code>,
+ * so commands from the same guild run one at a time and in order, while
+ * other guilds run in parallel. Each lane only holds a limited number of
+ * waiting commands, and anything past that is rejected.
+ * Commands return a future, and a command counts as executing until that
+ * future is finished, so a command waiting on Discord doesn't hold a thread.
+ * The time each command spent waiting and executing is recorded, along with
+ * the median and 99th percentile latency of every command, and can be
+ * retrieved through the getMetrics method.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class CommandExecutor {
+
+	// Metrics
+	private static final LongAdder submitted = new LongAdder();
+	private static final LongAdder rejected = new LongAdder();
+	private static final LongAdder completed = new LongAdder();
+	private static final LongAdder failed = new LongAdder();
+	private static final LongAdder totalWaitNanos = new LongAdder();
+	private static final LongAdder totalExecNanos = new LongAdder();
+	private static final AtomicLong maxWaitNanos = new AtomicLong();
+	private static final AtomicLong maxExecNanos = new AtomicLong();
+	
+	// Time from submission until the command finished, for each command name
+	private static final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+	/**
+	 * Description:<br>
+	 * Places a command at the end of its guild's lane. The next command of
+	 * the guild starts once the future returned by this command is finished.
+	 *
+	 * @param guild		the guild the command was requested from
+	 * @param name		name of the command, used for its latency metrics
+	 * @param command	starts the work and returns its future
+	 * @return			<code>true</code> if the command was accepted;
+	 * 					<code>false</code> if the guild's lane is full
+	 * @since			1.1.0
+	 */
+	public static boolean submit(Guild guild, String name, Supplier<? extends CompletionStage<?>> command) {
+		long submittedAt = System.nanoTime();
+
+		boolean accepted = GuildLanes.shared.submitAsync(guild.getIdLong(), () -> run(name, command, submittedAt));
+
+		if (accepted)
+			submitted.increment();
+		else
+			rejected.increment();
+
+		return accepted;
+	}
+
+	/**
+	 * Description:<br>
+	 * Starts a command on a worker thread and records how long it waited,
+	 * how long it took, and its total latency once its future is finished.
+	 *
+	 * @param name			name of the command
+	 * @param command		the command to start
+	 * @param submittedAt	the time the command was submitted
+	 * @return				<code>future</code> that finishes with the command
+	 * @since				1.1.0
+	 */
+	private static CompletionStage<?> run(String name, Supplier<? extends CompletionStage<?>> command, long submittedAt) {
+		long start = System.nanoTime();
+		record(totalWaitNanos, maxWaitNanos, start - submittedAt);
+
+		CompletionStage<?> stage;
+
+		try {
+			stage = command.get();
+		} catch (Throwable t) {
+			stage = CompletableFuture.failedFuture(t);
+		}
+
+		return stage.whenComplete((result, error) -> {
+			long end = System.nanoTime();
+
+			if (error == null)
+				completed.increment();
+			else
+				failed.increment();
+
+			record(totalExecNanos, maxExecNanos, end - start);
+			latencies.computeIfAbsent(name, key -> new LatencyHistogram()).record(end - submittedAt);
+		});
+	}
+
+	/**
+	 * Description:<br>
+	 * Adds a single measurement to a total and updates the maximum.
+	 *
+	 * @param total		the running total
+	 * @param max		the largest measurement so far
+	 * @param nanos		the new measurement
+	 * @since			1.1.0
+	 */
+	private static void record(LongAdder total, AtomicLong max, long nanos) {
+		total.add(nanos);
+		max.accumulateAndGet(nanos, Math::max);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a summary of the command metrics: how many commands were
+	 * accepted, rejected and finished, the average and maximum time they
+	 * spent waiting in a queue and executing, and the latency percentiles
+	 * of each command.
+	 *
+	 * @return	<code>command-metrics</code>
+	 * @since	1.1.0
+	 */
+	public static String getMetrics() {
+		long done = Math.max(1, completed.sum() + failed.sum());
+
+		StringBuilder sb = new StringBuilder();
+
+		sb.append("submitted=" + submitted.sum()
+				+ " rejected=" + rejected.sum()
+				+ " completed=" + completed.sum()
+				+ " failed=" + failed.sum()
+				+ " waitAvgMs=" + (totalWaitNanos.sum() / done / 1_000_000.0)
+				+ " waitMaxMs=" + (maxWaitNanos.get() / 1_000_000.0)
+				+ " execAvgMs=" + (totalExecNanos.sum() / done / 1_000_000.0)
+				+ " execMaxMs=" + (maxExecNanos.get() / 1_000_000.0));
+
+		for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet())
+		{
+			sb.append("\n" + entry.getKey() + ": " + entry.getValue().getSummary());
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the latency of a single command.
+	 *
+	 * @param name	name of the command
+	 * @return		<code>latency-histogram</code>, or <code>null</code> if the
+	 * 				command hasn't been executed yet
+	 * @since		1.1.0
+	 */
+	public static LatencyHistogram getLatency(String name) {
+		return latencies.get(name);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the number of commands that were rejected because a
+	 * guild's queue was full.
+	 *
+	 * @return	<code>rejected-commands</code>
+	 * @since	1.1.0
+	 */
+	public static long getRejected() {
+		return rejected.sum();
+	}
+}
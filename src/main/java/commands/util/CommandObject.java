@@ -2,21 +2,34 @@ package commands.util;
 
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import commands.Ban;
 import commands.Help;
 import commands.Kick;
 import commands.Lines;
+import commands.MassBan;
+import commands.MassKick;
+import commands.MassSilence;
+import commands.Settings;
 import commands.Shutdown;
 import commands.Silence;
 import commands.Unban;
-import gui.GuiMain;
 import mainBot.Bot;
 import mainBot.Config;
+import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
-import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.requests.ErrorResponse;
+import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.utils.cache.CacheFlag;
 
 /**
  * Description:<br>
@@ -48,12 +61,52 @@ public abstract class CommandObject {
 	
 	/**
 	 * Description:<br>
-	 * Abstract method that returns any extra details for a command.
+	 * Retrieves any other names the command can be called by. Commands
+	 * have no aliases unless they override this method.
 	 * 
-	 * @return 	<code>command's-extra-details</code>
-	 * @since	1.0.0
+	 * @return	<code>command-aliases</code>
+	 * @since	1.1.0
+	 */
+	public String [] getAliases() {
+		return new String [0];
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves how many rate limit tokens a request for the command
+	 * takes. Commands cost a single token unless they override this method.
+	 * 
+	 * @return	<code>command-cost</code>
+	 * @since	1.1.0
+	 */
+	public int getCost() {
+		return 1;
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves the gateway intents the command needs, so the bot only
+	 * subscribes to what its commands use. Commands need no extra intents
+	 * unless they override this method.
+	 * 
+	 * @return	<code>gateway-intents</code>
+	 * @since	1.1.0
 	 */
-	public abstract String extraDetails();
+	public EnumSet<GatewayIntent> getIntents() {
+		return EnumSet.noneOf(GatewayIntent.class);
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves the cache flags the command needs. Commands need no cache
+	 * flags unless they override this method.
+	 * 
+	 * @return	<code>cache-flags</code>
+	 * @since	1.1.0
+	 */
+	public EnumSet<CacheFlag> getCacheFlags() {
+		return EnumSet.noneOf(CacheFlag.class);
+	}
 	
 	/**
 	 * Description:<br>
@@ -112,23 +165,30 @@ public abstract class CommandObject {
 	
 	/**
 	 * Description:<br>
-	 * Abstract method to execute the command.
+	 * Abstract method to execute the command. A single command object may be
+	 * executed by several threads at once, so any details about an execution
+	 * must be returned in the result rather than stored in a field.
+	 * Commands that talk to Discord should chain their requests together
+	 * instead of waiting on each one, and return the future of that chain.
 	 * 
 	 * @param guild			the guild that the command was executed from
 	 * @param member		the member that gave the command request
 	 * @param textChannel	the text channel that the command was requested from
 	 * @param arg			the command itself split into separate words. This allows
 	 * 						any other arguments to be derived for specialized use
+	 * @return				<code>future</code> that finishes with a CommandResult
+	 * 						containing any extra details about the execution
 	 * @since				1.0.0
 	 */
-	public abstract void execute(Guild guild, Member member, TextChannel textChannel, String [] arg);
+	public abstract CompletableFuture<CommandResult> execute(Guild guild, Member member, TextChannel textChannel, CommandArgs arg);
 	
 	/**
 	 * Description:<br>
 	 * NEW COMMANDS ARE ADDED HERE
 	 * 
 	 * Adds all the commands to the static "commands" array. Once all commands have
-	 * been added, the getTypes method is called to initalize the command categories.
+	 * been added, they are placed in the CommandRegistry for lookups, and the 
+	 * getTypes method is called to initalize the command categories.
 	 * 
 	 * @since	1.0.0
 	 */
@@ -145,11 +205,17 @@ public abstract class CommandObject {
 		commands.add(new Kick());
 		commands.add(new Silence());
 		commands.add(new Unban());
+		commands.add(new MassBan());
+		commands.add(new MassKick());
+		commands.add(new MassSilence());
+		commands.add(new Settings());
 		
 		// Owner
 		commands.add(new Lines());
 		commands.add(new Shutdown());
 		
+		CommandRegistry.registerAll(commands);
+		
 		getTypes();
 	}
 	
@@ -189,21 +255,118 @@ public abstract class CommandObject {
 	 * Constructs the dev message to be printed in both the GUI and the Java console.
 	 * 
 	 * @param name		name of the command that was executed
-	 * @param details	any extra details returned from the command's extraDetails()
-	 * 					method
+	 * @param details	any extra details returned in the command's CommandResult
 	 * @param guild		guild that the command was executed from
 	 * @param member	member that requested a command's execution
 	 * @since			1.0.0
 	 */
 	public void devMessage(String name, String details, Guild guild, String member) {
-		System.out.println("COMMAND: " + getTimestamp() + " " + guild.getName() + ": " + member + " executed " + name + "; " + details);
-		GuiMain.frameObject.devPanel.textArea.append("\nCOMMAND: " + getTimestamp() + " " + guild.getName() + ": " + member + " executed " + name + "; " + details);
+		String message = "COMMAND: " + getTimestamp() + " " + guild.getName() + ": " + member + " executed " + name + "; " + details;
+		
+		System.out.println(message);
+		Bot.observer.devMessage(message);
+	}
+	
+	/**
+	 * Description:<br>
+	 * Sends a message to the text channel as an embed, with the member's name
+	 * as the title of the field.
+	 * 
+	 * @param textChannel	the text channel to send the message in
+	 * @param member		the member the message is directed to
+	 * @param text			the message
+	 * @return				<code>future</code> that finishes once the message is sent
+	 * @since				1.1.0
+	 */
+	public static CompletableFuture<Message> reply(TextChannel textChannel, Member member, String text) {
+		EmbedBuilder embed = new EmbedBuilder();
+		embed.addField(member.getEffectiveName(), text, true);
+		
+		return textChannel.sendMessageEmbeds(embed.build()).submit();
+	}
+	
+	/**
+	 * Description:<br>
+	 * Lets the member know that the command could not be completed, along
+	 * with the reason Discord gave. Used at the end of a command's chain of
+	 * requests.
+	 * 
+	 * @param textChannel	the text channel to send the message in
+	 * @param member		the member that requested the command
+	 * @param action		what the command was trying to do, such as "ban Bob"
+	 * @param error			the reason the chain failed
+	 * @return				<code>command-result</code> describing the failure
+	 * @since				1.1.0
+	 */
+	public static CommandResult replyFailure(TextChannel textChannel, Member member, String action, Throwable error) {
+		
+		// Futures wrap the actual error
+		Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+		
+		reply(textChannel, member, "I could not " + action + ": " + cause.getMessage());
+		
+		return CommandResult.of("failed to " + action + ": " + cause.getMessage());
+	}
+	
+	/**
+	 * Description:<br>
+	 * Submits a request to Discord. Some requests check permissions before
+	 * they are even created, so those errors are turned into a failed future
+	 * as well, allowing them to be handled at the end of the chain.
+	 * 
+	 * @param action	creates the request
+	 * @return			<code>future</code> of the request
+	 * @since			1.1.0
+	 */
+	public static <T> CompletableFuture<T> submit(Supplier<? extends RestAction<T>> action) {
+		try {
+			return action.get().submit();
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
 	}
 	
 	/**
 	 * Description:<br>
-	 * Compares the member's requested command name to the names of the stored
-	 * commands.
+	 * Finds a member of a guild by their user ID. Not every member is kept
+	 * in memory, so a member that isn't is requested from Discord.
+	 * 
+	 * @param guild		the guild the member belongs to
+	 * @param userId	the user's ID
+	 * @return			<code>future</code> that finishes with the member, or
+	 * 					with <code>null</code> if they aren't in the guild
+	 * @since			1.1.0
+	 */
+	public static CompletableFuture<Member> retrieveMember(Guild guild, long userId) {
+		if (userId == MentionParser.INVALID)
+			return CompletableFuture.completedFuture(null);
+		
+		Member cached = guild.getMemberById(userId);
+		
+		if (cached != null)
+			return CompletableFuture.completedFuture(cached);
+		
+		return submit(() -> guild.retrieveMemberById(userId))
+				.handle((found, error) -> {
+					if (error == null)
+						return found;
+					
+					Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+					
+					// Discord answers that the user isn't in the guild, or doesn't exist at all
+					if (cause instanceof ErrorResponseException 
+							&& (((ErrorResponseException) cause).getErrorResponse() == ErrorResponse.UNKNOWN_MEMBER 
+							|| ((ErrorResponseException) cause).getErrorResponse() == ErrorResponse.UNKNOWN_USER))
+						return null;
+					
+					throw (cause instanceof CompletionException) ? (CompletionException) cause : new CompletionException(cause);
+				});
+	}
+	
+	/**
+	 * Description:<br>
+	 * Compares the member's requested command name to the name and aliases 
+	 * of this command.
 	 * 
 	 * @param cmd	the inputed name of the command the user wants to execute.
 	 * @return		<code>true</code> if the user input matches the name of a stored
@@ -213,7 +376,7 @@ public abstract class CommandObject {
 	 * @since		1.0.0
 	 */
 	public boolean compare(String cmd) {
-		return cmd.equalsIgnoreCase(getName());
+		return CommandRegistry.get(cmd) == this;
 	}
 	
 	/**
@@ -230,10 +393,10 @@ public abstract class CommandObject {
 	 * @since			1.0.0
 	 */
 	public boolean hasAdminRole(Member member) {
-		Role adminRole = member.getGuild().getRolesByName(Config.get("ADMIN_ROLE"), true).get(0);
 		
+		// Commands that anyone can use skip the lookup entirely
 		if (getAdmin())
-			return member.getRoles().contains(adminRole);
+			return AuthCache.isAdmin(member);
 		else
 			return true;
 	}
@@ -254,10 +417,24 @@ public abstract class CommandObject {
 	public boolean isBotOwner(Member member) {
 		
 		if (getOwner())
-		{
-			return (member.getId().compareTo(Config.get("OWNER_ID")) == 0);
-		}
+			return AuthCache.isOwner(member);
 		else
 			return true;
 	}
+	
+	/**
+	 * Description:<br>
+	 * Shows the guild's current ban list after a command changed who is
+	 * banned. Ban events already keep the <code>BanCache</code> and what
+	 * shows it current, so the ban list is only retrieved again when ban
+	 * events don't arrive, and something shows it.
+	 * 
+	 * @param guild		the guild whose ban list changed
+	 * @return			<code>future</code> that finishes once the ban list
+	 * 					is shown
+	 * @since			1.1.0
+	 */
+	public static CompletableFuture<Void> refreshBanList(Guild guild) {
+		return BanCache.refresh(guild);
+	}
 }
@@ -0,0 +1,138 @@
+package commands.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Description:<br>
+ * The CommandRegistry class is responsible for looking up a command by the
+ * name a member typed in. Every command is stored under its normalized
+ * (lower case) name, as well as under each of its aliases, so finding a
+ * command is a single hash lookup no matter how many commands exist.
+ * The registry is filled by <code>CommandObject.init()</code>, and is used
+ * by both the <code>Handler</code> and the <code>Help</code> command.
+ * Every change to the registry bumps its version, which lets anything
+ * built from the registry, such as the help embeds, know when to rebuild.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class CommandRegistry {
+
+	// Maps every normalized command name and alias to its command. Never changed once published
+	private static volatile Map<String, CommandObject> registry = Collections.emptyMap();
+	
+	private static volatile long version;
+
+	/**
+	 * Description:<br>
+	 * Replaces every command in the registry. The new registry is built in
+	 * full before it is published, so a message read at the same time finds
+	 * either the old commands or the new ones, never a registry that is
+	 * only partly filled.
+	 *
+	 * @param commands	the commands to register under their names and aliases
+	 * @throws IllegalStateException	if a name or an alias is used by
+	 * 									two commands
+	 * @since			1.1.0
+	 */
+	public static synchronized void registerAll(List<CommandObject> commands) {
+		Map<String, CommandObject> built = new HashMap<>();
+
+		for (CommandObject command : commands)
+		{
+			put(built, command.getName(), command);
+
+			for (String alias : command.getAliases())
+			{
+				put(built, alias, command);
+			}
+		}
+
+		registry = Collections.unmodifiableMap(built);
+		version++;
+	}
+
+	/**
+	 * Description:<br>
+	 * Stores a single key for a command. Two commands sharing the same
+	 * name or alias is a programming mistake, so it fails loudly.
+	 *
+	 * @param built		the registry being built
+	 * @param key		name or alias of the command
+	 * @param command	the command the key points to
+	 * @since			1.1.0
+	 */
+	private static void put(Map<String, CommandObject> built, String key, CommandObject command) {
+		CommandObject previous = built.put(normalize(key), command);
+
+		if (previous != null && previous != command)
+		{
+			throw new IllegalStateException("\"" + key + "\" is used by both " + previous.getName() + " and " + command.getName());
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the command with the given name or alias. The exact
+	 * spelling is tried first, since most members type commands in lower
+	 * case, and only then is the input case-folded.
+	 *
+	 * @param cmd	the inputed name of the command
+	 * @return		<code>command</code> if one was found;
+	 * 				<code>null</code> if no command has that name
+	 * @since		1.1.0
+	 */
+	public static CommandObject get(String cmd) {
+		Map<String, CommandObject> current = registry;
+		CommandObject command = current.get(cmd);
+
+		if (command == null)
+		{
+			command = current.get(normalize(cmd));
+		}
+
+		return command;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a read-only view of every key in the registry.
+	 *
+	 * @return	<code>name/alias-to-command-map</code>
+	 * @since	1.1.0
+	 */
+	public static Map<String, CommandObject> getAll() {
+		return registry;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the version of the registry, which changes whenever a
+	 * command is added or the registry is cleared.
+	 *
+	 * @return	<code>registry-version</code>
+	 * @since	1.1.0
+	 */
+	public static long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Description:<br>
+	 * Converts a name or alias into the form that is stored in the registry.
+	 *
+	 * @param key	the name or alias
+	 * @return		<code>lower-case-key</code>
+	 * @since		1.1.0
+	 */
+	private static String normalize(String key) {
+		return key.toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,64 @@
+package commands.util;
+
+/**
+ * Description:<br>
+ * The CommandResult class holds the details of a single execution of a
+ * command, such as who was banned and from which guild. Commands return a
+ * new result from every execution instead of storing those details in
+ * their own fields, so a single command object can be executed by many
+ * threads at the same time. The details are used in the dev message.
+ * <br>
+ * A result can't be changed once it is created.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public final class CommandResult {
+
+	// Result for executions that have no details to report
+	public static final CommandResult NONE = new CommandResult("");
+
+	private final String details;
+
+	/**
+	 * Description:<br>
+	 * Constructor for the class.
+	 *
+	 * @param details	extra details about the execution
+	 * @since			1.1.0
+	 */
+	private CommandResult(String details) {
+		this.details = details;
+	}
+
+	/**
+	 * Description:<br>
+	 * Creates a result with the given details.
+	 *
+	 * @param details	extra details about the execution
+	 * @return			<code>command-result</code>
+	 * @since			1.1.0
+	 */
+	public static CommandResult of(String details) {
+		return new CommandResult(details);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the extra details about the execution.
+	 *
+	 * @return	<code>command's-extra-details</code>
+	 * @since	1.1.0
+	 */
+	public String getDetails() {
+		return details;
+	}
+
+	@Override
+	public String toString() {
+		return details;
+	}
+}
@@ -1,6 +1,6 @@
 package commands.util;
 
-import mainBot.Config;
+import mainBot.GuildSettingsStore;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
@@ -10,9 +10,11 @@ import net.dv8tion.jda.api.entities.TextChannel;
  * Description:<br>
  * The Handler class is responsible for parsing the user input and derive
  * desired command from said input. After extracting the second index from
- * the arg parameter, that data is compared to each command name. If the 
+ * the arg parameter, that data is looked up in the CommandRegistry. The
+ * request then has to get past the RateLimiter; requests over the limit are
+ * dropped, and only the first of them is answered. If the 
  * command was found, check if user has privileges to execute. If true,
- * the command is executed, otherwise, let user know they need admin privileges.
+ * the command is handed to the CommandExecutor to be executed, otherwise, let user know they need admin privileges.
  * If a command was not found, then let the user know no such command exists. 
  * <p>
  * 
@@ -32,45 +34,62 @@ public class Handler {
 	 * @param textChannel	the text channel that the command request was sent
 	 * 						from
 	 * @param member		the member that sent the command request
-	 * @param arg			user input containing the command request
+	 * @param arg			user input containing the command request, split
+	 * 						into words by the Tokenizer
 	 * @since				1.0.0
 	 */
-	public Handler(Guild guild, TextChannel textChannel,  Member member,  String [] arg) {
+	public Handler(Guild guild, TextChannel textChannel,  Member member,  CommandArgs arg) {
 		
-		String cmd = arg[1];
-		
-		boolean commandFound = false;
+		// A message containing only the prefix has no command name
+		String cmd = (arg.length() > 1) ? arg.get(1) : "";
 		
 		EmbedBuilder embed = new EmbedBuilder();
 		
-		// Traverses through the CommandObject array to search for a match in the command name
-		for (CommandObject command : CommandObject.commands)
+		// Single lookup by name or alias, regardless of how many commands exist
+		CommandObject command = CommandRegistry.get(cmd);
+		
+		// Unknown commands still send a reply, so they cost a token as well
+		RateLimiter.Result limit = RateLimiter.acquire(member, (command != null) ? command.getCost() : 1);
+		
+		if (limit != RateLimiter.Result.ALLOW)
 		{
-			// Compare method defined in the abstract CommandObject class
-			if (command.compare(cmd)) 
+			if (limit == RateLimiter.Result.NOTIFY)
 			{
-				commandFound = true;
+				embed.addField(member.getEffectiveName(), "You are sending commands too quickly. Slow down for a moment.", true);
 				
-				if (command.hasAdminRole(member) && command.isBotOwner(member))
-				{
-					command.execute(guild, member, textChannel, arg);
-					
-					command.devMessage(command.getName(), command.extraDetails(), guild, member.getEffectiveName());
-				}
+				textChannel.sendMessageEmbeds(embed.build()).queue();
+			}
+			
+			return;
+		}
+		
+		if (command != null)
+		{
+			if (command.hasAdminRole(member) && command.isBotOwner(member))
+			{
+				// The command runs on a worker thread so it can't stall JDA's event thread
+				boolean accepted = CommandExecutor.submit(guild, command.getName(), () -> 
+					command.execute(guild, member, textChannel, arg)
+						.thenAccept(result -> command.devMessage(command.getName(), result.getDetails(), guild, member.getEffectiveName())));
 				
-				else 
+				if (!accepted)
 				{
-					embed.addField(member.getEffectiveName(), "You do not have the required privileges required for this command.", true);
+					embed.addField(member.getEffectiveName(), "Too many commands are running in this guild right now. Try again in a moment.", true);
 					
 					textChannel.sendMessageEmbeds(embed.build()).queue();
 				}
+			}
+			
+			else 
+			{
+				embed.addField(member.getEffectiveName(), "You do not have the required privileges required for this command.", true);
 				
-				break;
+				textChannel.sendMessageEmbeds(embed.build()).queue();
 			}
 		}
 		
-		if (!commandFound) {
-			embed.addField(member.getEffectiveName(), "I don't know that command. Type in \"" + Config.get("COMMAND_PREFIX") + " help\" for more information on commands.", true);
+		else {
+			embed.addField(member.getEffectiveName(), "I don't know that command. Type in \"" + GuildSettingsStore.get(guild).getPrefix() + " help\" for more information on commands.", true);
 			
 			textChannel.sendMessageEmbeds(embed.build()).queue();
 		}
@@ -0,0 +1,211 @@
+package commands.util;
+
+/**
+ * Description:<br>
+ * The MentionParser class reads Discord IDs out of command arguments.
+ * Discord writes mentions as <code>&lt;@id&gt;</code> or <code>&lt;@!id&gt;</code>
+ * for members, <code>&lt;@&amp;id&gt;</code> for roles and <code>&lt;#id&gt;</code>
+ * for channels, and members may also type the ID itself. The ID is read
+ * straight from the message into a <code>long</code>, without creating any
+ * strings along the way, and can then be used with JDA's
+ * <code>getMemberById(long)</code> and similar methods.
+ * <br>
+ * Anything that isn't a valid ID of the expected kind is read as
+ * <code>INVALID</code>.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public final class MentionParser {
+
+	// Returned when an argument isn't a valid ID
+	public static final long INVALID = -1;
+
+	// Longest number of digits a snowflake can have, since it fits in a signed long
+	private static final int MAX_DIGITS = 19;
+
+	/**
+	 * Description:<br>
+	 * Constructor for the class. The class only has static methods.
+	 *
+	 * @since	1.1.0
+	 */
+	private MentionParser() {
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads the ID of a member from an argument, whether it is a mention
+	 * or a raw ID.
+	 *
+	 * @param arg	the command's arguments
+	 * @param i		index of the argument
+	 * @return		<code>user-ID</code>, or <code>INVALID</code>
+	 * @since		1.1.0
+	 */
+	public static long parseUser(CommandArgs arg, int i) {
+		if (i >= arg.length())
+			return INVALID;
+
+		return parseUser(arg.getContent(), arg.start(i), arg.end(i));
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads the ID of a role from an argument, whether it is a mention
+	 * or a raw ID.
+	 *
+	 * @param arg	the command's arguments
+	 * @param i		index of the argument
+	 * @return		<code>role-ID</code>, or <code>INVALID</code>
+	 * @since		1.1.0
+	 */
+	public static long parseRole(CommandArgs arg, int i) {
+		if (i >= arg.length())
+			return INVALID;
+
+		return parseRole(arg.getContent(), arg.start(i), arg.end(i));
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads the ID of a channel from an argument, whether it is a mention
+	 * or a raw ID.
+	 *
+	 * @param arg	the command's arguments
+	 * @param i		index of the argument
+	 * @return		<code>channel-ID</code>, or <code>INVALID</code>
+	 * @since		1.1.0
+	 */
+	public static long parseChannel(CommandArgs arg, int i) {
+		if (i >= arg.length())
+			return INVALID;
+
+		return parseChannel(arg.getContent(), arg.start(i), arg.end(i));
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads the ID of a member from part of a text: <code>&lt;@id&gt;</code>,
+	 * <code>&lt;@!id&gt;</code> or the ID itself.
+	 *
+	 * @param text	the text to read from
+	 * @param start	index of the first character
+	 * @param end	index after the last character
+	 * @return		<code>user-ID</code>, or <code>INVALID</code>
+	 * @since		1.1.0
+	 */
+	public static long parseUser(CharSequence text, int start, int end) {
+		if (isMention(text, start, end, '@'))
+		{
+			int from = start + 2;
+
+			if (from < end && text.charAt(from) == '!')
+				from++;
+
+			return parseId(text, from, end - 1);
+		}
+
+		return parseId(text, start, end);
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads the ID of a role from part of a text: <code>&lt;@&amp;id&gt;</code>
+	 * or the ID itself.
+	 *
+	 * @param text	the text to read from
+	 * @param start	index of the first character
+	 * @param end	index after the last character
+	 * @return		<code>role-ID</code>, or <code>INVALID</code>
+	 * @since		1.1.0
+	 */
+	public static long parseRole(CharSequence text, int start, int end) {
+		if (isMention(text, start, end, '@'))
+		{
+			if (start + 2 < end && text.charAt(start + 2) == '&')
+				return parseId(text, start + 3, end - 1);
+
+			return INVALID;
+		}
+
+		return parseId(text, start, end);
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads the ID of a channel from part of a text: <code>&lt;#id&gt;</code>
+	 * or the ID itself.
+	 *
+	 * @param text	the text to read from
+	 * @param start	index of the first character
+	 * @param end	index after the last character
+	 * @return		<code>channel-ID</code>, or <code>INVALID</code>
+	 * @since		1.1.0
+	 */
+	public static long parseChannel(CharSequence text, int start, int end) {
+		if (isMention(text, start, end, '#'))
+			return parseId(text, start + 2, end - 1);
+
+		return parseId(text, start, end);
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads a raw ID made up only of digits.
+	 *
+	 * @param text	the text to read from
+	 * @param start	index of the first digit
+	 * @param end	index after the last digit
+	 * @return		<code>ID</code>, or <code>INVALID</code> if the text isn't
+	 * 				a number or is too large to be an ID
+	 * @since		1.1.0
+	 */
+	public static long parseId(CharSequence text, int start, int end) {
+		int length = end - start;
+
+		if (length <= 0 || length > MAX_DIGITS)
+			return INVALID;
+
+		long id = 0;
+
+		for (int i = start; i < end; i++)
+		{
+			int digit = text.charAt(i) - '0';
+
+			if (digit < 0 || digit > 9)
+				return INVALID;
+
+			// Only a 19 digit number can go past the largest long
+			if (id > (Long.MAX_VALUE - digit) / 10)
+				return INVALID;
+
+			id = id * 10 + digit;
+		}
+
+		return id;
+	}
+
+	/**
+	 * Description:<br>
+	 * Determines whether part of a text is wrapped in <code>&lt;</code> and
+	 * <code>&gt;</code>, with the given symbol right after the opening one.
+	 *
+	 * @param text		the text to check
+	 * @param start		index of the first character
+	 * @param end		index after the last character
+	 * @param symbol	the symbol that starts the mention
+	 * @return			<code>true</code> if it is a mention of that kind;
+	 * 					<code>false</code> otherwise
+	 * @since			1.1.0
+	 */
+	private static boolean isMention(CharSequence text, int start, int end, char symbol) {
+		return end - start >= 3 
+				&& text.charAt(start) == '<' 
+				&& text.charAt(start + 1) == symbol 
+				&& text.charAt(end - 1) == '>';
+	}
+}
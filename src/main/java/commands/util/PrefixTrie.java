@@ -0,0 +1,116 @@
+package commands.util;
+
+/**
+ * Description:<br>
+ * A small character trie holding every prefix that can start a command,
+ * such as the prefix from the config file or a mention of the bot.
+ * Matching walks the raw message one character at a time, so deciding
+ * that a message is not a command never creates any objects.
+ * A prefix only matches if it is followed by whitespace or by the end
+ * of the message, the same way the prefix used to be its own word.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class PrefixTrie {
+
+	private final Node root = new Node();
+
+	/**
+	 * Description:<br>
+	 * A single character of a prefix. The children are kept in two
+	 * parallel arrays since each node only ever has a handful of them.
+	 *
+	 * @since	1.1.0
+	 */
+	private static class Node {
+		char [] keys = new char [0];
+		Node [] children = new Node [0];
+		boolean terminal;
+
+		Node child(char c) {
+			for (int i = 0; i < keys.length; i++)
+			{
+				if (keys[i] == c)
+					return children[i];
+			}
+
+			return null;
+		}
+
+		Node addChild(char c) {
+			Node node = child(c);
+
+			if (node == null)
+			{
+				node = new Node();
+
+				char [] newKeys = new char [keys.length + 1];
+				Node [] newChildren = new Node [children.length + 1];
+				System.arraycopy(keys, 0, newKeys, 0, keys.length);
+				System.arraycopy(children, 0, newChildren, 0, children.length);
+				newKeys[keys.length] = c;
+				newChildren[children.length] = node;
+
+				keys = newKeys;
+				children = newChildren;
+			}
+
+			return node;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Adds a prefix to the trie. Empty prefixes are ignored, since they
+	 * would turn every message into a command.
+	 *
+	 * @param prefix	the prefix to add
+	 * @since			1.1.0
+	 */
+	public void add(String prefix) {
+		if (prefix == null || prefix.isEmpty())
+			return;
+
+		Node node = root;
+
+		for (int i = 0; i < prefix.length(); i++)
+		{
+			node = node.addChild(prefix.charAt(i));
+		}
+
+		node.terminal = true;
+	}
+
+	/**
+	 * Description:<br>
+	 * Finds the longest prefix at the start of the content that is
+	 * followed by whitespace or the end of the content.
+	 *
+	 * @param content	the raw message
+	 * @return			<code>prefix-length</code> if a prefix matched;
+	 * 					<code>-1</code> if the content is not a command
+	 * @since			1.1.0
+	 */
+	public int match(CharSequence content) {
+		Node node = root;
+		int length = content.length();
+		int matched = -1;
+
+		for (int i = 0; i < length; i++)
+		{
+			node = node.child(content.charAt(i));
+
+			if (node == null)
+				break;
+
+			if (node.terminal && (i + 1 == length || Character.isWhitespace(content.charAt(i + 1))))
+				matched = i + 1;
+		}
+
+		return matched;
+	}
+}
@@ -0,0 +1,258 @@
+package commands.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import mainBot.Config;
+import mainBot.ConfigSnapshot;
+import net.dv8tion.jda.api.entities.Member;
+
+/**
+ * Description:<br>
+ * The RateLimiter class limits how quickly commands can be requested, so
+ * a single member, or a single busy guild, can't use up the bot's share
+ * of Discord's REST API with replies. Every member and every guild has a
+ * bucket of tokens. Requesting a command takes as many tokens as the
+ * command's cost, and tokens slowly refill over time up to a limit.
+ * A request that can't take enough tokens from both buckets is denied.
+ * A command that costs more than a full bucket holds takes the whole
+ * bucket instead, so it can still be requested once the bucket is full.
+ * <br>
+ * Each bucket only stores the time at which it will be full again, and
+ * is updated with a single compare-and-set, so buckets never lock.
+ * Buckets that have been full for a while are dropped by a background
+ * task, and created again the next time they are needed.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class RateLimiter {
+
+	/**
+	 * Description:<br>
+	 * The outcome of a request. A member who goes over the limit is told
+	 * once with <code>NOTIFY</code>; every request after that is
+	 * <code>DENY</code> until a request is allowed again.
+	 *
+	 * @since	1.1.0
+	 */
+	public enum Result {
+		ALLOW,
+		NOTIFY,
+		DENY
+	}
+
+	// How long a bucket must have been full before it is dropped
+	private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+	private static final ConcurrentHashMap<Long, GuildBucket> guilds = new ConcurrentHashMap<>();
+
+	private static volatile long memberBurst = 5;
+	private static volatile long memberRefillNanos = TimeUnit.SECONDS.toNanos(3);
+	private static volatile long guildBurst = 30;
+	private static volatile long guildRefillNanos = TimeUnit.MILLISECONDS.toNanos(500);
+
+	private static ScheduledExecutorService sweeper;
+
+	/**
+	 * Description:<br>
+	 * A bucket of tokens. Instead of counting tokens, the bucket stores the
+	 * time at which it will be full again. Taking tokens pushes that time
+	 * further into the future, and a request is denied if it would push it
+	 * more than a full bucket's worth past the current time.
+	 *
+	 * @since	1.1.0
+	 */
+	private static class Bucket {
+		final AtomicLong fullAt;
+		final AtomicBoolean notified = new AtomicBoolean();
+
+		Bucket(long now) {
+			fullAt = new AtomicLong(now);
+		}
+
+		/**
+		 * Description:<br>
+		 * Takes tokens from the bucket if it has enough.
+		 *
+		 * @param cost			number of tokens to take
+		 * @param burst			number of tokens a full bucket holds
+		 * @param refillNanos	time it takes for a single token to refill
+		 * @param now			the current time
+		 * @return				<code>true</code> if the tokens were taken;
+		 * 						<code>false</code> if the bucket didn't have enough
+		 * @since				1.1.0
+		 */
+		boolean tryTake(long cost, long burst, long refillNanos, long now) {
+			while (true)
+			{
+				long current = fullAt.get();
+				long next = Math.max(current, now) + cost * refillNanos;
+
+				if (next - now > burst * refillNanos)
+					return false;
+
+				if (fullAt.compareAndSet(current, next))
+					return true;
+			}
+		}
+
+		/**
+		 * Description:<br>
+		 * Gives back tokens that were taken for a request that was denied
+		 * by another bucket.
+		 *
+		 * @param cost			number of tokens to give back
+		 * @param refillNanos	time it takes for a single token to refill
+		 * @since				1.1.0
+		 */
+		void giveBack(long cost, long refillNanos) {
+			fullAt.addAndGet(-cost * refillNanos);
+		}
+
+		/**
+		 * Description:<br>
+		 * Determines whether the bucket has been full for long enough to
+		 * be dropped.
+		 *
+		 * @param now	the current time
+		 * @return		<code>true</code> if the bucket is idle;
+		 * 				<code>false</code> otherwise
+		 * @since		1.1.0
+		 */
+		boolean isIdle(long now) {
+			return now - fullAt.get() > IDLE_NANOS;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * The bucket of a guild, which also holds the buckets of its members.
+	 *
+	 * @since	1.1.0
+	 */
+	private static class GuildBucket extends Bucket {
+		final ConcurrentHashMap<Long, Bucket> members = new ConcurrentHashMap<>();
+
+		GuildBucket(long now) {
+			super(now);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads the limits from the config file and starts the task that
+	 * drops idle buckets. Commands that cost more than a full bucket holds
+	 * are reported, since they can only be requested with a full bucket.
+	 *
+	 * @since	1.1.0
+	 */
+	public static synchronized void init() {
+		ConfigSnapshot config = Config.current();
+		
+		memberBurst = config.rateMemberBurst;
+		memberRefillNanos = TimeUnit.MILLISECONDS.toNanos(config.rateMemberRefillMs);
+		guildBurst = config.rateGuildBurst;
+		guildRefillNanos = TimeUnit.MILLISECONDS.toNanos(config.rateGuildRefillMs);
+
+		if (CommandObject.commands != null)
+		{
+			for (CommandObject command : CommandObject.commands)
+			{
+				if (command.getCost() > Math.min(memberBurst, guildBurst))
+					System.out.println("RATE: " + command.getName() + " costs " + command.getCost() + " tokens, more than a full bucket holds ("
+							+ memberBurst + " per member, " + guildBurst + " per guild), so it takes a whole bucket");
+			}
+		}
+
+		if (sweeper == null)
+		{
+			sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "rate-limit-sweeper");
+				thread.setDaemon(true);
+				return thread;
+			});
+
+			sweeper.scheduleWithFixedDelay(RateLimiter::sweep, 1, 1, TimeUnit.MINUTES);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Takes tokens for a request from both the member's and the guild's
+	 * bucket. If either doesn't have enough, nothing is taken. The cost
+	 * is capped at what a full bucket holds.
+	 *
+	 * @param member	the member requesting a command
+	 * @param cost		number of tokens the request costs
+	 * @return			<code>ALLOW</code> if the request may go ahead;
+	 * 					<code>NOTIFY</code> if it was denied and the member should
+	 * 					be told; <code>DENY</code> if it was denied and the member
+	 * 					was already told
+	 * @since			1.1.0
+	 */
+	public static Result acquire(Member member, int cost) {
+		long now = System.nanoTime();
+
+		GuildBucket guild = guilds.computeIfAbsent(member.getGuild().getIdLong(), id -> new GuildBucket(now));
+		Bucket bucket = guild.members.computeIfAbsent(member.getIdLong(), id -> new Bucket(now));
+
+		long memberBurst = RateLimiter.memberBurst;
+		long memberRefillNanos = RateLimiter.memberRefillNanos;
+		long guildBurst = RateLimiter.guildBurst;
+		long memberCost = Math.min(cost, memberBurst);
+		long guildCost = Math.min(cost, guildBurst);
+
+		if (bucket.tryTake(memberCost, memberBurst, memberRefillNanos, now))
+		{
+			if (guild.tryTake(guildCost, guildBurst, guildRefillNanos, now))
+			{
+				bucket.notified.set(false);
+				return Result.ALLOW;
+			}
+
+			bucket.giveBack(memberCost, memberRefillNanos);
+		}
+
+		// Only the first denied request of a burst is answered
+		return bucket.notified.compareAndSet(false, true) ? Result.NOTIFY : Result.DENY;
+	}
+
+	/**
+	 * Description:<br>
+	 * Drops every bucket that has been full for a while.
+	 *
+	 * @since	1.1.0
+	 */
+	private static void sweep() {
+		long now = System.nanoTime();
+
+		guilds.forEach((guildId, guild) -> {
+			guild.members.forEach((memberId, bucket) -> {
+				if (bucket.isIdle(now))
+					guild.members.remove(memberId, bucket);
+			});
+
+			if (guild.members.isEmpty() && guild.isIdle(now))
+				guilds.remove(guildId, guild);
+		});
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the number of guilds that currently have a bucket.
+	 *
+	 * @return	<code>active-guild-buckets</code>
+	 * @since	1.1.0
+	 */
+	public static int getActiveGuilds() {
+		return guilds.size();
+	}
+}
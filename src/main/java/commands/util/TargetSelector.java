@@ -0,0 +1,229 @@
+package commands.util;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+
+/**
+ * Description:<br>
+ * The TargetSelector class turns the arguments of a bulk moderation
+ * command into the IDs of the users it should act on. Each argument can be:
+ * <br>
+ * - a mention of a member, or a member's ID
+ * <br>
+ * - a mention of a role, selecting every member with that role
+ * <br>
+ * - <code>joined:&lt;minutes&gt;</code>, selecting every member that
+ * joined within the last number of minutes
+ * <br>
+ * Each user is only selected once, in the order they were first named.
+ * The member requesting the command, the bot itself and the owner of the
+ * guild are never selected.
+ * <br>
+ * Not every guild keeps all of its members in memory, so the members are
+ * only downloaded from Discord when a role or <code>joined:</code>
+ * argument needs them, and the guild doesn't already have them all.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class TargetSelector {
+
+	private static final String JOINED = "joined:";
+
+	private final Set<Long> targets = new LinkedHashSet<>();
+	private final List<String> invalid = new ArrayList<>();
+
+	/**
+	 * Description:<br>
+	 * Constructor for the class. Use <code>select</code> instead.
+	 *
+	 * @since	1.1.0
+	 */
+	private TargetSelector() {
+	}
+
+	/**
+	 * Description:<br>
+	 * Selects the users named by the arguments starting at the given index.
+	 *
+	 * @param guild		the guild the command was requested from
+	 * @param member	the member that requested the command
+	 * @param arg		the command's arguments
+	 * @param from		index of the first argument naming a target
+	 * @return			<code>future</code> that finishes with the
+	 * 					<code>target-selector</code> once any members it
+	 * 					needed are downloaded
+	 * @since			1.1.0
+	 */
+	public static CompletableFuture<TargetSelector> select(Guild guild, Member member, CommandArgs arg, int from) {
+		return loadMembers(guild, arg, from)
+				.thenApply(members -> select(guild, member, arg, from, members));
+	}
+
+	/**
+	 * Description:<br>
+	 * Selects the users named by the arguments starting at the given index,
+	 * once the members of the guild are known.
+	 *
+	 * @param guild		the guild the command was requested from
+	 * @param member	the member that requested the command
+	 * @param arg		the command's arguments
+	 * @param from		index of the first argument naming a target
+	 * @param members	every member of the guild, or <code>null</code> if
+	 * 					no argument needs them
+	 * @return			<code>target-selector</code>
+	 * @since			1.1.0
+	 */
+	private static TargetSelector select(Guild guild, Member member, CommandArgs arg, int from, List<Member> members) {
+		TargetSelector selector = new TargetSelector();
+
+		for (int i = from; i < arg.length(); i++)
+		{
+			selector.add(guild, members, arg, i);
+		}
+
+		// Never act on the requester, the bot, or the guild's owner
+		selector.targets.remove(member.getIdLong());
+		selector.targets.remove(guild.getSelfMember().getIdLong());
+		selector.targets.remove(guild.getOwnerIdLong());
+
+		return selector;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves every member of the guild if one of the arguments selects
+	 * members by role or by when they joined. Members that are already all
+	 * in memory are used as they are; otherwise they are downloaded.
+	 *
+	 * @param guild		the guild the command was requested from
+	 * @param arg		the command's arguments
+	 * @param from		index of the first argument naming a target
+	 * @return			<code>future</code> that finishes with the members, or
+	 * 					with <code>null</code> if no argument needs them
+	 * @since			1.1.0
+	 */
+	private static CompletableFuture<List<Member>> loadMembers(Guild guild, CommandArgs arg, int from) {
+		boolean needed = false;
+
+		for (int i = from; i < arg.length() && !needed; i++)
+		{
+			int start = arg.start(i);
+
+			needed = arg.getContent().startsWith(JOINED, start) || arg.getContent().startsWith("<@&", start);
+		}
+
+		if (!needed)
+			return CompletableFuture.completedFuture(null);
+
+		if (guild.isLoaded())
+			return CompletableFuture.completedFuture(guild.getMembers());
+
+		CompletableFuture<List<Member>> loaded = new CompletableFuture<>();
+
+		guild.loadMembers()
+				.onSuccess(loaded::complete)
+				.onError(loaded::completeExceptionally);
+
+		return loaded;
+	}
+
+	/**
+	 * Description:<br>
+	 * Adds the users named by a single argument.
+	 *
+	 * @param guild		the guild the command was requested from
+	 * @param members	every member of the guild, or <code>null</code> if
+	 * 					no argument needs them
+	 * @param arg		the command's arguments
+	 * @param i			index of the argument
+	 * @since			1.1.0
+	 */
+	private void add(Guild guild, List<Member> members, CommandArgs arg, int i) {
+		String content = arg.getContent();
+		int start = arg.start(i);
+		int end = arg.end(i);
+
+		if (content.startsWith(JOINED, start))
+		{
+			long minutes = MentionParser.parseId(content, start + JOINED.length(), end);
+
+			if (minutes <= 0)
+			{
+				invalid.add(arg.get(i));
+				return;
+			}
+
+			OffsetDateTime since = OffsetDateTime.now().minusMinutes(minutes);
+
+			for (Member member : members)
+			{
+				if (member.hasTimeJoined() && member.getTimeJoined().isAfter(since))
+					targets.add(member.getIdLong());
+			}
+
+			return;
+		}
+
+		// A raw ID is taken as a user, so only a role mention selects a role
+		if (content.startsWith("<@&", start))
+		{
+			Role role = guild.getRoleById(MentionParser.parseRole(content, start, end));
+
+			// Selecting the @everyone role would select the whole guild
+			if (role == null || role.isPublicRole())
+			{
+				invalid.add(arg.get(i));
+				return;
+			}
+
+			for (Member member : members)
+			{
+				if (member.getRoles().contains(role))
+					targets.add(member.getIdLong());
+			}
+
+			return;
+		}
+
+		long userId = MentionParser.parseUser(content, start, end);
+
+		if (userId == MentionParser.INVALID)
+			invalid.add(arg.get(i));
+		else
+			targets.add(userId);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the IDs of the selected users.
+	 *
+	 * @return	<code>user-IDs</code>
+	 * @since	1.1.0
+	 */
+	public Set<Long> getTargets() {
+		return targets;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the arguments that didn't name anyone.
+	 *
+	 * @return	<code>invalid-arguments</code>
+	 * @since	1.1.0
+	 */
+	public List<String> getInvalid() {
+		return invalid;
+	}
+}
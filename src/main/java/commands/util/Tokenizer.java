@@ -0,0 +1,154 @@
+package commands.util;
+
+/**
+ * Description:<br>
+ * The Tokenizer class is responsible for deciding whether a message is a
+ * command, and if so, breaking it up into a <code>CommandArgs</code> view.
+ * The prefixes that can start a command are kept in a <code>PrefixTrie</code>,
+ * which is checked directly against the raw message. Since most messages
+ * in a guild are not commands, that check is done without creating any
+ * objects, and the words are only located once a prefix has matched.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class Tokenizer {
+
+	private static volatile PrefixTrie prefixes = new PrefixTrie();
+	private static volatile String [] mentions = new String [0];
+
+	/**
+	 * Description:<br>
+	 * Replaces the prefixes that can start a command: the command prefix
+	 * and the mentions of the bot.
+	 *
+	 * @param commandPrefix		the command prefix
+	 * @param newMentions		every mention of the bot that starts a command
+	 * @since					1.1.0
+	 */
+	public static void init(String commandPrefix, String... newMentions) {
+		mentions = newMentions.clone();
+		prefixes = createPrefixes(commandPrefix);
+	}
+
+	/**
+	 * Description:<br>
+	 * Creates the prefixes for a guild with its own command prefix. The
+	 * mentions of the bot start a command in every guild.
+	 *
+	 * @param commandPrefix		the guild's command prefix
+	 * @return					<code>prefix-trie</code>
+	 * @since					1.1.0
+	 */
+	public static PrefixTrie createPrefixes(String commandPrefix) {
+		PrefixTrie trie = new PrefixTrie();
+
+		trie.add(commandPrefix);
+
+		for (String mention : mentions)
+		{
+			trie.add(mention);
+		}
+
+		return trie;
+	}
+
+	/**
+	 * Description:<br>
+	 * Determines whether a message starts with one of the prefixes.
+	 *
+	 * @param content	the raw message
+	 * @return			<code>true</code> if the message is a command;
+	 * 					<code>false</code> otherwise
+	 * @since			1.1.0
+	 */
+	public static boolean isCommand(String content) {
+		return prefixes.match(content) > 0;
+	}
+
+	/**
+	 * Description:<br>
+	 * Breaks a message up into its words if it starts with a prefix.
+	 * Words are separated by any amount of whitespace.
+	 *
+	 * @param content	the raw message
+	 * @return			<code>command-args</code> if the message is a command;
+	 * 					<code>null</code> if it is not
+	 * @since			1.1.0
+	 */
+	public static CommandArgs tokenize(String content) {
+		return tokenize(content, prefixes);
+	}
+
+	/**
+	 * Description:<br>
+	 * Breaks a message up into its words if it starts with one of the
+	 * given prefixes, such as those of a guild with its own command prefix.
+	 *
+	 * @param content		the raw message
+	 * @param guildPrefixes	the prefixes that start a command
+	 * @return				<code>command-args</code> if the message is a command;
+	 * 						<code>null</code> if it is not
+	 * @since				1.1.0
+	 */
+	public static CommandArgs tokenize(String content, PrefixTrie guildPrefixes) {
+		int prefixLength = guildPrefixes.match(content);
+
+		if (prefixLength <= 0)
+			return null;
+
+		return tokenize(content, prefixLength);
+	}
+
+	/**
+	 * Description:<br>
+	 * Breaks a message up into its words, given that the first
+	 * <code>prefixLength</code> characters are the prefix.
+	 *
+	 * @param content		the raw message
+	 * @param prefixLength	length of the prefix that was matched
+	 * @return				<code>command-args</code>
+	 * @since				1.1.0
+	 */
+	public static CommandArgs tokenize(String content, int prefixLength) {
+		int length = content.length();
+		int [] bounds = new int [8];
+		int count = 1;
+
+		// The prefix is always the first word
+		bounds[0] = 0;
+		bounds[1] = prefixLength;
+
+		int i = prefixLength;
+
+		while (i < length)
+		{
+			while (i < length && Character.isWhitespace(content.charAt(i)))
+				i++;
+
+			if (i == length)
+				break;
+
+			int start = i;
+
+			while (i < length && !Character.isWhitespace(content.charAt(i)))
+				i++;
+
+			if (2 * count + 1 >= bounds.length)
+			{
+				int [] grown = new int [bounds.length * 2];
+				System.arraycopy(bounds, 0, grown, 0, bounds.length);
+				bounds = grown;
+			}
+
+			bounds[2 * count] = start;
+			bounds[2 * count + 1] = i;
+			count++;
+		}
+
+		return new CommandArgs(content, bounds, count);
+	}
+}
@@ -1,8 +1,9 @@
 package events;
 
 import events.util.EventObject;
-import gui.GuiMain;
 import mainBot.Bot;
+import mainBot.GuildBootstrap;
+import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.events.guild.GuildJoinEvent;
 
 /**
@@ -24,8 +25,6 @@ import net.dv8tion.jda.api.events.guild.GuildJoinEvent;
  */
 public class JoinedNewGuild extends EventObject{
 
-	String guildName;
-	
 	/**
 	 * Description:<br>
 	 * Retrieves the name of the event.
@@ -41,10 +40,11 @@ public class JoinedNewGuild extends EventObject{
 	 * Description:<br>
 	 * Retrieves the actions of the event.
 	 * 
-	 * @return	<code>"Bot joined guild &lt;guildName&gt;"</code>
-	 * @since	1.0.0
+	 * @param guildName	name of the guild the bot joined
+	 * @return			<code>"Bot joined guild &lt;guildName&gt;"</code>
+	 * @since			1.0.0
 	 */
-	public String getAction() {
+	public String getAction(String guildName) {
 		return "Bot joined guild " + guildName;
 	}
 
@@ -61,21 +61,25 @@ public class JoinedNewGuild extends EventObject{
 	 */
 	public void onGuildJoin(GuildJoinEvent event) {
 		
-		// Initializes guild for bot use
-		Bot.guildInit(event.getGuild(), Bot.jda.getGuilds().size() - 1);
+		Guild guild = event.getGuild();
 		
-		guildName = event.getGuild().getName();
-		
-		GuiMain.frameObject.guildPanel.refreshPane();
-		
-		GuiMain.frameObject.memberPanel.refreshPane();
+		// Initializes guild for bot use, and adds it to the GUI once that is done
+		GuildBootstrap.initGuild(guild)
+			.whenComplete((done, error) -> addToGui(guild));
+	}
+	
+	/**
+	 * Description:<br>
+	 * Adds the new guild and its members into the GUI, once the guild has
+	 * been set up.
+	 * 
+	 * @param guild		the guild the bot joined
+	 * @since			1.1.0
+	 */
+	private void addToGui(Guild guild) {
 		
-		// Applies the edits
-		GuiMain.frameObject.revalidate();
-
-		// Ensures the actionlisteners are still working
-		GuiMain.frameObject.restartListeners();
+		Bot.observer.guildsChanged();
 		
-		super.devMessage(getName(), getAction(), event.getGuild());
+		super.devMessage(getName(), getAction(guild.getName()), guild);
 	}
 }
@@ -1,7 +1,10 @@
 package events;
 
+import commands.util.BanCache;
 import events.util.EventObject;
-import gui.GuiMain;
+import mainBot.Bot;
+import mainBot.GuildFingerprints;
+import mainBot.GuildSettingsStore;
 import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
 
 /**
@@ -21,8 +24,6 @@ import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
  */
 public class LeftGuild extends EventObject{
 
-	String guildName;
-	
 	/**
 	 * Description:<br>
 	 * Retrieves the name of the event.
@@ -38,10 +39,11 @@ public class LeftGuild extends EventObject{
 	 * Description:<br>
 	 * Retrieves the actions of the event.
 	 * 
-	 * @return	<code>"Bot left guild &lt;guildName&gt;"</code>
-	 * @since	1.0.0
+	 * @param guildName	name of the guild the bot left
+	 * @return			<code>"Bot left guild &lt;guildName&gt;"</code>
+	 * @since			1.0.0
 	 */
-	public String getAction() {
+	public String getAction(String guildName) {
 		return "Bot left guild " + guildName;
 	}
 
@@ -59,19 +61,17 @@ public class LeftGuild extends EventObject{
 	 */
 	public void onGuildLeave(GuildLeaveEvent event) {
 		
-		guildName = event.getGuild().getName();
-		
-		GuiMain.frameObject.guildPanel.refreshPane();
-		
-		GuiMain.frameObject.memberPanel.refreshPane();
+		// The guild is set up again from scratch if the bot rejoins it
+		GuildFingerprints.forget(event.getGuild().getIdLong());
+		GuildFingerprints.save();
 		
-		// Revalidates the updates to the frame
-		GuiMain.frameObject.revalidate();
+		// The guild's settings stay saved, but aren't kept in memory
+		GuildSettingsStore.unload(event.getGuild().getIdLong());
+		BanCache.forget(event.getGuild().getIdLong());
 		
-		// Ensures the actionlisteners are still working
-		GuiMain.frameObject.restartListeners();
+		Bot.observer.guildsChanged();
 		
-		super.devMessage(getName(), getAction(), event.getGuild());
+		super.devMessage(getName(), getAction(event.getGuild().getName()), event.getGuild());
 	}
 	
 }
@@ -1,16 +1,11 @@
 package events;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import javax.swing.JList;
-import javax.swing.JScrollPane;
+import java.util.EnumSet;
 
 import events.util.EventObject;
-import gui.GuiMain;
 import mainBot.Bot;
-import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.api.requests.GatewayIntent;
 
 /**
  * Description:<br>
@@ -18,9 +13,8 @@ import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
  * guild that the bot resides in.
  * The classs extends the <code>EventObject</code> abstract class, which
  * defines its descriptor methods.
- * Whenever the event is triggered, the bot updates the member list of 
- * that guild to include the member that joined, and then updates the GUI
- * using that list.
+ * Whenever the event is triggered, the member that joined is added to 
+ * the member list of that guild shown in the GUI.
  * <p>
  * 
  * Date:		August 24, 2021
@@ -30,9 +24,6 @@ import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
  */
 public class MemberJoinedGuild extends EventObject{
 
-	String userName;
-	String guildName;
-	
 	/**
 	 * Description:<br>
 	 * Retrieves the name of the event.
@@ -48,19 +39,32 @@ public class MemberJoinedGuild extends EventObject{
 	 * Description:<br>
 	 * Retrieves the actions of the event.
 	 * 
-	 * @return	<code>"&lt;userName&gt; joined the guild &lt;guildName&gt;"</code>
-	 * @since	1.0.0
+	 * @param userName	name of the member
+	 * @param guildName	name of the guild
+	 * @return			<code>"&lt;userName&gt; joined the guild &lt;guildName&gt;"</code>
+	 * @since			1.0.0
 	 */
-	public String getAction() {
+	public String getAction(String userName, String guildName) {
 		return userName + " joined the guild " + guildName;
 	}
 
+	/**
+	 * Description:<br>
+	 * Retrieves the gateway intents the event needs. Discord only reports
+	 * when a member joins a guild with the <code>GUILD_MEMBERS</code> intent.
+	 * 
+	 * @return	<code>GUILD_MEMBERS</code>
+	 * @since	1.1.0
+	 */
+	public EnumSet<GatewayIntent> getIntents() {
+		return EnumSet.of(GatewayIntent.GUILD_MEMBERS);
+	}
+
 	/**
 	 * Description:<br>
 	 * The actions that the bot takes whenever the event takes place.
-	 * Here, the members list of the guild involved is updated in order to 
-	 * reflect the changes caused by the event. This list is then used
-	 * to update the GUI.
+	 * Here, the member that joined is added to the members list of the
+	 * guild involved.
 	 * 
 	 * @param event		The GuildMemberJoinEvent variable storing
 	 * 					any info related to the user joining, such
@@ -69,36 +73,10 @@ public class MemberJoinedGuild extends EventObject{
 	 */
 	public void onGuildMemberJoin(GuildMemberJoinEvent event) {
 		
-		userName = event.getMember().getEffectiveName();
-		guildName = event.getGuild().getName();
-
-		ArrayList<String> list = new ArrayList<>();
-		
-		int guildIndex = Bot.jda.getGuilds().indexOf(event.getGuild());
-		
-		List<Member> members = event.getGuild().getMembers();
-
-		// Updates list of members in the guild
-		for (int j = 0; j < members.size(); j++)
-		{
-			list.add((j+1) + ") " + members.get(j).getEffectiveName());
-		}
-		
-		// Replaces the data at the guild's index
-		GuiMain.frameObject.memberPanel.memberListArray.set(guildIndex, new JList<String>(list.toArray(new String[list.size()])));
-
-		// Removes and edits the panel 
-		GuiMain.frameObject.memberPanel.tabbedPane.remove(GuiMain.frameObject.memberPanel.scrollPane);
-		GuiMain.frameObject.memberPanel.tabbedPane.remove(GuiMain.frameObject.memberPanel.bannedScrollPane);
-		
-		GuiMain.frameObject.memberPanel.scrollPane = new JScrollPane(GuiMain.frameObject.memberPanel.memberListArray.get(guildIndex));
-		GuiMain.frameObject.memberPanel.bannedScrollPane = new JScrollPane(GuiMain.frameObject.memberPanel.bannedMemberListArray.get(guildIndex));
+		String userName = event.getMember().getEffectiveName();
 
-		// Replaces the removed panel with the updated one
-		GuiMain.frameObject.memberPanel.tabbedPane.add("Members", GuiMain.frameObject.memberPanel.scrollPane);
-		GuiMain.frameObject.memberPanel.tabbedPane.add("Banned Members", GuiMain.frameObject.memberPanel.bannedScrollPane);
-		GuiMain.frameObject.revalidate();
+		Bot.observer.memberJoined(event.getMember());
 		
-		super.devMessage(getName(), getAction(), event.getGuild());
+		super.devMessage(getName(), getAction(userName, event.getGuild().getName()), event.getGuild());
 	}
 }
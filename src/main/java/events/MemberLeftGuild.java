@@ -1,17 +1,14 @@
 package events;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import javax.swing.JList;
-import javax.swing.JScrollPane;
+import java.util.EnumSet;
 
+import commands.util.BanCache;
 import events.util.EventObject;
-import gui.GuiMain;
 import mainBot.Bot;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.requests.GatewayIntent;
 
 /**
  * Description:<br>
@@ -19,9 +16,8 @@ import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
  * from a guild, whether by choice or by force.
  * The class extends the <code>EventObject</code> abstract class, which defines
  * its descriptor methods.
- * Whenever the event is triggered, the bot updates the member list of
- * that guild to exclude the member that was removed, and those updates are
- * applied to the GUI using the new list.
+ * Whenever the event is triggered, the member that was removed is taken
+ * out of the member list of that guild shown in the GUI.
  * <p>
  * 
  * Date:		August 24, 2021
@@ -31,9 +27,6 @@ import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
  */
 public class MemberLeftGuild extends EventObject{
 
-	String userName;
-	String guildName;
-	
 	/**
 	 * Description:<br>
 	 * Retrieves the name of the event.
@@ -49,20 +42,33 @@ public class MemberLeftGuild extends EventObject{
 	 * Description:<br>
 	 * Retrieves the actions of the event.
 	 * 
-	 * @return	<code>"&lt;userName&gt; left the guild &lt;guildName&gt;"</code>
-	 * @since	1.0.0
+	 * @param userName	name of the member
+	 * @param guildName	name of the guild
+	 * @return			<code>"&lt;userName&gt; left the guild &lt;guildName&gt;"</code>
+	 * @since			1.0.0
 	 */
-	public String getAction() {
+	public String getAction(String userName, String guildName) {
 		return userName + " left the guild " + guildName;
 	}
 
 	
+	/**
+	 * Description:<br>
+	 * Retrieves the gateway intents the event needs. Discord only reports
+	 * when a member leaves a guild with the <code>GUILD_MEMBERS</code> intent.
+	 * 
+	 * @return	<code>GUILD_MEMBERS</code>
+	 * @since	1.1.0
+	 */
+	public EnumSet<GatewayIntent> getIntents() {
+		return EnumSet.of(GatewayIntent.GUILD_MEMBERS);
+	}
+
 	/**
 	 * Description:<br>
 	 * The actions that the bot takes whenever the event takes place.
-	 * Here, the members list of the guild involved is updated in order to
-	 * reflect the changes caused by the event. This list is then used to 
-	 * update the GUI.
+	 * Here, the member that was removed is taken out of the members list
+	 * of the guild involved.
 	 * 
 	 * @param event		The GuildMemberRemoveEvent variable storing
 	 * 					any info related to the user leaving, such
@@ -73,55 +79,16 @@ public class MemberLeftGuild extends EventObject{
 		
 		Guild guild = event.getGuild();
 		
-		userName = event.getMember().getEffectiveName();
-		guildName = guild.getName();
-
-		ArrayList<String> list = new ArrayList<>();
-		
-		int guildIndex = Bot.jda.getGuilds().indexOf(event.getGuild());
-		
-		List<Member> members = event.getGuild().getMembers();
-
-		// Updates list of members in the server
-		for (int j = 0; j < members.size(); j++)
-		{
-			list.add((j+1) + ") " + members.get(j).getEffectiveName());
-		}
-		
-		ArrayList<String> list2 = new ArrayList<String>();
-		
-		List<net.dv8tion.jda.api.entities.Guild.Ban> banList = guild.retrieveBanList().complete();
-		
-		if (!banList.isEmpty())
-		{
-			for (int k = 0; k < banList.size(); k++)
-			{
-				// Inputs a banned user's name and ID into the array
-				list2.add((k+1) + ") " + banList.get(k).getUser().getAsMention() + " " + banList.get(k).getUser().getName());
-			}
-		}
-		
-		// Sets the GUI's banned member list to the updated list
-		GuiMain.frameObject.memberPanel.memberListArray.set(guildIndex, new JList<String>(list.toArray(new String[list.size()])));
-		GuiMain.frameObject.memberPanel.bannedMemberListArray.set(guildIndex, new JList<String>(list2.toArray(new String[list2.size()])));
-		list.clear();
-		list2.clear();
-	
-		// Removes the two scroll panes from the tabbed pane in the members pane
-		GuiMain.frameObject.memberPanel.tabbedPane.remove(GuiMain.frameObject.memberPanel.scrollPane);
-		GuiMain.frameObject.memberPanel.tabbedPane.remove(GuiMain.frameObject.memberPanel.bannedScrollPane);
+		// The member is only known if they were cached, but the user always is
+		Member member = event.getMember();
 		
-		// Adds the updated panes to the member pane
-		GuiMain.frameObject.memberPanel.scrollPane = new JScrollPane(GuiMain.frameObject.memberPanel.memberListArray.get(guildIndex));
-		GuiMain.frameObject.memberPanel.bannedScrollPane = new JScrollPane(GuiMain.frameObject.memberPanel.bannedMemberListArray.get(guildIndex));
+		String userName = (member != null) ? member.getEffectiveName() : event.getUser().getName();
 
-		// Adds the updated member panes to the tabbed pane
-		GuiMain.frameObject.memberPanel.tabbedPane.add("Members", GuiMain.frameObject.memberPanel.scrollPane);
-		GuiMain.frameObject.memberPanel.tabbedPane.add("Banned Members", GuiMain.frameObject.memberPanel.bannedScrollPane);
+		Bot.observer.memberLeft(guild, event.getUser().getIdLong());
 		
-		// Refreshes the GUI
-		GuiMain.frameObject.revalidate();
+		// The member may have been banned, which ban events already show, unless they don't arrive
+		BanCache.refresh(guild);
 	
-		super.devMessage(getName(), getAction(), event.getGuild());
+		super.devMessage(getName(), getAction(userName, guild.getName()), guild);
 	}
 }
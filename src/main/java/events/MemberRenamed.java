@@ -0,0 +1,120 @@
+package events;
+
+import java.util.EnumSet;
+
+import events.util.EventObject;
+import mainBot.Bot;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.events.guild.member.update.GuildMemberUpdateNicknameEvent;
+import net.dv8tion.jda.api.events.user.update.UserUpdateNameEvent;
+import net.dv8tion.jda.api.requests.GatewayIntent;
+
+/**
+ * Description:<br>
+ * The MemberRenamed class defines the event for when a member of a guild
+ * that the bot resides in changes their nickname, or changes their user
+ * name while they have no nickname.
+ * The class extends the <code>EventObject</code> abstract class, which
+ * defines its descriptor methods.
+ * Whenever the event is triggered, the member is moved to their new place
+ * in the member list of that guild shown in the GUI.
+ * <p>
+ * 
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class MemberRenamed extends EventObject{
+
+	/**
+	 * Description:<br>
+	 * Retrieves the name of the event.
+	 * 
+	 * @return	<code>"MemberRenamed"</code>
+	 * @since	1.1.0
+	 */
+	public String getName() {
+		return "MemberRenamed";
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the actions of the event.
+	 * 
+	 * @param oldName	the member's previous name
+	 * @param newName	the member's new name
+	 * @return			<code>"&lt;oldName&gt; is now called &lt;newName&gt;"</code>
+	 * @since			1.1.0
+	 */
+	public String getAction(String oldName, String newName) {
+		return oldName + " is now called " + newName;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the gateway intents the event needs. Discord only reports
+	 * nickname and user name changes with the <code>GUILD_MEMBERS</code>
+	 * intent.
+	 * 
+	 * @return	<code>GUILD_MEMBERS</code>
+	 * @since	1.1.0
+	 */
+	public EnumSet<GatewayIntent> getIntents() {
+		return EnumSet.of(GatewayIntent.GUILD_MEMBERS);
+	}
+
+	/**
+	 * Description:<br>
+	 * The actions that the bot takes whenever the event takes place.
+	 * Here, the member is moved to their new place in the members list
+	 * of the guild involved.
+	 * 
+	 * @param event		The GuildMemberUpdateNicknameEvent variable 
+	 * 					storing any info related to the nickname 
+	 * 					change, such as the member, the guild 
+	 * 					involved, etc.
+	 * @since			1.1.0
+	 */
+	public void onGuildMemberUpdateNickname(GuildMemberUpdateNicknameEvent event) {
+		
+		// Without a nickname, the member goes by their user name
+		String oldName = (event.getOldNickname() != null) ? event.getOldNickname() : event.getUser().getName();
+		String newName = event.getMember().getEffectiveName();
+
+		Bot.observer.memberRenamed(event.getMember());
+		
+		super.devMessage(getName(), getAction(oldName, newName), event.getGuild());
+	}
+	
+	/**
+	 * Description:<br>
+	 * The actions that the bot takes whenever a user changes their user
+	 * name. In every guild they share with the bot where they have no
+	 * nickname, they go by their user name, so they are moved to their
+	 * new place in that guild's members list.
+	 * 
+	 * @param event		The UserUpdateNameEvent variable storing any 
+	 * 					info related to the name change, such as the 
+	 * 					user, their old name, etc.
+	 * @since			1.1.0
+	 */
+	public void onUserUpdateName(UserUpdateNameEvent event) {
+		
+		String action = getAction(event.getOldName(), event.getNewName());
+		
+		for (Guild guild : event.getUser().getMutualGuilds())
+		{
+			Member member = guild.getMemberById(event.getUser().getIdLong());
+			
+			// A nickname hides the user name, so nothing changed in that guild
+			if (member == null || member.getNickname() != null)
+				continue;
+			
+			Bot.observer.memberRenamed(member);
+			
+			super.devMessage(getName(), action, guild);
+		}
+	}
+}
@@ -0,0 +1,380 @@
+package events.util;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import mainBot.Config;
+import mainBot.GuildLanes;
+import mainBot.LatencyHistogram;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.GenericGuildEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.hooks.IEventManager;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+
+/**
+ * Description:<br>
+ * The EventDispatcher class hands the events JDA receives to the bot's
+ * listeners, in place of JDA's own event manager, which runs every
+ * listener one after another on the thread that reads from Discord.
+ * Each shard has its own dispatcher.
+ * <br>
+ * Every <code>EventObject</code> runs on shared worker threads instead,
+ * in a single lane for each guild that every event shares, so a guild's
+ * events run one at a time and in the order Discord sent them, even
+ * across events. A member who joins and leaves right away is therefore
+ * always added before they are removed. Other guilds carry on in
+ * parallel, so a slow event only holds up its own guild, never the
+ * messages the Handler reads or the shard's connection. Any other
+ * listener, such as the Handler or the caches, only does a little
+ * bookkeeping, and runs right away.
+ * <br>
+ * An event is never dropped, since a lost join or leave would leave the
+ * GUI and the caches wrong until the bot restarts, and the shard never
+ * waits for a lane, since that would hold up every guild on it. If a
+ * guild's lane is full, the event is added past its depth instead, and
+ * reported.
+ * <br>
+ * Each listener only receives the kinds of events it has a method for,
+ * so the many events no listener cares about cost nothing. A listener
+ * that fails is reported without stopping the others. How long each
+ * listener takes is recorded, along with how many events it handled,
+ * failed on, took long on, or added to a lane that was already full,
+ * and can be retrieved through the getMetrics method.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class EventDispatcher implements IEventManager {
+
+	// Lane of events that don't belong to a guild. No guild has this ID
+	private static final long NO_GUILD = 0;
+
+	// Number of events that may wait in a single guild's lane before it is reported
+	private static final int QUEUE_DEPTH = 10_000;
+
+	// A listener taking longer than this on a single event is reported
+	private static final long SLOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	// Threads shared by the lanes of every shard
+	private static ExecutorService pool;
+
+	// Listener name to metrics, shared by every shard
+	private static final Map<String, ListenerMetrics> metrics = new ConcurrentHashMap<>();
+
+	/**
+	 * Description:<br>
+	 * The metrics of a single listener.
+	 *
+	 * @since	1.1.0
+	 */
+	private static final class ListenerMetrics {
+		final LatencyHistogram latency = new LatencyHistogram();
+		final LongAdder failed = new LongAdder();
+		final LongAdder slow = new LongAdder();
+		final LongAdder overflowed = new LongAdder();
+	}
+
+	/**
+	 * Description:<br>
+	 * A registered listener, along with the kinds of events it receives,
+	 * and the guild lanes if it runs on the worker threads.
+	 *
+	 * @since	1.1.0
+	 */
+	private static final class Registration {
+		final EventListener listener;
+		final String name;
+
+		// The kinds of events the listener has a method for, or null if it receives every event
+		final Class<?> [] handles;
+
+		// Null if the listener runs right away
+		final GuildLanes lanes;
+
+		final ListenerMetrics metrics;
+
+		Registration(EventListener listener, GuildLanes lanes) {
+			this.listener = listener;
+			this.name = listener.getClass().getSimpleName();
+			this.handles = findHandledEvents(listener);
+			this.lanes = lanes;
+			this.metrics = EventDispatcher.metrics.computeIfAbsent(name, key -> new ListenerMetrics());
+		}
+
+		/**
+		 * Description:<br>
+		 * Determines whether the listener has a method for an event.
+		 *
+		 * @param event		the event
+		 * @return			<code>true</code> if the listener receives the event
+		 * @since			1.1.0
+		 */
+		boolean receives(GenericEvent event) {
+			if (handles == null)
+				return true;
+
+			for (int i = 0; i < handles.length; i++)
+			{
+				if (handles[i].isInstance(event))
+					return true;
+			}
+
+			return false;
+		}
+	}
+
+	private final CopyOnWriteArrayList<Registration> registrations = new CopyOnWriteArrayList<>();
+
+	// Shared by every event, so a guild's events stay in order across them
+	private final GuildLanes lanes;
+
+	/**
+	 * Description:<br>
+	 * Constructor for the class. The worker threads are created along with
+	 * the first dispatcher, using the number of threads in the config file.
+	 *
+	 * @since	1.1.0
+	 */
+	public EventDispatcher() {
+		synchronized (EventDispatcher.class)
+		{
+			if (pool == null)
+				pool = GuildLanes.createPool("event-lane", Config.current().commandThreads);
+		}
+
+		lanes = new GuildLanes(pool, QUEUE_DEPTH);
+	}
+
+	/**
+	 * Description:<br>
+	 * Adds a listener. Events run in the guild lanes, and any other
+	 * listener runs right away.
+	 *
+	 * @param listener	the listener, which must be an <code>EventListener</code>
+	 * @throws	IllegalArgumentException	if it isn't an <code>EventListener</code>
+	 * @since	1.1.0
+	 */
+	@Override
+	public void register(Object listener) {
+		if (!(listener instanceof EventListener))
+			throw new IllegalArgumentException("Listener must implement EventListener");
+
+		registrations.add(new Registration((EventListener) listener, (listener instanceof EventObject) ? lanes : null));
+	}
+
+	/**
+	 * Description:<br>
+	 * Removes a listener. Events already waiting for it in the lanes are
+	 * still handled.
+	 *
+	 * @param listener	the listener to remove
+	 * @since			1.1.0
+	 */
+	@Override
+	public void unregister(Object listener) {
+		registrations.removeIf(registration -> registration.listener == listener);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves every registered listener.
+	 *
+	 * @return	<code>listeners</code>
+	 * @since	1.1.0
+	 */
+	@Override
+	public List<Object> getRegisteredListeners() {
+		List<Object> listeners = new ArrayList<>();
+
+		for (Registration registration : registrations)
+		{
+			listeners.add(registration.listener);
+		}
+
+		return Collections.unmodifiableList(listeners);
+	}
+
+	/**
+	 * Description:<br>
+	 * Hands an event to every listener that has a method for it. Called by
+	 * JDA on the thread that reads from Discord, so nothing here waits.
+	 *
+	 * @param event		the event that JDA received
+	 * @since			1.1.0
+	 */
+	@Override
+	public void handle(GenericEvent event) {
+		for (Registration registration : registrations)
+		{
+			if (!registration.receives(event))
+				continue;
+
+			if (registration.lanes == null)
+			{
+				run(registration, event);
+				continue;
+			}
+
+			long guildId = (event instanceof GenericGuildEvent) ? ((GenericGuildEvent) event).getGuild().getIdLong() : NO_GUILD;
+
+			if (!registration.lanes.submitOverflowing(guildId, () -> run(registration, event)))
+				continue;
+
+			registration.metrics.overflowed.increment();
+
+			// Reported less and less often, so a flood of events doesn't flood the console as well
+			long overflowed = registration.metrics.overflowed.sum();
+
+			if (Long.bitCount(overflowed) == 1)
+				report(registration.name + " has had " + overflowed + " events added to a full lane, since too many were waiting");
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Runs a listener on an event, recording how long it took and whether
+	 * it failed. A failure is reported once, on a single line along with
+	 * where it was thrown. Errors of the VM itself, such as running out of
+	 * memory, are passed on instead.
+	 *
+	 * @param registration	the listener
+	 * @param event			the event
+	 * @since				1.1.0
+	 */
+	private static void run(Registration registration, GenericEvent event) {
+		long start = System.nanoTime();
+
+		try {
+			registration.listener.onEvent(event);
+		} catch (VirtualMachineError e) {
+			// Running out of memory or stack isn't the listener's fault, and nothing should carry on as if it were
+			throw e;
+		} catch (Throwable t) {
+			StackTraceElement [] trace = t.getStackTrace();
+
+			registration.metrics.failed.increment();
+			report(registration.name + " failed on a " + event.getClass().getSimpleName() + ": " + t
+					+ ((trace.length == 0) ? "" : " at " + trace[0]));
+		}
+
+		long nanos = System.nanoTime() - start;
+
+		registration.metrics.latency.record(nanos);
+
+		if (nanos > SLOW_NANOS)
+		{
+			registration.metrics.slow.increment();
+			report(registration.name + " took " + (nanos / 1_000_000) + "ms on a " + event.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Finds the kinds of events a listener has a method for. A listener
+	 * that handles events itself, instead of through the methods of
+	 * <code>ListenerAdapter</code>, receives every event.
+	 *
+	 * @param listener	the listener
+	 * @return			<code>event-classes</code>, or <code>null</code> if the
+	 * 					listener receives every event
+	 * @since			1.1.0
+	 */
+	private static Class<?> [] findHandledEvents(EventListener listener) {
+		if (!(listener instanceof ListenerAdapter))
+			return null;
+
+		List<Class<?>> handles = new ArrayList<>();
+
+		for (Class<?> type = listener.getClass(); type != ListenerAdapter.class; type = type.getSuperclass())
+		{
+			for (Method method : type.getDeclaredMethods())
+			{
+				if (method.isSynthetic() || method.getParameterCount() != 1)
+					continue;
+
+				Class<?> parameter = method.getParameterTypes()[0];
+
+				if (!GenericEvent.class.isAssignableFrom(parameter))
+					continue;
+
+				if (method.getName().equals("onEvent"))
+					return null;
+
+				if (method.getName().startsWith("on"))
+					handles.add(parameter);
+			}
+		}
+
+		return handles.toArray(new Class<?> [handles.size()]);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a summary of the metrics of every listener: the latency
+	 * percentiles, and how many events it failed on, took long on, or
+	 * added to a full lane.
+	 *
+	 * @return	<code>event-metrics</code>
+	 * @since	1.1.0
+	 */
+	public static String getMetrics() {
+		StringBuilder sb = new StringBuilder();
+
+		for (Map.Entry<String, ListenerMetrics> entry : metrics.entrySet())
+		{
+			ListenerMetrics listener = entry.getValue();
+
+			if (sb.length() > 0)
+				sb.append("\n");
+
+			sb.append(entry.getKey() + ": " + listener.latency.getSummary()
+					+ " failed=" + listener.failed.sum()
+					+ " slow=" + listener.slow.sum()
+					+ " overflowed=" + listener.overflowed.sum());
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the number of events that a listener failed on, across
+	 * every listener.
+	 *
+	 * @return	<code>failed-events</code>
+	 * @since	1.1.0
+	 */
+	public static long getFailed() {
+		long failed = 0;
+
+		for (ListenerMetrics listener : metrics.values())
+		{
+			failed += listener.failed.sum();
+		}
+
+		return failed;
+	}
+
+	/**
+	 * Description:<br>
+	 * Prints a problem with a listener in the console.
+	 *
+	 * @param message	the problem to report
+	 * @since			1.1.0
+	 */
+	private static void report(String message) {
+		System.out.println("EVENTS: " + message);
+	}
+}
@@ -1,22 +1,31 @@
 package events.util;
 
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumSet;
 
 import events.JoinedNewGuild;
 import events.LeftGuild;
 import events.MemberJoinedGuild;
 import events.MemberLeftGuild;
-import gui.GuiMain;
+import events.MemberRenamed;
 import mainBot.Bot;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.utils.cache.CacheFlag;
 
 /**
  * Description:<br>
  * Abstract class that all events are an extension of.
  * Contains all descriptor methods used in describing every event.
- * Adds all the events to the JDA's event listener through the init
- * method.
+ * Creates all the events through the init method, and adds them to the
+ * JDA's event listener through the addListeners method. The
+ * <code>EventDispatcher</code> runs each event in its own lane for each
+ * guild, so a guild's events run in order without holding up JDA's event
+ * thread. Since events from different guilds can then run at the same 
+ * time, each event keeps the details of what happened in local variables 
+ * rather than in fields, so its handler methods need no lock.
  * Any "helper" methods related to events are contained here as well, such as the 
  * getTimestamp method, the devMessage method, etc.
  * <p>
@@ -28,6 +37,8 @@ import net.dv8tion.jda.api.hooks.ListenerAdapter;
  */
 public abstract class EventObject extends ListenerAdapter{
 	
+	public static ArrayList<EventObject> events;
+	
 	/**
 	 * Description:<br>
 	 * Abstract method that returns the name of the event class.
@@ -40,25 +51,59 @@ public abstract class EventObject extends ListenerAdapter{
 	
 	/**
 	 * Description:<br>
-	 * Abstract method that returns the action taken from the
-	 * event.
+	 * Retrieves the gateway intents the event needs, so the bot only
+	 * subscribes to what its events use. Events need no extra intents
+	 * unless they override this method.
 	 * 
-	 * @return	<code>event-action</code>
-	 * @since	1.0.0
+	 * @return	<code>gateway-intents</code>
+	 * @since	1.1.0
 	 */
-	public abstract String getAction();
+	public EnumSet<GatewayIntent> getIntents() {
+		return EnumSet.noneOf(GatewayIntent.class);
+	}
 	
 	/**
 	 * Description:<br>
-	 * Adds all the events to the JDA's event listener.
+	 * Retrieves the cache flags the event needs. Events need no cache
+	 * flags unless they override this method.
+	 * 
+	 * @return	<code>cache-flags</code>
+	 * @since	1.1.0
+	 */
+	public EnumSet<CacheFlag> getCacheFlags() {
+		return EnumSet.noneOf(CacheFlag.class);
+	}
+	
+	/**
+	 * Description:<br>
+	 * NEW EVENTS ARE ADDED HERE
+	 * 
+	 * Adds all the events to the static "events" array. This is done before
+	 * the bot logs in, so the intents the events need are known.
 	 * 
 	 * @since	1.0.0
 	 */
 	public static void init() {
-		Bot.jda.addEventListener(new JoinedNewGuild());
-		Bot.jda.addEventListener(new LeftGuild());
-		Bot.jda.addEventListener(new MemberJoinedGuild());
-		Bot.jda.addEventListener(new MemberLeftGuild());
+		events = new ArrayList<>();
+		
+		events.add(new JoinedNewGuild());
+		events.add(new LeftGuild());
+		events.add(new MemberJoinedGuild());
+		events.add(new MemberLeftGuild());
+		events.add(new MemberRenamed());
+	}
+	
+	/**
+	 * Description:<br>
+	 * Adds all the events to the JDA's event listener.
+	 * 
+	 * @since	1.1.0
+	 */
+	public static void addListeners() {
+		for (EventObject event : events)
+		{
+			Bot.shards.addEventListener(event);
+		}
 	}
 	
 	/**
@@ -85,7 +130,9 @@ public abstract class EventObject extends ListenerAdapter{
 	 * @since			1.0.0
 	 */
 	public void devMessage(String name, String action, Guild guild) {
-		System.out.println("EVENT: " + getTimestamp() + " " + guild.getName() + ": executed " + name + ": " + action + ";");
-		GuiMain.frameObject.devPanel.textArea.append("\nEVENT: " + getTimestamp() + " " + guild.getName() + ": executed " + name + ": " + action + ";");
+		String message = "EVENT: " + getTimestamp() + " " + guild.getName() + ": executed " + name + ": " + action + ";";
+		
+		System.out.println(message);
+		Bot.observer.devMessage(message);
 	}
 }
@@ -16,6 +16,7 @@ import commands.Ban;
 import commands.Kick;
 import commands.Silence;
 import commands.Unban;
+import commands.util.CommandArgs;
 import mainBot.Bot;
 import mainBot.Config;
 import net.dv8tion.jda.api.entities.Guild;
@@ -67,7 +68,7 @@ public class GuiFrame extends JFrame implements ActionListener, ListSelectionLis
 	 */
 	public GuiFrame() {
 		
-		setTitle(Config.get("BOT_NAME"));
+		setTitle(Config.current().botName);
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		setVisible(true);
 
@@ -167,7 +168,7 @@ public class GuiFrame extends JFrame implements ActionListener, ListSelectionLis
 		
 		int guildIndex = guildPanel.guildList.getSelectedIndex();
 		
-		Guild guild = Bot.jda.getGuilds().get(guildIndex);
+		Guild guild = Bot.getGuilds().get(guildIndex);
 		ArrayList<String> memberList = new ArrayList<>();
 		
 		// The text channel used to display 
@@ -184,14 +185,14 @@ public class GuiFrame extends JFrame implements ActionListener, ListSelectionLis
 				return;
 			}
 			
-			String builtUserName = buildUserName(memberPanel.memberListArray.get(guildIndex).getSelectedValue());
-			memberList.add("<@!" + guild.getMembersByEffectiveName(builtUserName, true).get(0).getId() + ">");
+			// The member is found by ID, since two members can have the same name
+			memberList.add("<@!" + memberPanel.getSelectedMemberId(guildIndex) + ">");
 			
-			String [] member = memberList.toArray(new String [memberList.size()]);
+			CommandArgs member = CommandArgs.of(memberList.toArray(new String [memberList.size()]));
 			Ban ban = new Ban();
 			
-			ban.execute(guild, guild.getSelfMember(), channel, member);
-			ban.devMessage(ban.getName(), ban.extraDetails(), guild, Config.get("BOT_NAME"));
+			ban.execute(guild, guild.getSelfMember(), channel, member)
+				.thenAccept(result -> ban.devMessage(ban.getName(), result.getDetails(), guild, Config.current().botName));
 			
 		}
 		
@@ -207,14 +208,16 @@ public class GuiFrame extends JFrame implements ActionListener, ListSelectionLis
 			}
 			
 			String builtUserName = buildUserName(memberPanel.bannedMemberListArray.get(guildIndex).getSelectedValue());
-			memberList.add(" " + builtUserName.substring(0, 21));
 			
-			String [] member = memberList.toArray(new String [memberList.size()]);
+			// The entry starts with the user's mention, however long their ID is
+			memberList.add(builtUserName.substring(0, builtUserName.indexOf('>') + 1));
+			
+			CommandArgs member = CommandArgs.of(memberList.toArray(new String [memberList.size()]));
 			
 			Unban unban = new Unban();
 			
-			unban.execute(guild, guild.getSelfMember(), channel, member);
-			unban.devMessage(unban.getName(), unban.extraDetails(), guild, Config.get("BOT_NAME"));
+			unban.execute(guild, guild.getSelfMember(), channel, member)
+				.thenAccept(result -> unban.devMessage(unban.getName(), result.getDetails(), guild, Config.current().botName));
 		}
 		
 		else if (e.getSource() == adminPanel.kickButton) 
@@ -228,14 +231,14 @@ public class GuiFrame extends JFrame implements ActionListener, ListSelectionLis
 				return;
 			}
 			
-			String builtUserName = buildUserName(memberPanel.memberListArray.get(guildIndex).getSelectedValue());
-			memberList.add("<@!" + guild.getMembersByEffectiveName(builtUserName, true).get(0).getId() + ">");
+			// The member is found by ID, since two members can have the same name
+			memberList.add("<@!" + memberPanel.getSelectedMemberId(guildIndex) + ">");
 			
-			String [] member = memberList.toArray(new String [memberList.size()]);
+			CommandArgs member = CommandArgs.of(memberList.toArray(new String [memberList.size()]));
 			Kick kick = new Kick();
 			
-			kick.execute(guild, guild.getSelfMember(), channel, member);
-			kick.devMessage(kick.getName(), kick.extraDetails(), guild, Config.get("BOT_NAME"));
+			kick.execute(guild, guild.getSelfMember(), channel, member)
+				.thenAccept(result -> kick.devMessage(kick.getName(), result.getDetails(), guild, Config.current().botName));
 		}
 		
 		else if (e.getSource() == adminPanel.silenceButton) 
@@ -249,14 +252,14 @@ public class GuiFrame extends JFrame implements ActionListener, ListSelectionLis
 				return;
 			}
 			
-			String builtUserName = buildUserName(memberPanel.memberListArray.get(guildIndex).getSelectedValue());
-			memberList.add("<@!" + guild.getMembersByEffectiveName(builtUserName, true).get(0).getId() + ">");
+			// The member is found by ID, since two members can have the same name
+			memberList.add("<@!" + memberPanel.getSelectedMemberId(guildIndex) + ">");
 			
-			String [] member = memberList.toArray(new String [memberList.size()]);
+			CommandArgs member = CommandArgs.of(memberList.toArray(new String [memberList.size()]));
 			Silence silence = new Silence();
 			
-			silence.execute(guild, guild.getSelfMember(), channel, member);
-			silence.devMessage(silence.getName(), silence.extraDetails(), guild, Config.get("BOT_NAME"));
+			silence.execute(guild, guild.getSelfMember(), channel, member)
+				.thenAccept(result -> silence.devMessage(silence.getName(), result.getDetails(), guild, Config.current().botName));
 		}
 	}
 
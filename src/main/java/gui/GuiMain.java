@@ -1,5 +1,7 @@
 package gui;
 
+import mainBot.Bot;
+
 /**
  * Description:<br>
  * The "main" class responsible for initializing the GUI.
@@ -22,5 +24,12 @@ public class GuiMain {
 		 *  the data displayed.
 		 */
 		frameObject = new GuiFrame();
+		
+		// Changes made by commands and events now reach the GUI
+		GuiObserver observer = new GuiObserver(frameObject);
+		Bot.observer = observer;
+		
+		// The ban lists are filled in as Discord sends them
+		observer.loadBanLists();
 	}
 }
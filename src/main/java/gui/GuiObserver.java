@@ -0,0 +1,123 @@
+package gui;
+
+import mainBot.BotObserver;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+
+/**
+ * Description:<br>
+ * The GuiObserver class passes the bot's changes on to the GUI. It is
+ * registered as <code>Bot.observer</code> once the GUI is up. Its methods
+ * are called from JDA's threads, so they never touch Swing themselves;
+ * each change is handed to <code>GuiUpdates</code>, which applies it on
+ * the Swing thread together with any other change made in the same frame.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class GuiObserver implements BotObserver {
+
+	private final GuiUpdates updates;
+
+	/**
+	 * Description:<br>
+	 * Constructor for the class.
+	 *
+	 * @param frame		the GUI to apply the changes to
+	 * @since			1.1.0
+	 */
+	public GuiObserver(GuiFrame frame) {
+		this.updates = new GuiUpdates(frame);
+	}
+
+	/**
+	 * Description:<br>
+	 * Shows the ban list of every guild, once it is kept.
+	 *
+	 * @since	1.1.0
+	 */
+	public void loadBanLists() {
+		updates.loadBanLists();
+	}
+
+	/**
+	 * Description:<br>
+	 * Adds a dev message to the dev panel.
+	 *
+	 * @param message	the dev message
+	 * @since			1.1.0
+	 */
+	public void devMessage(String message) {
+		updates.devMessage(message);
+	}
+
+	/**
+	 * Description:<br>
+	 * Rebuilds the guild and member panels after the bot joined or left a
+	 * guild.
+	 *
+	 * @since	1.1.0
+	 */
+	public void guildsChanged() {
+		updates.guildsChanged();
+	}
+
+	/**
+	 * Description:<br>
+	 * Adds a member that joined to the guild's member list.
+	 *
+	 * @param member	the member that joined
+	 * @since			1.1.0
+	 */
+	public void memberJoined(Member member) {
+		updates.memberChanged(member.getGuild().getIdLong(), member.getIdLong(), member.getEffectiveName());
+	}
+
+	/**
+	 * Description:<br>
+	 * Removes a member that left from the guild's member list.
+	 *
+	 * @param guild		the guild the member left
+	 * @param userId	ID of the user that left
+	 * @since			1.1.0
+	 */
+	public void memberLeft(Guild guild, long userId) {
+		updates.memberLeft(guild.getIdLong(), userId);
+	}
+
+	/**
+	 * Description:<br>
+	 * Moves a renamed member to their new place in the guild's member list.
+	 *
+	 * @param member	the member with the new name
+	 * @since			1.1.0
+	 */
+	public void memberRenamed(Member member) {
+		updates.memberChanged(member.getGuild().getIdLong(), member.getIdLong(), member.getEffectiveName());
+	}
+
+	/**
+	 * Description:<br>
+	 * Replaces the banned member list of a guild with its current ban list.
+	 *
+	 * @param guild		the guild whose ban list changed
+	 * @since			1.1.0
+	 */
+	public void bansChanged(Guild guild) {
+		updates.bansChanged(guild.getIdLong());
+	}
+
+	/**
+	 * Description:<br>
+	 * The banned member lists are shown in the member panel.
+	 *
+	 * @return	<code>true</code>
+	 * @since	1.1.0
+	 */
+	public boolean isShowingBans() {
+		return true;
+	}
+}
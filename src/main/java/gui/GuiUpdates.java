@@ -0,0 +1,349 @@
+package gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import commands.util.BanCache;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import mainBot.Bot;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.User;
+
+/**
+ * Description:<br>
+ * The GuiUpdates class collects the changes that commands and events
+ * make to the GUI, and applies them on the Swing thread, which is the
+ * only thread allowed to touch Swing. Changes can come from any thread,
+ * and only mark what needs to be updated: the dev messages to add, the
+ * guild list to rebuild, and for each guild the members that joined,
+ * left or were renamed, and whether its ban list changed.
+ * <br>
+ * Everything that was marked is applied together, at most once per frame,
+ * so a burst of a thousand joins is drawn once instead of a thousand
+ * times. A ban list that changes several times within a frame is only
+ * copied from the <code>BanCache</code> once, in its latest state.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class GuiUpdates {
+
+	// Shortest time between two updates, about one frame at 60 frames per second
+	private static final long FRAME_NS = TimeUnit.MILLISECONDS.toNanos(16);
+
+	// Waits out the rest of the frame before an update is handed to the Swing thread
+	private static final ScheduledExecutorService pacer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "gui-updates");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Description:<br>
+	 * A change to a single member of a guild's member list.
+	 *
+	 * @since	1.1.0
+	 */
+	private static final class MemberChange {
+		final boolean left;
+		final long memberId;
+		final String name;
+
+		MemberChange(boolean left, long memberId, String name) {
+			this.left = left;
+			this.memberId = memberId;
+			this.name = name;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Everything waiting to be updated for a single guild.
+	 *
+	 * @since	1.1.0
+	 */
+	private static final class GuildUpdate {
+		final List<MemberChange> members = new ArrayList<>();
+		boolean bansChanged;
+	}
+
+	private final GuiFrame frame;
+
+	// Guards everything below
+	private final Object lock = new Object();
+
+	private final StringBuilder devMessages = new StringBuilder();
+	private boolean guildsChanged;
+
+	// Guild ID to what is waiting for that guild
+	private TLongObjectHashMap<GuildUpdate> guilds = new TLongObjectHashMap<>();
+
+	private boolean flushScheduled;
+	private long lastFlush;
+
+	/**
+	 * Description:<br>
+	 * Constructor for the class.
+	 *
+	 * @param frame		the GUI to apply the changes to
+	 * @since			1.1.0
+	 */
+	public GuiUpdates(GuiFrame frame) {
+		this.frame = frame;
+		this.lastFlush = System.nanoTime() - FRAME_NS;
+	}
+
+	/**
+	 * Description:<br>
+	 * Marks a dev message to be added to the dev panel.
+	 *
+	 * @param message	the dev message
+	 * @since			1.1.0
+	 */
+	public void devMessage(String message) {
+		synchronized (lock)
+		{
+			devMessages.append('\n').append(message);
+			schedule();
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Marks the guild and member panels to be rebuilt, after the bot
+	 * joined or left a guild.
+	 *
+	 * @since	1.1.0
+	 */
+	public void guildsChanged() {
+		synchronized (lock)
+		{
+			guildsChanged = true;
+			schedule();
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Marks a member to be added to, or renamed in, a guild's member list.
+	 *
+	 * @param guildId	ID of the guild
+	 * @param memberId	ID of the member
+	 * @param name		the member's name in the guild
+	 * @since			1.1.0
+	 */
+	public void memberChanged(long guildId, long memberId, String name) {
+		synchronized (lock)
+		{
+			getUpdate(guildId).members.add(new MemberChange(false, memberId, name));
+			schedule();
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Marks a member to be removed from a guild's member list.
+	 *
+	 * @param guildId	ID of the guild
+	 * @param memberId	ID of the member
+	 * @since			1.1.0
+	 */
+	public void memberLeft(long guildId, long memberId) {
+		synchronized (lock)
+		{
+			getUpdate(guildId).members.add(new MemberChange(true, memberId, null));
+			schedule();
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Marks a guild's ban list to be shown again from the
+	 * <code>BanCache</code>.
+	 *
+	 * @param guildId	ID of the guild
+	 * @since			1.1.0
+	 */
+	public void bansChanged(long guildId) {
+		synchronized (lock)
+		{
+			getUpdate(guildId).bansChanged = true;
+			schedule();
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Shows the ban list of every guild. A ban list the
+	 * <code>BanCache</code> doesn't keep yet is shown once it arrives, so
+	 * the GUI is never held up waiting on one.
+	 *
+	 * @since	1.1.0
+	 */
+	public void loadBanLists() {
+		for (Guild guild : Bot.getGuilds())
+		{
+			long guildId = guild.getIdLong();
+
+			BanCache.retrieveBannedUsers(guild).thenRun(() -> bansChanged(guildId));
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves what is waiting for a guild, creating it if nothing is.
+	 * Must be called while holding the lock.
+	 *
+	 * @param guildId	ID of the guild
+	 * @return			<code>guild-update</code>
+	 * @since			1.1.0
+	 */
+	private GuildUpdate getUpdate(long guildId) {
+		GuildUpdate update = guilds.get(guildId);
+
+		if (update == null)
+		{
+			update = new GuildUpdate();
+			guilds.put(guildId, update);
+		}
+
+		return update;
+	}
+
+	/**
+	 * Description:<br>
+	 * Makes sure the changes are applied, waiting out the rest of the frame
+	 * if the GUI was updated moments ago. Must be called while holding the
+	 * lock.
+	 *
+	 * @since	1.1.0
+	 */
+	private void schedule() {
+		if (flushScheduled)
+			return;
+
+		flushScheduled = true;
+
+		long wait = lastFlush + FRAME_NS - System.nanoTime();
+
+		if (wait <= 0)
+			SwingUtilities.invokeLater(this::flush);
+		else
+			pacer.schedule(() -> SwingUtilities.invokeLater(this::flush), wait, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Description:<br>
+	 * Applies every change that was marked since the last update. Runs on
+	 * the Swing thread.
+	 *
+	 * @since	1.1.0
+	 */
+	private void flush() {
+		String messages;
+		boolean rebuild;
+		TLongObjectHashMap<GuildUpdate> updates;
+
+		synchronized (lock)
+		{
+			flushScheduled = false;
+			lastFlush = System.nanoTime();
+
+			messages = devMessages.toString();
+			devMessages.setLength(0);
+
+			rebuild = guildsChanged;
+			guildsChanged = false;
+
+			updates = guilds;
+			guilds = new TLongObjectHashMap<>();
+		}
+
+		if (!messages.isEmpty())
+			frame.devPanel.textArea.append(messages);
+
+		if (rebuild)
+		{
+			frame.guildPanel.refreshPane();
+			frame.memberPanel.refreshPane();
+
+			// Applies the edits
+			frame.revalidate();
+
+			// Ensures the actionlisteners are still working
+			frame.restartListeners();
+
+			loadBanLists();
+		}
+
+		// A rebuilt list already has these changes, and applying them again changes nothing
+		updates.forEachEntry((guildId, update) -> {
+			apply(guildId, update);
+			return true;
+		});
+	}
+
+	/**
+	 * Description:<br>
+	 * Applies the changes of a single guild.
+	 *
+	 * @param guildId	ID of the guild
+	 * @param update	the changes
+	 * @since			1.1.0
+	 */
+	private void apply(long guildId, GuildUpdate update) {
+		MemberListModel model = getMemberModel(guildId);
+
+		if (model != null)
+		{
+			for (MemberChange change : update.members)
+			{
+				if (change.left)
+					model.remove(change.memberId);
+				else
+					model.add(change.memberId, change.name);
+			}
+		}
+
+		if (!update.bansChanged)
+			return;
+
+		List<User> bannedUsers = BanCache.getBannedUsers(guildId);
+
+		if (bannedUsers == null)
+			return;
+
+		String [] entries = new String [bannedUsers.size()];
+
+		for (int k = 0; k < entries.length; k++)
+		{
+			// Inputs a banned user's name and ID into the array
+			entries[k] = (k+1) + ") " + bannedUsers.get(k).getAsMention() + " " + bannedUsers.get(k).getName();
+		}
+
+		frame.memberPanel.setBanList(guildId, entries);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the member list of a guild from the member panel. Runs on
+	 * the Swing thread. The GuiUpdates benchmark hands out lists of its
+	 * own here, so it runs without a frame.
+	 *
+	 * @param guildId	ID of the guild
+	 * @return			<code>member-list</code>, or <code>null</code> if the
+	 * 					guild isn't shown
+	 * @since			1.1.0
+	 */
+	MemberListModel getMemberModel(long guildId) {
+		return frame.memberPanel.getMemberModel(guildId);
+	}
+}
@@ -51,7 +51,7 @@ public class GuildPanel extends JPanel{
     
 		ArrayList<String> list = new ArrayList<>();
 		
-		List<Guild> guilds = Bot.jda.getGuilds();
+		List<Guild> guilds = Bot.getGuilds();
 		
 		for (int i = 0; i < guilds.size(); i++)
 		{
@@ -92,7 +92,7 @@ public class GuildPanel extends JPanel{
 	    
 		ArrayList<String> list = new ArrayList<>();
 		
-		List<Guild> guilds = Bot.jda.getGuilds();
+		List<Guild> guilds = Bot.getGuilds();
 		
 		for (int i = 0; i < guilds.size(); i++)
 		{
@@ -0,0 +1,434 @@
+package gui;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.swing.AbstractListModel;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.api.entities.Member;
+
+/**
+ * Description:<br>
+ * The MemberListModel class holds the member list of a single guild, as
+ * shown in the member panel. The members are kept sorted by name, and the
+ * list is changed one member at a time as members join, leave or change
+ * their nickname, so the list and its scroll pane are never rebuilt.
+ * Each change tells the list exactly which entry changed, so only that
+ * part of the list is redrawn.
+ * <br>
+ * The members are kept in a balanced tree that also counts the members
+ * under each branch, so finding where a member goes, and which member is
+ * shown on a given row, both take O(log n) steps, even for guilds with a
+ * hundred thousand members. The entry numbers are worked out when a row
+ * is drawn, so one join doesn't renumber the whole list.
+ * <br>
+ * Like every Swing model, it must only be used on the Swing thread.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class MemberListModel extends AbstractListModel<String> {
+
+	// Gets rid of missing serialVersionUID warnings
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Description:<br>
+	 * A single member in the tree. The tree is ordered by name, and is kept
+	 * balanced by the random priority, which is higher than the priority of
+	 * either branch.
+	 *
+	 * @since	1.1.0
+	 */
+	private static final class Entry {
+		final long id;
+		final String name;
+		final String sortName;
+		final int priority = ThreadLocalRandom.current().nextInt();
+
+		Entry left, right;
+
+		// Number of members in this branch, this one included
+		int size = 1;
+
+		Entry(long id, String name) {
+			this.id = id;
+			this.name = name;
+			this.sortName = name.toLowerCase(Locale.ROOT);
+		}
+	}
+
+	private Entry root;
+
+	// Member ID to entry, so a member that left can be found without its name
+	private final TLongObjectHashMap<Entry> entries = new TLongObjectHashMap<>();
+
+	/**
+	 * Description:<br>
+	 * Constructor for the class, which fills the list with the members the
+	 * bot has cached for the guild.
+	 *
+	 * @param members	the guild's members
+	 * @since			1.1.0
+	 */
+	public MemberListModel(List<Member> members) {
+		for (Member member : members)
+		{
+			Entry entry = new Entry(member.getIdLong(), member.getEffectiveName());
+
+			if (entries.put(entry.id, entry) == null)
+				root = insert(root, entry);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the number of members in the list.
+	 *
+	 * @return	<code>size</code>
+	 * @since	1.1.0
+	 */
+	@Override
+	public int getSize() {
+		return size(root);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the text of a row, which is the entry number followed by
+	 * the member's name.
+	 *
+	 * @param index		the row
+	 * @return			<code>"&lt;number&gt;) &lt;name&gt;"</code>
+	 * @since			1.1.0
+	 */
+	@Override
+	public String getElementAt(int index) {
+		return (index + 1) + ") " + select(index).name;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the ID of the member shown on a row.
+	 *
+	 * @param index		the row
+	 * @return			<code>member-ID</code>
+	 * @since			1.1.0
+	 */
+	public long getMemberId(int index) {
+		return select(index).id;
+	}
+
+	/**
+	 * Description:<br>
+	 * Adds a member that joined the guild. A member that is already in the
+	 * list is renamed instead.
+	 *
+	 * @param memberId	ID of the member
+	 * @param name		the member's name in the guild
+	 * @since			1.1.0
+	 */
+	public void add(long memberId, String name) {
+		if (entries.containsKey(memberId))
+		{
+			rename(memberId, name);
+			return;
+		}
+
+		Entry entry = new Entry(memberId, name);
+
+		entries.put(memberId, entry);
+		root = insert(root, entry);
+
+		int index = rank(entry);
+		fireIntervalAdded(this, index, index);
+	}
+
+	/**
+	 * Description:<br>
+	 * Removes a member that left the guild.
+	 *
+	 * @param memberId	ID of the member
+	 * @since			1.1.0
+	 */
+	public void remove(long memberId) {
+		Entry entry = entries.remove(memberId);
+
+		if (entry == null)
+			return;
+
+		int index = rank(entry);
+		root = delete(root, entry);
+
+		fireIntervalRemoved(this, index, index);
+	}
+
+	/**
+	 * Description:<br>
+	 * Changes the name of a member, moving the member to their new place in
+	 * the list. A member that isn't in the list yet is added.
+	 *
+	 * @param memberId	ID of the member
+	 * @param name		the member's new name in the guild
+	 * @since			1.1.0
+	 */
+	public void rename(long memberId, String name) {
+		Entry previous = entries.get(memberId);
+
+		if (previous == null)
+		{
+			add(memberId, name);
+			return;
+		}
+
+		if (previous.name.equals(name))
+			return;
+
+		int oldIndex = rank(previous);
+		root = delete(root, previous);
+
+		Entry entry = new Entry(memberId, name);
+
+		entries.put(memberId, entry);
+		root = insert(root, entry);
+
+		int newIndex = rank(entry);
+
+		if (newIndex == oldIndex)
+		{
+			fireContentsChanged(this, newIndex, newIndex);
+			return;
+		}
+
+		fireIntervalRemoved(this, oldIndex, oldIndex);
+		fireIntervalAdded(this, newIndex, newIndex);
+	}
+
+	/**
+	 * Description:<br>
+	 * Orders two entries by name, ignoring case, and then by ID so two
+	 * members with the same name still have a fixed order.
+	 *
+	 * @param a		the first entry
+	 * @param b		the second entry
+	 * @return		<code>negative</code> if <code>a</code> comes first,
+	 * 				<code>positive</code> if <code>b</code> comes first,
+	 * 				or <code>0</code> if they are the same entry
+	 * @since		1.1.0
+	 */
+	private static int compare(Entry a, Entry b) {
+		int order = a.sortName.compareTo(b.sortName);
+
+		if (order == 0)
+			order = a.name.compareTo(b.name);
+
+		return (order != 0) ? order : Long.compare(a.id, b.id);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the number of members in a branch.
+	 *
+	 * @param node	the branch, or <code>null</code>
+	 * @return		<code>size</code>
+	 * @since		1.1.0
+	 */
+	private static int size(Entry node) {
+		return (node == null) ? 0 : node.size;
+	}
+
+	/**
+	 * Description:<br>
+	 * Counts the members of a branch again after it changed.
+	 *
+	 * @param node	the branch
+	 * @return		<code>node</code>
+	 * @since		1.1.0
+	 */
+	private static Entry update(Entry node) {
+		node.size = size(node.left) + size(node.right) + 1;
+		return node;
+	}
+
+	/**
+	 * Description:<br>
+	 * Splits a branch into the entries that come before an entry, and the
+	 * rest.
+	 *
+	 * @param node		the branch
+	 * @param entry		the entry to split at
+	 * @param parts		filled with the entries before, and the rest
+	 * @since			1.1.0
+	 */
+	private static void split(Entry node, Entry entry, Entry [] parts) {
+		if (node == null)
+		{
+			parts[0] = null;
+			parts[1] = null;
+			return;
+		}
+
+		if (compare(node, entry) < 0)
+		{
+			split(node.right, entry, parts);
+			node.right = parts[0];
+			parts[0] = update(node);
+		}
+		else
+		{
+			split(node.left, entry, parts);
+			node.left = parts[1];
+			parts[1] = update(node);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Joins two branches, where every entry of the first comes before every
+	 * entry of the second.
+	 *
+	 * @param before	the first branch
+	 * @param after		the second branch
+	 * @return			<code>joined-branch</code>
+	 * @since			1.1.0
+	 */
+	private static Entry merge(Entry before, Entry after) {
+		if (before == null)
+			return after;
+
+		if (after == null)
+			return before;
+
+		if (before.priority > after.priority)
+		{
+			before.right = merge(before.right, after);
+			return update(before);
+		}
+
+		after.left = merge(before, after.left);
+		return update(after);
+	}
+
+	/**
+	 * Description:<br>
+	 * Adds an entry to a branch.
+	 *
+	 * @param node		the branch
+	 * @param entry		the entry to add
+	 * @return			<code>branch</code> with the entry
+	 * @since			1.1.0
+	 */
+	private static Entry insert(Entry node, Entry entry) {
+		if (node == null)
+			return entry;
+
+		if (entry.priority > node.priority)
+		{
+			Entry [] parts = new Entry [2];
+			split(node, entry, parts);
+
+			entry.left = parts[0];
+			entry.right = parts[1];
+			return update(entry);
+		}
+
+		if (compare(entry, node) < 0)
+			node.left = insert(node.left, entry);
+		else
+			node.right = insert(node.right, entry);
+
+		return update(node);
+	}
+
+	/**
+	 * Description:<br>
+	 * Removes an entry from a branch.
+	 *
+	 * @param node		the branch
+	 * @param entry		the entry to remove
+	 * @return			<code>branch</code> without the entry
+	 * @since			1.1.0
+	 */
+	private static Entry delete(Entry node, Entry entry) {
+		if (node == null)
+			return null;
+
+		if (node == entry)
+			return merge(node.left, node.right);
+
+		if (compare(entry, node) < 0)
+			node.left = delete(node.left, entry);
+		else
+			node.right = delete(node.right, entry);
+
+		return update(node);
+	}
+
+	/**
+	 * Description:<br>
+	 * Finds the row an entry is shown on.
+	 *
+	 * @param entry		an entry in the list
+	 * @return			<code>index</code>
+	 * @since			1.1.0
+	 */
+	private int rank(Entry entry) {
+		int index = 0;
+		Entry node = root;
+
+		while (node != entry)
+		{
+			if (compare(entry, node) < 0)
+			{
+				node = node.left;
+			}
+			else
+			{
+				index += size(node.left) + 1;
+				node = node.right;
+			}
+		}
+
+		return index + size(node.left);
+	}
+
+	/**
+	 * Description:<br>
+	 * Finds the entry shown on a row.
+	 *
+	 * @param index		the row
+	 * @return			<code>entry</code>
+	 * @throws	IndexOutOfBoundsException	if there is no such row
+	 * @since	1.1.0
+	 */
+	private Entry select(int index) {
+		if (index < 0 || index >= size(root))
+			throw new IndexOutOfBoundsException("no member at row " + index);
+
+		Entry node = root;
+
+		while (true)
+		{
+			int left = size(node.left);
+
+			if (index < left)
+			{
+				node = node.left;
+			}
+			else if (index == left)
+			{
+				return node;
+			}
+			else
+			{
+				index -= left + 1;
+				node = node.right;
+			}
+		}
+	}
+}
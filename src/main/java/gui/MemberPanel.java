@@ -11,9 +11,9 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTabbedPane;
 
+import gnu.trove.map.hash.TLongObjectHashMap;
 import mainBot.Bot;
-import net.dv8tion.jda.api.entities.Guild.Ban;
-import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Guild;
 
 /**
  * Description:<br>
@@ -39,6 +39,10 @@ public class MemberPanel extends JPanel {
 	public JScrollPane scrollPane, bannedScrollPane;
 	public JTabbedPane tabbedPane;
 	public int guildListSize;
+	
+	// Guild ID to the guild's lists, so a change can be applied without looking the guild up
+	private final TLongObjectHashMap<MemberListModel> memberModels = new TLongObjectHashMap<>();
+	private final TLongObjectHashMap<JList<String>> bannedLists = new TLongObjectHashMap<>();
 
 	/**
 	 * Description:<br>
@@ -58,45 +62,13 @@ public class MemberPanel extends JPanel {
 		
 		this.guildListSize = guildListSize;
 		
-		// Used for the members of the guild
-		ArrayList<String> list = new ArrayList<String>();
-		List<Member> members;
-		memberListArray = new ArrayList<JList<String>>();
+		// The guilds are gathered from every shard, so they are only gathered once
+		List<Guild> guilds = Bot.getGuilds();
 
-		for (int i = 0; i < guildListSize; i++) {
-			
-			members = Bot.jda.getGuilds().get(i).getMembers();
-			
-			for (int j = 0; j < members.size(); j++)
-			{
-				list.add((j+1) + ") " + members.get(j).getEffectiveName());
-			}
+		buildMemberLists(guilds);
 
-			memberListArray.add(new JList<String>(list.toArray(new String[list.size()])));
-			list.clear();
-		}
-
-		// Used to store the banned members of a guild
-		ArrayList<String> list2 = new ArrayList<String>();
-		List<Ban> banList;
-		bannedMemberListArray = new ArrayList<JList<String>>();
-		
-		for (int j = 0; j < guildListSize; j++)
-		{
-			banList = Bot.jda.getGuilds().get(j).retrieveBanList().complete();
-			
-			if (!banList.isEmpty())
-			{
-				for (int k = 0; k < banList.size(); k++)
-				{
-					
-					list2.add((k+1) + ") " + banList.get(k).getUser().getAsMention() + " " + banList.get(j).getUser().getName());
-				}
-			}
-			
-			bannedMemberListArray.add(new JList<String>(list2.toArray(new String[list2.size()])));
-			list2.clear();
-		}
+		// The ban lists are filled in once Discord sends them
+		buildBanLists(guilds);
 		
 		scrollPane = new JScrollPane(memberListArray.get(0));
 		bannedScrollPane = new JScrollPane(bannedMemberListArray.get(0));
@@ -133,45 +105,13 @@ public class MemberPanel extends JPanel {
 		memberListArray.clear();
 		bannedMemberListArray.clear();
 		
-		// Used for the members of the guild
-		ArrayList<String> list = new ArrayList<String>();
-		List<Member> members;
-		memberListArray = new ArrayList<JList<String>>();
+		// The guilds are gathered from every shard, so they are only gathered once
+		List<Guild> guilds = Bot.getGuilds();
 
-		for (int i = 0; i < guildListSize; i++) {
-			
-			members = Bot.jda.getGuilds().get(i).getMembers();
-			
-			for (int j = 0; j < members.size(); j++)
-			{
-				list.add((j+1) + ") " + members.get(j).getEffectiveName());
-			}
-
-			memberListArray.add(new JList<String>(list.toArray(new String[list.size()])));
-			list.clear();
-		}
+		buildMemberLists(guilds);
 
-		// Used to store the banned members of a guild
-		ArrayList<String> list2 = new ArrayList<String>();
-		List<Ban> banList;
-		bannedMemberListArray = new ArrayList<JList<String>>();
-		
-		for (int j = 0; j < guildListSize; j++)
-		{
-			banList = Bot.jda.getGuilds().get(j).retrieveBanList().complete();
-			
-			if (!banList.isEmpty())
-			{
-				for (int k = 0; k < banList.size(); k++)
-				{
-					
-					list2.add((k+1) + ") " + banList.get(k).getUser().getAsMention() + " " + banList.get(k).getUser().getName());
-				}
-			}
-			
-			bannedMemberListArray.add(new JList<String>(list2.toArray(new String[list2.size()])));
-			list2.clear();
-		}
+		// The ban lists are filled in once Discord sends them
+		buildBanLists(guilds);
 		
 		scrollPane = new JScrollPane(memberListArray.get(0));
 		bannedScrollPane = new JScrollPane(bannedMemberListArray.get(0));
@@ -182,4 +122,91 @@ public class MemberPanel extends JPanel {
 		
 		add(tabbedPane, BorderLayout.CENTER);
 	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the member list of a guild, so members that join or leave
+	 * can be applied to it.
+	 * 
+	 * @param guildId	ID of the guild
+	 * @return			<code>member-list</code>, or <code>null</code> if the
+	 * 					guild isn't shown
+	 * @since			1.1.0
+	 */
+	public MemberListModel getMemberModel(long guildId) {
+		return memberModels.get(guildId);
+	}
+	
+	/**
+	 * Description:<br>
+	 * Replaces the banned member list of a guild. The list itself stays
+	 * the same, so it doesn't need to be added to the panel again.
+	 * 
+	 * @param guildId	ID of the guild
+	 * @param entries	the entries of the banned member list
+	 * @since			1.1.0
+	 */
+	public void setBanList(long guildId, String [] entries) {
+		JList<String> list = bannedLists.get(guildId);
+		
+		if (list != null)
+			list.setListData(entries);
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves the ID of the member selected in a guild's member list.
+	 * 
+	 * @param guildIndex	index of the guild in the guild list
+	 * @return				<code>member-ID</code>
+	 * @throws	IndexOutOfBoundsException	if no member is selected
+	 * @since	1.1.0
+	 */
+	public long getSelectedMemberId(int guildIndex) {
+		JList<String> list = memberListArray.get(guildIndex);
+		
+		return ((MemberListModel) list.getModel()).getMemberId(list.getSelectedIndex());
+	}
+	
+	/**
+	 * Description:<br>
+	 * Creates the member list of every guild. Each list is created once,
+	 * and members that join or leave are then applied to it.
+	 * 
+	 * @param guilds	the guilds, in the order of the guild list
+	 * @since			1.1.0
+	 */
+	private void buildMemberLists(List<Guild> guilds) {
+		memberListArray = new ArrayList<JList<String>>();
+		memberModels.clear();
+		
+		for (int i = 0; i < guildListSize; i++)
+		{
+			MemberListModel model = new MemberListModel(guilds.get(i).getMembers());
+			
+			memberModels.put(guilds.get(i).getIdLong(), model);
+			memberListArray.add(new JList<String>(model));
+		}
+	}
+	
+	/**
+	 * Description:<br>
+	 * Creates an empty banned member list for every guild, which is filled
+	 * in through <code>setBanList</code>.
+	 * 
+	 * @param guilds	the guilds, in the order of the guild list
+	 * @since			1.1.0
+	 */
+	private void buildBanLists(List<Guild> guilds) {
+		bannedMemberListArray = new ArrayList<JList<String>>();
+		bannedLists.clear();
+		
+		for (int i = 0; i < guildListSize; i++)
+		{
+			JList<String> list = new JList<String>();
+			
+			bannedLists.put(guilds.get(i).getIdLong(), list);
+			bannedMemberListArray.add(list);
+		}
+	}
 }
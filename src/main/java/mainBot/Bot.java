@@ -1,13 +1,13 @@
 package mainBot;
 
-import java.awt.Color;
 import java.io.FileReader;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.security.auth.login.LoginException;
 
@@ -16,28 +16,26 @@ import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
 import commands.util.CommandObject;
+import commands.util.AuthCache;
+import commands.util.BanCache;
+import commands.util.CommandArgs;
 import commands.util.Handler;
+import commands.util.RateLimiter;
+import commands.util.Tokenizer;
 import events.util.EventObject;
 import gui.GuiMain;
 import net.dv8tion.jda.api.EmbedBuilder;
-import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.Activity;
-import net.dv8tion.jda.api.entities.ChannelType;
 import net.dv8tion.jda.api.entities.Guild;
-import net.dv8tion.jda.api.entities.GuildChannel;
 import net.dv8tion.jda.api.entities.Member;
-import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.SelfUser;
 import net.dv8tion.jda.api.entities.TextChannel;
 import net.dv8tion.jda.api.entities.VoiceChannel;
 import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import net.dv8tion.jda.api.managers.AudioManager;
-import net.dv8tion.jda.api.requests.GatewayIntent;
-import net.dv8tion.jda.api.utils.ChunkingFilter;
-import net.dv8tion.jda.api.utils.MemberCachePolicy;
-import net.dv8tion.jda.api.utils.cache.CacheFlag;
+import net.dv8tion.jda.api.sharding.ShardManager;
 
 /**
  * Description:<br>
@@ -62,7 +60,17 @@ import net.dv8tion.jda.api.utils.cache.CacheFlag;
  * are called. Finally, the GUI is initialized, displaying
  * all the data that was generated here.<br>
  * Once everything is initialized, the bot starts listening for 
- * events, either from a guild or from the GUI.
+ * events, either from a guild or from the GUI.<br>
+ * How long each of these steps takes is measured by the 
+ * <code>StartupTimer</code>.<br>
+ * Started with the <code>--coordinator</code> argument, the program 
+ * instead runs the <code>ClusterCoordinator</code> that hands out shards 
+ * to the bot processes of a cluster.<br>
+ * Started with the <code>--headless</code> argument, or with 
+ * <code>HEADLESS</code> set to <code>true</code> in the config file, the 
+ * bot runs without the GUI, and never loads AWT or Swing. Commands and 
+ * events only report their changes to the <code>observer</code>, which 
+ * is the GUI when there is one.
  * <p>
  * 
  * Date:		August 24, 2021
@@ -72,9 +80,13 @@ import net.dv8tion.jda.api.utils.cache.CacheFlag;
  */
 public class Bot extends ListenerAdapter {
 	
-	public static JDA jda;
+	public static ShardManager shards;
 	public static boolean isJoined;
 	
+	// Anything displaying the bot's changes, such as the GUI
+	public static volatile BotObserver observer = BotObserver.NONE;
+	private static boolean headless;
+	
 	/**
 	 * Description:<br>
 	 * The main method...
@@ -88,6 +100,26 @@ public class Bot extends ListenerAdapter {
 	 */
 	public static void main(String [] args) throws LoginException, InterruptedException {
 		
+		// The coordinator of a cluster only hands out shards, and never logs in itself
+		if (args.length > 0 && args[0].equals("--coordinator"))
+		{
+			Config.init();
+			
+			try {
+				ClusterCoordinator.run();
+			} catch (IOException e) {
+				System.out.println("Could not start the cluster coordinator: " + e.getMessage());
+			}
+			
+			return;
+		}
+		
+		for (String arg : args)
+		{
+			if (arg.equals("--headless"))
+				headless = true;
+		}
+		
 		boolean status = launch();
 		
 		// Adds extra layer of verification
@@ -110,21 +142,27 @@ public class Bot extends ListenerAdapter {
 	 */
 	public static boolean launch() throws InterruptedException, LoginException {
 		
+		StartupTimer.reset();
+		
 		if (!Config.isInitialized())
 		{
 			Config.init();
 		}
 		
+		StartupTimer.mark("config");
+		
 		return start();
 	}
 	
 	/**
 	 * Description:<br>
-	 * This method is responsible for initializing each individual guild, 
-	 * initializing the commands and events, and finally initializing 
-	 * the GUI to display the generated data.
+	 * This method is responsible for initializing the commands and 
+	 * events, initializing the GUI to display the generated data unless 
+	 * the bot runs headless, and 
+	 * finally setting up each individual guild in the background.
 	 * 
-	 * @return	false	if the token wasn't generated in the config class
+	 * @return	false	if the token wasn't generated in the config class,
+	 * 					or no shard became ready
 	 * 			true	if everything was initialized
 	 * @throws 	InterruptedException
 	 * @throws 	LoginException
@@ -133,160 +171,168 @@ public class Bot extends ListenerAdapter {
 	public static boolean start() throws InterruptedException, LoginException {
 		
 		// Safety net ensuring bot token is initalized
-		if (Config.get("TOKEN").isEmpty())
+		if (Config.current().token.isEmpty())
 			return false;
 		
-		jda = JDABuilder
-				.createDefault(Config.get("TOKEN").toString(), EnumSet.allOf(GatewayIntent.class))
-				.setChunkingFilter(ChunkingFilter.ALL)
-				.setMemberCachePolicy(MemberCachePolicy.ALL)
-				.enableCache(EnumSet.allOf(CacheFlag.class))
-				.enableIntents(EnumSet.allOf(GatewayIntent.class))
+		// Without a GUI, AWT must not look for a display when something loads it
+		if (isHeadless())
+			System.setProperty("java.awt.headless", "true");
+		
+		// Commands and events are created first, since they decide which intents the bot needs
+		CommandObject.init();
+		
+		StartupTimer.mark("commands");
+		
+		EventObject.init();
+		
+		StartupTimer.mark("events");
+		
+		// A node of a cluster is told which shards to run before it logs in
+		if (ClusterNode.isEnabled())
+		{
+			try {
+				ClusterNode.connect();
+			} catch (IOException e) {
+				System.out.println("Could not join the cluster: " + e.getMessage());
+				return false;
+			}
+			
+			StartupTimer.mark("cluster");
+		}
+		
+		ShardWatcher watcher = new ShardWatcher();
+		
+		shards = GatewaySettings
+				.createBuilder(Config.current().token)
+				.addEventListeners(watcher)
 				.build();
 		
+		StartupTimer.mark("login");
+		
 		/*
-		 *  This ensures that the bot is fully initialized before setting 
-		 *  up other aspects, such as the GUI
+		 *  This ensures that every shard is fully initialized before setting 
+		 *  up other aspects, such as the GUI. The shards log in at the same
+		 *  time, as far as Discord allows. Shards that never become ready are
+		 *  left to keep trying in the background, unless none did at all
 		 */
-		jda.awaitReady();
-		
-		setActivity(Config.get("ACTIVITY").toString());
+		boolean allReady = watcher.await(GatewaySettings.getShardIds(shards.getShardsTotal()), 
+				TimeUnit.SECONDS.toNanos(Config.current().shardReadyTimeoutS));
 		
-		for (int i = 0; i < jda.getGuilds().size(); i++)
+		if (!allReady && watcher.getReady() == 0)
 		{
-			guildInit(jda.getGuilds().get(i), i);
+			System.out.println("No shard became ready, so the bot can't start");
+			shards.shutdown();
+			return false;
 		}
 		
-		CommandObject.init();
+		StartupTimer.mark("ready");
 		
-		EventObject.init();
+		setActivity(Config.current().activity);
+		
+		GuildLanes.init();
 		
-		GuiMain.init();
+		GuildBootstrap.init();
+		
+		AuthCache.init();
+		
+		BanCache.init();
+		
+		RateLimiter.init();
+		
+		GuildSettingsStore.init();
+		
+		initTokenizer(Config.current().commandPrefix);
+		
+		EventObject.addListeners();
+		
+		// Saving the config file from now on applies it without a restart
+		Config.watch();
+		
+		StartupTimer.mark("services");
+		
+		if (isHeadless())
+			System.out.println("Running headless, without the GUI");
+		else
+		{
+			GuiMain.init();
+			
+			StartupTimer.mark("gui");
+		}
 		
 		// Adds the Bot class as an event listener. Enables the onGuildMessageReceived() method below
-		jda.addEventListener(new Bot());
+		shards.addEventListener(new Bot());
+		
+		/*
+		 *  Guilds are set up in the background once the GUI is up. Each
+		 *  guild's commands wait until that guild is set up
+		 */
+		GuildBootstrap.initAll(getGuilds())
+			.thenRun(() -> {
+				StartupTimer.markSinceStart("guild-setup");
+				
+				System.out.println("STARTUP: " + StartupTimer.getSummary());
+			});
 		
 		return true;
 	}
 	
 	/**
 	 * Description:<br>
-	 * Sets up each guild that the bot is either loaded up in, or joins while it is running.
-	 * The set up involves verifying whether or not the general text channel, admin role, 
-	 * bot role, or silenced role are all created. If they aren't then the bot creates them
-	 * with the correct attributes (permissions, position, etc.).
+	 * Applies the settings that can change while the bot runs, once the
+	 * config file has been reloaded. Settings that are only used while 
+	 * the bot starts are left as they are.
 	 * 
-	 * @param guild		a guild that the bot is in
-	 * @since			1.0.0
+	 * @param previous	the settings used until now
+	 * @param next		the settings that were just swapped in
+	 * @since			1.1.0
 	 */
-	public static void guildInit(Guild guild, int i) {
+	static void configChanged(ConfigSnapshot previous, ConfigSnapshot next) {
 		
-		/*
-		 *  Certain commands require admin privileges, so if the 
-		 *  guild doesn't have a role with the role name in the 
-		 *  Config, a role is created with every permission.
-		 */
-		if (guild.getRolesByName(Config.get("ADMIN_ROLE"), true).isEmpty())
-		{
-			// Creates the admin role
-			guild.createRole()
-				.setName(Config.get("ADMIN_ROLE"))
-				.setColor(Color.red)
-				.setMentionable(true)
-				.setPermissions(getAdminPermissions())
-				.complete();
-		}
+		// The settings are read once the bot has logged in
+		if (shards == null)
+			return;
 		
-		/*
-		 * The general channel allows the bot to send a message
-		 * when a channel wasn't specified in the action.
-		 */
-		if (guild.getTextChannelsByName("general", true).isEmpty())
-		{
-			guild.createTextChannel("general")
-				.complete();
-			
-			TextChannel channel = guild.getTextChannelsByName("general", true).get(0);
-			
-			channel.createPermissionOverride(guild.getPublicRole())
-				.setDeny(Permission.VIEW_CHANNEL)
-				.complete();
-			
-			channel.createPermissionOverride(guild.getRolesByName(Config.get("ADMIN_ROLE"), true).get(0))
-				.setAllow(Permission.VIEW_CHANNEL)
-				.complete();
-			
-			channel.getManager()
-				.setTopic("The channel that " + Config.get("BOT_NAME") + " created. Dev messages will be sent here.")
-				.complete();
+		if (!next.activity.equals(previous.activity))
+			setActivity(next.activity);
 		
-			channel.sendMessage("Move the new \"Bot\" role to the top").complete();
-		}
+		if (!next.commandPrefix.equals(previous.commandPrefix))
+			initTokenizer(next.commandPrefix);
 		
-		// Helps the bot stand out in the members list
-		if (guild.getRolesByName("Bot", true).isEmpty())
-		{
-			guild.createRole()
-				.setName("Bot")
-				.setColor(Color.blue)
-				.setMentionable(true)
-				.setPermissions(getAdminPermissions())
-				.complete();
-			
-			guild.addRoleToMember(guild.getSelfMember(), guild.getRolesByName("Bot", true).get(0)).complete();
-		}
+		if (next.ownerId != previous.ownerId || !next.adminRole.equals(previous.adminRole))
+			AuthCache.init();
 		
-		/*
-		 *  The silenced role prevents users from talking/sending 
-		 *  messages in text and voice channels
-		 */
-		if (guild.getRolesByName("Silenced", true).isEmpty())
-		{
-			guild.createRole()
-				.setName("Silenced")
-				.setColor(Color.black)
-				.setMentionable(true)
-				.setPermissions(getSilencedPermissions())
-				.complete();
-			
-			@SuppressWarnings("unused")
-			int j;
-			
-			if (guild.getBotRole().getPosition() - 1 < 0)
-				j = 0;
-			else
-				j = guild.getBotRole().getPosition() - 1;
-			
-			guild.modifyRolePositions()
-				.selectPosition(guild.getRolesByName("Silenced", true).get(0))
-				.moveTo(guild.getRolesByName("Bot", true).get(0).getPosition() - 1)
-				.complete();
-			
-			Role silentRole = guild.getRolesByName("Silenced", true).get(0);
-			
-			/*
-			 *  Sets permissions of the silenced role for each text 
-			 *  and voice channel
-			 */
-			for (int k = 0; k < guild.getChannels().size(); k++)
-			{
-				GuildChannel channel = guild.getChannels().get(k);
-				
-				if (channel.getType() == ChannelType.TEXT)
-				{
-					channel.createPermissionOverride(silentRole)
-						.setDeny(Permission.ALL_TEXT_PERMISSIONS)
-						.setAllow(Permission.MESSAGE_HISTORY)
-						.complete();
-				}
-				else if (channel.getType() == ChannelType.VOICE)
-					channel.createPermissionOverride(silentRole)
-						.setDeny(Permission.ALL_VOICE_PERMISSIONS)
-						.setAllow(Permission.VOICE_CONNECT)
-						.complete();
-			}
-		}
+		if (!next.adminRole.equals(previous.adminRole) || !next.botName.equals(previous.botName))
+			GuildBootstrap.refreshTemplate();
 		
+		RateLimiter.init();
+	}
+	
+	/**
+	 * Description:<br>
+	 * Sets the prefixes that start a command: either the command prefix
+	 * or a mention of the bot.
+	 * 
+	 * @param commandPrefix		the command prefix
+	 * @since					1.1.0
+	 */
+	private static void initTokenizer(String commandPrefix) {
+		Tokenizer.init(commandPrefix, 
+				"<@" + getSelfUser().getId() + ">", 
+				"<@!" + getSelfUser().getId() + ">");
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves whether the bot runs without the GUI, either because it
+	 * was started with the <code>--headless</code> argument or because of
+	 * the config file.
+	 * 
+	 * @return	<code>true</code> if the bot runs without the GUI;
+	 * 			<code>false</code> otherwise
+	 * @since	1.1.0
+	 */
+	public static boolean isHeadless() {
+		return headless || Config.current().headless;
 	}
 	
 	/**
@@ -329,22 +375,42 @@ public class Bot extends ListenerAdapter {
 	 * @since				1.0.0
 	 */
 	public void onGuildMessageReceived(GuildMessageReceivedEvent event) {
-		String message  = event.getMessage().getContentRaw();
-		Guild guild = event.getGuild();
-		TextChannel textChannel = event.getChannel();
-		Member member = event.getMember();
 		
-		String [] arg = message.split(" ");
+		// Bots and webhooks never execute commands
+		if (event.getAuthor().isBot() || event.isWebhookMessage())
+			return;
+		
+		Guild guild = event.getGuild();
 		
-		if (!member.getUser().isBot())
+		/*
+		 *  A guild whose saved settings aren't read yet has its messages wait in 
+		 *  its lane until they are, so the file is never read on this thread. A 
+		 *  guild with that many commands waiting would turn this one away anyway
+		 */
+		if (!GuildSettingsStore.isLoaded(guild.getIdLong()))
 		{
-			// Checks if the first string is the command prefix
-			if (arg[0].compareTo(Config.get("COMMAND_PREFIX")) == 0)
-			{
-				@SuppressWarnings("unused")
-				Handler commandHandler = new Handler(guild, textChannel,  member,  arg);
-			}
+			GuildLanes.shared.submit(guild.getIdLong(), () -> {
+				GuildSettingsStore.load(guild.getIdLong());
+				onGuildMessageReceived(event);
+			});
+			
+			return;
 		}
+		
+		/*
+		 *  Checks the raw message for the guild's prefix before doing anything 
+		 *  else, since almost every message is not a command
+		 */
+		CommandArgs arg = GuildSettingsStore.get(guild).tokenize(event.getMessage().getContentRaw());
+		
+		if (arg == null)
+			return;
+		
+		TextChannel textChannel = event.getChannel();
+		Member member = event.getMember();
+		
+		@SuppressWarnings("unused")
+		Handler commandHandler = new Handler(guild, textChannel,  member,  arg);
 	}
 	
 	/**
@@ -354,6 +420,10 @@ public class Bot extends ListenerAdapter {
 	 * @since	1.0.0
 	 */
 	public static void shutdown() {
+		
+		// Settings changed in the last moment are saved before the program ends
+		GuildSettingsStore.save();
+		
 		System.exit(0);
 	}
 	
@@ -373,6 +443,10 @@ public class Bot extends ListenerAdapter {
 		
 		channel.sendMessageEmbeds(embed.build()).complete();
 		
+		// Every other node of the cluster shuts down as well
+		if (ClusterNode.isConnected())
+			ClusterNode.shutdownCluster();
+		
 		shutdown();
 	}
 	
@@ -445,7 +519,45 @@ public class Bot extends ListenerAdapter {
 	 * @since					1.0.0
 	 */
 	public static void setActivity(String activity) {
-		jda.getPresence().setActivity(Activity.playing(activity));
+		shards.setActivity(Activity.playing(activity));
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves every guild the bot is in, across all of its shards. The
+	 * list is put together on every call, so callers that go through it
+	 * more than once should keep it.
+	 * 
+	 * @return	<code>guilds</code>
+	 * @since	1.1.0
+	 */
+	public static List<Guild> getGuilds() {
+		return shards.getGuilds();
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves a guild the bot is in by its ID, from whichever shard it
+	 * belongs to.
+	 * 
+	 * @param 	guildId		ID of the guild
+	 * @return				<code>guild</code>, or <code>null</code> if the 
+	 * 						bot isn't in it
+	 * @since				1.1.0
+	 */
+	public static Guild getGuildById(long guildId) {
+		return shards.getGuildById(guildId);
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves the bot's own user, which is the same on every shard.
+	 * 
+	 * @return	<code>self-user</code>
+	 * @since	1.1.0
+	 */
+	public static SelfUser getSelfUser() {
+		return shards.getShards().get(0).getSelfUser();
 	}
 	
 	/**
@@ -482,7 +594,7 @@ public class Bot extends ListenerAdapter {
 	 * @return	<code>permissions</code>
 	 * @since	1.0.0
 	 */
-	private static Collection<Permission> getSilencedPermissions() {
+	static Collection<Permission> getSilencedPermissions() {
 		Collection<Permission> permissions = new ArrayList<>();
 		
 		permissions.add(Permission.VIEW_CHANNEL);
@@ -508,7 +620,7 @@ public class Bot extends ListenerAdapter {
 	 * @return	<code>permissions</code>
 	 * @since	1.0.0
 	 */
-	private static Collection<Permission> getAdminPermissions() {
+	static Collection<Permission> getAdminPermissions() {
 		Collection<Permission> permissions = new ArrayList<>();
 		
 		permissions.add(Permission.CREATE_INSTANT_INVITE);
@@ -0,0 +1,100 @@
+package mainBot;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+
+/**
+ * Description:<br>
+ * The BotObserver interface is how the rest of the bot tells a display,
+ * such as the GUI, that something it shows has changed. Commands and
+ * events only ever talk to <code>Bot.observer</code>, so none of them
+ * depend on Swing, and the bot can run on a server without a display.
+ * <br>
+ * Every method does nothing by default, which is what
+ * <code>BotObserver.NONE</code> does when the bot runs headless.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public interface BotObserver {
+
+	// Used when nothing is displayed
+	BotObserver NONE = new BotObserver() {};
+
+	/**
+	 * Description:<br>
+	 * Shows a dev message, which has already been printed in the console.
+	 *
+	 * @param message	the dev message
+	 * @since			1.1.0
+	 */
+	default void devMessage(String message) {
+	}
+
+	/**
+	 * Description:<br>
+	 * Shows that the bot joined or left a guild.
+	 *
+	 * @since	1.1.0
+	 */
+	default void guildsChanged() {
+	}
+
+	/**
+	 * Description:<br>
+	 * Shows that someone joined a guild.
+	 *
+	 * @param member	the member that joined
+	 * @since			1.1.0
+	 */
+	default void memberJoined(Member member) {
+	}
+
+	/**
+	 * Description:<br>
+	 * Shows that someone left a guild, or was removed from it.
+	 *
+	 * @param guild		the guild the member left
+	 * @param userId	ID of the user that left
+	 * @since			1.1.0
+	 */
+	default void memberLeft(Guild guild, long userId) {
+	}
+
+	/**
+	 * Description:<br>
+	 * Shows that a member's name in a guild changed.
+	 *
+	 * @param member	the member with the new name
+	 * @since			1.1.0
+	 */
+	default void memberRenamed(Member member) {
+	}
+
+	/**
+	 * Description:<br>
+	 * Shows that a guild's ban list changed. The current ban list is kept
+	 * by the <code>BanCache</code>.
+	 *
+	 * @param guild		the guild whose ban list changed
+	 * @since			1.1.0
+	 */
+	default void bansChanged(Guild guild) {
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves whether ban lists are shown at all. Ban lists have to be
+	 * retrieved from Discord, so this is checked before retrieving one.
+	 *
+	 * @return	<code>true</code> if ban lists are shown;
+	 * 			<code>false</code> otherwise
+	 * @since	1.1.0
+	 */
+	default boolean isShowingBans() {
+		return false;
+	}
+}
@@ -0,0 +1,433 @@
+package mainBot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Description:<br>
+ * The ClusterCoordinator class lets several bot processes on the same
+ * machine share the bot's shards, so a crash or a long pause in one of
+ * them only affects its own shards. The coordinator doesn't log in to
+ * Discord itself. It listens on <code>CLUSTER_PORT</code> of the local
+ * machine, and each <code>ClusterNode</code> that connects is given the
+ * next free slot out of <code>CLUSTER_NODES</code>, along with the range
+ * of shards that slot runs. A slot is freed when its node disconnects,
+ * so a restarted node picks up the same shards again.
+ * <br>
+ * Discord only lets a bot log in one shard at a time per bucket, every
+ * five seconds, across every process. Nodes therefore ask the coordinator
+ * before a shard logs in, and the coordinator spaces the answers out.
+ * <br>
+ * Nodes report their health every few seconds. The coordinator passes
+ * those reports on to any node that asks, and passes a shutdown request
+ * from any node on to all of them.
+ * <br>
+ * Any process on the machine can open the port, so a node has to send
+ * <code>CLUSTER_SECRET</code> in its hello, and only a node that holds a
+ * slot is listened to.
+ * <br>
+ * To try it on one machine, set <code>CLUSTER_MODE</code> to
+ * <code>NODE</code> and <code>SHARD_TOTAL</code> to a number in the config
+ * file, start the coordinator with the <code>--coordinator</code> argument,
+ * and then start <code>CLUSTER_NODES</code> bot processes as usual.
+ * <br>
+ * Every message is a single line of JSON with a <code>type</code>.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class ClusterCoordinator {
+
+	// Discord allows a single login per bucket every five seconds
+	static final long IDENTIFY_INTERVAL_MS = 5000;
+
+	private static byte [] secret;
+	private static int shardTotal;
+	private static int concurrency;
+	private static Connection [] slots;
+	private static long [] nextIdentify;
+
+	private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "cluster-timer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Description:<br>
+	 * A single connected node. Each connection reads its node's messages
+	 * on its own thread.
+	 *
+	 * @since	1.1.0
+	 */
+	private static class Connection implements Runnable {
+		final Socket socket;
+		final Writer out;
+		int slot = -1;
+		JSONObject health;
+
+		Connection(Socket socket) throws IOException {
+			this.socket = socket;
+			this.out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * Description:<br>
+		 * Reads the node's messages until it disconnects, and then frees
+		 * its slot.
+		 *
+		 * @since	1.1.0
+		 */
+		public void run() {
+			JSONParser parser = new JSONParser();
+
+			try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)))
+			{
+				String line;
+
+				while ((line = in.readLine()) != null)
+				{
+					try {
+						handle(this, (JSONObject) parser.parse(line));
+					} catch (ParseException | ClassCastException e) {
+						report("ignored a message that isn't JSON: " + line);
+					}
+				}
+			} catch (IOException e) {
+				// The node is gone either way
+			} finally {
+				release(this);
+
+				try {
+					socket.close();
+				} catch (IOException e) {
+					// Already closed
+				}
+			}
+		}
+
+		/**
+		 * Description:<br>
+		 * Sends a message to the node.
+		 *
+		 * @param message	the message to send
+		 * @since			1.1.0
+		 */
+		synchronized void send(JSONObject message) {
+			try {
+				out.write(message.toJSONString());
+				out.write('\n');
+				out.flush();
+			} catch (IOException e) {
+				// The reading thread notices the disconnect and frees the slot
+			}
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Starts the coordinator, and accepts nodes until the cluster is shut
+	 * down.
+	 *
+	 * @throws	IOException		if the port can't be opened
+	 * @since	1.1.0
+	 */
+	public static void run() throws IOException {
+		int nodes = Config.current().clusterNodes;
+		String total = Config.current().shardTotal;
+
+		if (total.equalsIgnoreCase("AUTO"))
+		{
+			report("SHARD_TOTAL is AUTO, so each node runs a single shard");
+			shardTotal = nodes;
+		}
+		else
+			shardTotal = Math.max(nodes, Integer.parseInt(total));
+
+		secret = Config.current().clusterSecret.getBytes(StandardCharsets.UTF_8);
+
+		if (secret.length == 0)
+			report("CLUSTER_SECRET is empty, so any process on this machine can join the cluster");
+
+		concurrency = Config.current().clusterConcurrency;
+		slots = new Connection [nodes];
+		nextIdentify = new long [concurrency];
+
+		try (ServerSocket server = new ServerSocket(Config.current().clusterPort, 50, InetAddress.getLoopbackAddress()))
+		{
+			report("waiting for " + nodes + " nodes to run " + shardTotal + " shards on port " + server.getLocalPort());
+
+			while (true)
+			{
+				Connection connection = new Connection(server.accept());
+
+				Thread thread = new Thread(connection, "cluster-node");
+				thread.setDaemon(true);
+				thread.start();
+			}
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Handles a single message from a node.
+	 *
+	 * @param connection	the node that sent the message
+	 * @param message		the message
+	 * @since				1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private static void handle(Connection connection, JSONObject message) {
+		String type = String.valueOf(message.get("type"));
+
+		if (type.equals("hello"))
+		{
+			hello(connection, message);
+			return;
+		}
+
+		// Only a node that was let in may ask for anything
+		if (connection.slot < 0)
+		{
+			report("ignored a message of type " + type + " from a process without a slot");
+			return;
+		}
+
+		switch (type)
+		{
+
+			case "identify":
+				identify(connection, ((Number) message.get("shard")).intValue());
+				break;
+
+			case "health":
+				synchronized (ClusterCoordinator.class)
+				{
+					connection.health = message;
+				}
+				break;
+
+			case "stats":
+				JSONObject reply = new JSONObject();
+				reply.put("type", "stats");
+				reply.put("request", message.get("request"));
+				reply.put("nodes", getHealth());
+				connection.send(reply);
+				break;
+
+			case "shutdown":
+				report("node " + connection.slot + " shut down the cluster");
+				broadcast(message);
+
+				// Gives the nodes a moment to read the request before the coordinator goes
+				timer.schedule(() -> System.exit(0), 1, TimeUnit.SECONDS);
+				break;
+
+			default:
+				report("ignored a message of type " + type);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Lets a node in if it knows the secret, and turns it away otherwise.
+	 *
+	 * @param connection	the node that said hello
+	 * @param message		the hello, with the node's secret
+	 * @since				1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private static void hello(Connection connection, JSONObject message) {
+		byte [] given = String.valueOf(message.get("secret")).getBytes(StandardCharsets.UTF_8);
+
+		// Takes as long for a wrong secret as for a right one
+		if (message.get("secret") == null || !MessageDigest.isEqual(secret, given))
+		{
+			JSONObject reply = new JSONObject();
+			reply.put("type", "denied");
+			connection.send(reply);
+			report("turned away a process that doesn't know CLUSTER_SECRET");
+
+			try {
+				connection.socket.close();
+			} catch (IOException e) {
+				// Already closed
+			}
+			return;
+		}
+
+		assign(connection);
+	}
+
+	/**
+	 * Description:<br>
+	 * Gives a node the first free slot, and tells it which shards to run.
+	 * A node is turned away if every slot is taken.
+	 *
+	 * @param connection	the node that said hello
+	 * @since				1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private static void assign(Connection connection) {
+		JSONObject reply = new JSONObject();
+
+		synchronized (ClusterCoordinator.class)
+		{
+			for (int i = 0; i < slots.length && connection.slot < 0; i++)
+			{
+				if (slots[i] == null)
+				{
+					slots[i] = connection;
+					connection.slot = i;
+				}
+			}
+		}
+
+		if (connection.slot < 0)
+		{
+			reply.put("type", "full");
+			connection.send(reply);
+			report("turned away a node, since all " + slots.length + " slots are taken");
+			return;
+		}
+
+		// The shards are split as evenly as possible, with the first slots taking any extra
+		int base = shardTotal / slots.length;
+		int extra = shardTotal % slots.length;
+		int first = connection.slot * base + Math.min(connection.slot, extra);
+		int last = first + base + (connection.slot < extra ? 1 : 0) - 1;
+
+		reply.put("type", "assign");
+		reply.put("node", connection.slot);
+		reply.put("total", shardTotal);
+		reply.put("first", first);
+		reply.put("last", last);
+		connection.send(reply);
+
+		report("node " + connection.slot + " runs shards " + first + "-" + last);
+	}
+
+	/**
+	 * Description:<br>
+	 * Lets a shard log in once its bucket is free. Shards share a bucket
+	 * when their ID divided by <code>CLUSTER_CONCURRENCY</code> leaves the
+	 * same remainder.
+	 *
+	 * @param connection	the node of the shard
+	 * @param shard			ID of the shard
+	 * @since				1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private static void identify(Connection connection, int shard) {
+		long now = System.currentTimeMillis();
+		long at;
+
+		synchronized (ClusterCoordinator.class)
+		{
+			int bucket = Math.floorMod(shard, concurrency);
+
+			at = Math.max(now, nextIdentify[bucket]);
+			nextIdentify[bucket] = at + IDENTIFY_INTERVAL_MS;
+		}
+
+		JSONObject reply = new JSONObject();
+		reply.put("type", "identify");
+		reply.put("shard", shard);
+
+		timer.schedule(() -> connection.send(reply), at - now, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Description:<br>
+	 * Frees the slot of a node that disconnected.
+	 *
+	 * @param connection	the node that disconnected
+	 * @since				1.1.0
+	 */
+	private static void release(Connection connection) {
+		synchronized (ClusterCoordinator.class)
+		{
+			if (connection.slot < 0 || slots[connection.slot] != connection)
+				return;
+
+			slots[connection.slot] = null;
+		}
+
+		report("node " + connection.slot + " disconnected, so its shards are free");
+	}
+
+	/**
+	 * Description:<br>
+	 * Collects the latest health report of every connected node.
+	 *
+	 * @return	<code>health-reports</code>
+	 * @since	1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private static JSONArray getHealth() {
+		JSONArray nodes = new JSONArray();
+
+		synchronized (ClusterCoordinator.class)
+		{
+			for (Connection connection : slots)
+			{
+				if (connection != null && connection.health != null)
+					nodes.add(connection.health);
+			}
+		}
+
+		return nodes;
+	}
+
+	/**
+	 * Description:<br>
+	 * Sends a message to every connected node.
+	 *
+	 * @param message	the message to send
+	 * @since			1.1.0
+	 */
+	private static void broadcast(JSONObject message) {
+		Connection [] connections;
+
+		synchronized (ClusterCoordinator.class)
+		{
+			connections = slots.clone();
+		}
+
+		for (Connection connection : connections)
+		{
+			if (connection != null)
+				connection.send(message);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Prints the coordinator's progress in the console.
+	 *
+	 * @param message	the progress to report
+	 * @since			1.1.0
+	 */
+	private static void report(String message) {
+		System.out.println("CLUSTER: " + message);
+	}
+}
@@ -0,0 +1,434 @@
+package mainBot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import commands.util.CommandExecutor;
+import events.util.EventDispatcher;
+import net.dv8tion.jda.api.utils.SessionControllerAdapter;
+
+/**
+ * Description:<br>
+ * The ClusterNode class connects a bot process to the
+ * <code>ClusterCoordinator</code> when <code>CLUSTER_MODE</code> is set to
+ * <code>NODE</code> in the config file. The coordinator tells the node
+ * which shards to run, and each shard waits for the coordinator's go
+ * ahead before logging in, so the processes never log in faster than
+ * Discord allows between them.
+ * <br>
+ * The node reports its health to the coordinator every few seconds, and
+ * can ask for the health of every node, or shut the whole cluster down.
+ * If the coordinator goes away, the node's shards keep running, and any
+ * shard that has to log in again waits the usual five seconds on its own.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class ClusterNode {
+
+	private static final long HEALTH_INTERVAL_MS = 10_000;
+
+	private static volatile boolean connected;
+	private static Writer out;
+	private static int node;
+	private static int shardTotal;
+	private static int firstShard;
+	private static int lastShard;
+
+	// Requests waiting on an answer from the coordinator
+	private static final Map<Integer, CompletableFuture<Void>> identifies = new ConcurrentHashMap<>();
+	private static final Map<Long, CompletableFuture<List<JSONObject>>> stats = new ConcurrentHashMap<>();
+	private static final AtomicLong requestIds = new AtomicLong();
+
+	private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "cluster-health");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Description:<br>
+	 * Logs in the shards of this node one at a time, each once the
+	 * coordinator lets it. Used in place of JDA's own session controller.
+	 *
+	 * @since	1.1.0
+	 */
+	public static class Sessions extends SessionControllerAdapter {
+		private final BlockingQueue<SessionConnectNode> queue = new LinkedBlockingQueue<>();
+
+		/**
+		 * Description:<br>
+		 * Starts the thread that logs in the shards.
+		 *
+		 * @since	1.1.0
+		 */
+		public Sessions() {
+			Thread worker = new Thread(() -> {
+				try {
+					while (true)
+					{
+						SessionConnectNode session = queue.take();
+
+						awaitIdentify(session.getShardInfo().getShardId()).join();
+						session.run(queue.isEmpty());
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}, "cluster-sessions");
+
+			worker.setDaemon(true);
+			worker.start();
+		}
+
+		@Override
+		public void appendSession(SessionConnectNode session) {
+			queue.add(session);
+		}
+
+		@Override
+		public void removeSession(SessionConnectNode session) {
+			queue.remove(session);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Determines whether this process should join a cluster.
+	 *
+	 * @return	<code>true</code> if <code>CLUSTER_MODE</code> is <code>NODE</code>
+	 * @since	1.1.0
+	 */
+	public static boolean isEnabled() {
+		return Config.current().clusterNode;
+	}
+
+	/**
+	 * Description:<br>
+	 * Determines whether this process is connected to the coordinator.
+	 *
+	 * @return	<code>true</code> if it is connected
+	 * @since	1.1.0
+	 */
+	public static boolean isConnected() {
+		return connected;
+	}
+
+	/**
+	 * Description:<br>
+	 * Connects to the coordinator, and waits to be told which shards to run.
+	 *
+	 * @throws	IOException		if the coordinator can't be reached, doesn't
+	 * 							accept this node's secret, or already has
+	 * 							all of its nodes
+	 * @since	1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static void connect() throws IOException {
+		Socket socket = new Socket(InetAddress.getLoopbackAddress(), Config.current().clusterPort);
+		BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+		out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+
+		JSONObject hello = new JSONObject();
+		hello.put("type", "hello");
+		hello.put("secret", Config.current().clusterSecret);
+		send(hello);
+
+		JSONObject assignment;
+
+		try {
+			String line = in.readLine();
+			assignment = (line == null) ? null : (JSONObject) new JSONParser().parse(line);
+		} catch (ParseException e) {
+			assignment = null;
+		}
+
+		if (assignment != null && "denied".equals(assignment.get("type")))
+		{
+			socket.close();
+			throw new IOException("the coordinator turned this node away, check that CLUSTER_SECRET matches");
+		}
+
+		if (assignment == null || !"assign".equals(assignment.get("type")))
+		{
+			socket.close();
+			throw new IOException("the coordinator did not give this node any shards");
+		}
+
+		node = ((Number) assignment.get("node")).intValue();
+		shardTotal = ((Number) assignment.get("total")).intValue();
+		firstShard = ((Number) assignment.get("first")).intValue();
+		lastShard = ((Number) assignment.get("last")).intValue();
+		connected = true;
+
+		System.out.println("CLUSTER: running as node " + node + " with shards " + firstShard + "-" + lastShard + " of " + shardTotal);
+
+		Thread reader = new Thread(() -> read(socket, in), "cluster-reader");
+		reader.setDaemon(true);
+		reader.start();
+
+		timer.scheduleAtFixedRate(ClusterNode::sendHealth, HEALTH_INTERVAL_MS, HEALTH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the slot this node was given by the coordinator.
+	 *
+	 * @return	<code>node</code>
+	 * @since	1.1.0
+	 */
+	public static int getNode() {
+		return node;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the number of shards across the whole cluster.
+	 *
+	 * @return	<code>shard-total</code>
+	 * @since	1.1.0
+	 */
+	public static int getShardTotal() {
+		return shardTotal;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the first shard this node runs.
+	 *
+	 * @return	<code>first-shard</code>
+	 * @since	1.1.0
+	 */
+	public static int getFirstShard() {
+		return firstShard;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the last shard this node runs.
+	 *
+	 * @return	<code>last-shard</code>
+	 * @since	1.1.0
+	 */
+	public static int getLastShard() {
+		return lastShard;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the latest health report of every node in the cluster.
+	 *
+	 * @return	<code>future</code> that finishes with the reports
+	 * @since	1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static CompletableFuture<List<JSONObject>> retrieveHealth() {
+		if (!connected)
+			return CompletableFuture.failedFuture(new IOException("not connected to the coordinator"));
+
+		long id = requestIds.incrementAndGet();
+		CompletableFuture<List<JSONObject>> reply = new CompletableFuture<>();
+		stats.put(id, reply);
+
+		JSONObject request = new JSONObject();
+		request.put("type", "stats");
+		request.put("request", id);
+		send(request);
+
+		// A coordinator that doesn't answer shouldn't hold up the command
+		return reply.orTimeout(5, TimeUnit.SECONDS)
+				.whenComplete((nodes, error) -> stats.remove(id));
+	}
+
+	/**
+	 * Description:<br>
+	 * Asks the coordinator to shut down every node in the cluster.
+	 *
+	 * @since	1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static void shutdownCluster() {
+		JSONObject request = new JSONObject();
+		request.put("type", "shutdown");
+		send(request);
+	}
+
+	/**
+	 * Description:<br>
+	 * Waits for the coordinator to let a shard log in. Without a
+	 * coordinator, the shard waits the usual time on its own.
+	 *
+	 * @param shard		ID of the shard
+	 * @return			<code>future</code> that finishes once the shard may log in
+	 * @since			1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private static CompletableFuture<Void> awaitIdentify(int shard) {
+		if (!connected)
+			return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(ClusterCoordinator.IDENTIFY_INTERVAL_MS, TimeUnit.MILLISECONDS));
+
+		CompletableFuture<Void> turn = identifies.computeIfAbsent(shard, key -> new CompletableFuture<>());
+
+		JSONObject request = new JSONObject();
+		request.put("type", "identify");
+		request.put("shard", shard);
+		send(request);
+
+		return turn;
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads the coordinator's messages until it disconnects.
+	 *
+	 * @param socket	the connection to the coordinator
+	 * @param in		the coordinator's messages
+	 * @since			1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private static void read(Socket socket, BufferedReader in) {
+		JSONParser parser = new JSONParser();
+
+		try {
+			String line;
+
+			while ((line = in.readLine()) != null)
+			{
+				JSONObject message;
+
+				try {
+					message = (JSONObject) parser.parse(line);
+				} catch (ParseException | ClassCastException e) {
+					continue;
+				}
+
+				switch (String.valueOf(message.get("type")))
+				{
+					case "identify":
+						CompletableFuture<Void> turn = identifies.remove(((Number) message.get("shard")).intValue());
+
+						if (turn != null)
+							turn.complete(null);
+						break;
+
+					case "stats":
+						CompletableFuture<List<JSONObject>> reply = stats.remove(((Number) message.get("request")).longValue());
+
+						if (reply != null)
+						{
+							List<JSONObject> nodes = new ArrayList<>();
+
+							for (Object health : (JSONArray) message.get("nodes"))
+							{
+								nodes.add((JSONObject) health);
+							}
+
+							reply.complete(nodes);
+						}
+						break;
+
+					case "shutdown":
+						System.out.println("CLUSTER: the cluster is shutting down");
+						Bot.shutdown();
+						break;
+
+					default:
+						break;
+				}
+			}
+		} catch (IOException e) {
+			// The coordinator is gone either way
+		}
+
+		connected = false;
+		System.out.println("CLUSTER: lost the coordinator, the shards keep running on their own");
+
+		// Shards waiting on the coordinator now wait on their own instead
+		for (Integer shard : identifies.keySet())
+		{
+			CompletableFuture<Void> turn = identifies.remove(shard);
+
+			if (turn != null)
+				awaitIdentify(shard).thenRun(() -> turn.complete(null));
+		}
+
+		try {
+			socket.close();
+		} catch (IOException e) {
+			// Already closed
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Sends this node's health to the coordinator.
+	 *
+	 * @since	1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private static void sendHealth() {
+		if (!connected || Bot.shards == null)
+			return;
+
+		Runtime runtime = Runtime.getRuntime();
+
+		JSONObject health = new JSONObject();
+		health.put("type", "health");
+		health.put("node", node);
+		health.put("shards", Bot.shards.getShardsRunning());
+		health.put("guilds", Bot.getGuilds().size());
+		health.put("ping", (long) Bot.shards.getAverageGatewayPing());
+		health.put("heapUsedMb", (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
+		health.put("uptimeMs", ManagementFactory.getRuntimeMXBean().getUptime());
+		health.put("rejectedCommands", CommandExecutor.getRejected());
+		health.put("failedEvents", EventDispatcher.getFailed());
+		health.put("startup", StartupTimer.getSummary());
+		send(health);
+	}
+
+	/**
+	 * Description:<br>
+	 * Sends a message to the coordinator.
+	 *
+	 * @param message	the message to send
+	 * @since			1.1.0
+	 */
+	private static void send(JSONObject message) {
+		synchronized (ClusterNode.class)
+		{
+			try {
+				out.write(message.toJSONString());
+				out.write('\n');
+				out.flush();
+			} catch (IOException e) {
+				// The reading thread notices the disconnect
+			}
+		}
+	}
+}
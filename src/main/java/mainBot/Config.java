@@ -4,6 +4,18 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.json.simple.JSONObject;
 
@@ -18,6 +30,7 @@ import org.json.simple.JSONObject;
  * <li>the custom activity
  * <li>the bot's name
  * <li>the bot owner's member ID
+ * <li>optional tuning values, such as the number of command threads
  * <br>
  * All this information is inputed by the user in the generate 
  * "private.json" file in the json folder. This allows for extra security
@@ -28,6 +41,16 @@ import org.json.simple.JSONObject;
  * a new private JSON object. Once it is confirmed that the token has been
  * inputed into this new object, then the program's initialization sequence
  * can continue.
+ * <br>
+ * The values are held in an immutable <code>ConfigSnapshot</code>, which
+ * is read through <code>Config.current()</code>. Once the bot is running,
+ * the json folder is watched, and whenever "private.json" is saved, the
+ * file is read into a new snapshot. If every value is valid, the new
+ * snapshot replaces the old one at once, and the bot applies the settings
+ * that can change while it runs, such as the command prefix and the admin
+ * role's name. Settings used when logging in, such as the token or the
+ * shards, are reported as needing a restart. A file that isn't valid is
+ * reported, and the current settings are kept.
  * <p>
  * 
  * Date:		August 24, 2021
@@ -37,21 +60,52 @@ import org.json.simple.JSONObject;
  */
 public class Config {
 
-	private static final String TOKEN = "TOKEN";
-	private static final String COMMAND_PREFIX = "COMMAND_PREFIX";
-	private static final String ADMIN_ROLE = "ADMIN_ROLE";
-	private static final String ACTIVITY = "ACTIVITY";
-	private static final String BOT_NAME = "BOT_NAME";
-	private static final String OWNER_ID = "OWNER_ID";
+	static final String TOKEN = "TOKEN";
+	static final String COMMAND_PREFIX = "COMMAND_PREFIX";
+	static final String ADMIN_ROLE = "ADMIN_ROLE";
+	static final String ACTIVITY = "ACTIVITY";
+	static final String BOT_NAME = "BOT_NAME";
+	static final String OWNER_ID = "OWNER_ID";
+	static final String COMMAND_THREADS = "COMMAND_THREADS";
+	static final String GUILD_QUEUE_DEPTH = "GUILD_QUEUE_DEPTH";
+	static final String RATE_MEMBER_BURST = "RATE_MEMBER_BURST";
+	static final String RATE_MEMBER_REFILL_MS = "RATE_MEMBER_REFILL_MS";
+	static final String RATE_GUILD_BURST = "RATE_GUILD_BURST";
+	static final String RATE_GUILD_REFILL_MS = "RATE_GUILD_REFILL_MS";
+	static final String BULK_CONCURRENCY = "BULK_CONCURRENCY";
+	static final String BOOTSTRAP_PARALLELISM = "BOOTSTRAP_PARALLELISM";
+	static final String BOOTSTRAP_DRY_RUN = "BOOTSTRAP_DRY_RUN";
+	static final String GATEWAY_INTENTS = "GATEWAY_INTENTS";
+	static final String CACHE_FLAGS = "CACHE_FLAGS";
+	static final String CHUNKING = "CHUNKING";
+	static final String MEMBER_CACHE = "MEMBER_CACHE";
+	static final String MEMBER_CACHE_SIZE = "MEMBER_CACHE_SIZE";
+	static final String FULL_MEMBER_GUILDS = "FULL_MEMBER_GUILDS";
+	static final String SHARD_TOTAL = "SHARD_TOTAL";
+	static final String SHARD_RANGE = "SHARD_RANGE";
+	static final String SHARD_READY_TIMEOUT_S = "SHARD_READY_TIMEOUT_S";
+	static final String CLUSTER_MODE = "CLUSTER_MODE";
+	static final String CLUSTER_PORT = "CLUSTER_PORT";
+	static final String CLUSTER_NODES = "CLUSTER_NODES";
+	static final String CLUSTER_CONCURRENCY = "CLUSTER_CONCURRENCY";
+	static final String CLUSTER_SECRET = "CLUSTER_SECRET";
+	static final String HEADLESS = "HEADLESS";
+	
+	static final String DIRECTORY = "json";
+	static final String FILE_NAME = "private.json";
 	
-	// This stores the raw parsed data from the JSON file
-	private static JSONObject privateJsonObject;
+	// Editors often save a file in several steps, so it is read once it has been quiet this long
+	private static final long SETTLE_MS = 200;
 	
-	// This stores each key/value pair taken from the privateJsonObject
-	private static JSONObject defaults;
+	// Settings that are only read while the bot starts, so changing them needs a restart
+	private static final String [] RESTART_KEYS = {TOKEN, COMMAND_THREADS, GUILD_QUEUE_DEPTH, BOOTSTRAP_PARALLELISM, 
+			GATEWAY_INTENTS, CACHE_FLAGS, CHUNKING, MEMBER_CACHE, MEMBER_CACHE_SIZE, FULL_MEMBER_GUILDS, 
+			SHARD_TOTAL, SHARD_RANGE, SHARD_READY_TIMEOUT_S, CLUSTER_MODE, CLUSTER_PORT, CLUSTER_NODES, CLUSTER_CONCURRENCY, CLUSTER_SECRET, HEADLESS};
 	
-	// Boolean variable used to tell if the token has been copied down properly
-	private static boolean initialized;
+	// The settings currently in use
+	private static volatile ConfigSnapshot current;
+	
+	private static Thread watcher;
 	
 	/**
 	 * Description:<br>
@@ -64,26 +118,33 @@ public class Config {
 	 * @since					1.0.0
 	 */
 	public static boolean isInitialized() {
-		return initialized;
+		return current != null;
+	}
+	
+	/**
+	 * Description:<br>
+	 * Retrieves the settings currently in use. Callers that read several
+	 * settings that belong together should keep the snapshot, so they
+	 * don't see a reload halfway through.
+	 * 
+	 * @return	<code>config-snapshot</code>
+	 * @since	1.1.0
+	 */
+	public static ConfigSnapshot current() {
+		return current;
 	}
 	
 	/**
 	 * Description:<br>
 	 * Responsible for initializing the information taken from the private
-	 * JSON file. Initiailly the <code>initialized</code> variable is false
-	 * because the token hasn't been taken (duh). After parsing the information
-	 * into the <code>privateJsonObject</code> variable, then the data is 
-	 * transferred into the <code>defaults</code> JSON object. Once the token
-	 * is verified, <code>initialized</code> is set to true.
+	 * JSON file. If the file was only just created, or a value in it isn't
+	 * valid, this is reported and the program shuts down.
 	 * 
 	 * @since	1.0.0
 	 */
-	@SuppressWarnings("unchecked")
 	public static void init() {
 		
-		initialized = false;
-		
-		privateJsonObject = initJson();
+		JSONObject privateJsonObject = initJson();
 		
 		if (privateJsonObject == null)
 		{
@@ -92,19 +153,219 @@ public class Config {
 			Bot.shutdown();
 		}
 		
-		defaults = new JSONObject();
-		defaults.put(TOKEN, getToken());
-		defaults.put(ADMIN_ROLE, getAdminRole());
-		defaults.put(COMMAND_PREFIX, getCommandPrefix());
-		defaults.put(ACTIVITY, getActivity());
-		defaults.put(BOT_NAME, getBotName());
-		defaults.put(OWNER_ID, getOwnerId());
+		try {
+			current = read(privateJsonObject);
+		} catch (IllegalArgumentException e) {
+			System.out.println("The private.json file is not valid: " + e.getMessage());
+			
+			Bot.shutdown();
+		}
+	}
+	
+	/**
+	 * Description:<br>
+	 * Uses settings that were already parsed, instead of reading the
+	 * private.json file. Lets the startup benchmark run the bot's services
+	 * without a config file.
+	 * 
+	 * @param json		the parsed settings
+	 * @throws	IllegalArgumentException	if a value isn't valid
+	 * @since	1.1.0
+	 */
+	static void init(JSONObject json) {
+		current = read(json);
+	}
+	
+	/**
+	 * Description:<br>
+	 * Builds a snapshot from the parsed file. Optional values fall back
+	 * to a default if they are left out of the file.
+	 * 
+	 * @param json		the parsed file
+	 * @return			<code>config-snapshot</code>
+	 * @throws	IllegalArgumentException	if a value isn't valid
+	 * @since	1.1.0
+	 */
+	private static ConfigSnapshot read(JSONObject json) {
+		Map<String, String> values = new HashMap<>();
+		
+		putRequired(values, json, TOKEN);
+		putRequired(values, json, ADMIN_ROLE);
+		putRequired(values, json, COMMAND_PREFIX);
+		putRequired(values, json, ACTIVITY);
+		putRequired(values, json, BOT_NAME);
+		putRequired(values, json, OWNER_ID);
 		
-		if (get("TOKEN") != null) {
-			initialized = true;
+		values.put(COMMAND_THREADS, getOptional(json, COMMAND_THREADS, "8"));
+		values.put(GUILD_QUEUE_DEPTH, getOptional(json, GUILD_QUEUE_DEPTH, "16"));
+		values.put(RATE_MEMBER_BURST, getOptional(json, RATE_MEMBER_BURST, "5"));
+		values.put(RATE_MEMBER_REFILL_MS, getOptional(json, RATE_MEMBER_REFILL_MS, "3000"));
+		values.put(RATE_GUILD_BURST, getOptional(json, RATE_GUILD_BURST, "30"));
+		values.put(RATE_GUILD_REFILL_MS, getOptional(json, RATE_GUILD_REFILL_MS, "500"));
+		values.put(BULK_CONCURRENCY, getOptional(json, BULK_CONCURRENCY, "4"));
+		values.put(BOOTSTRAP_PARALLELISM, getOptional(json, BOOTSTRAP_PARALLELISM, "4"));
+		values.put(BOOTSTRAP_DRY_RUN, getOptional(json, BOOTSTRAP_DRY_RUN, "false"));
+		values.put(GATEWAY_INTENTS, getOptional(json, GATEWAY_INTENTS, "AUTO"));
+		values.put(CACHE_FLAGS, getOptional(json, CACHE_FLAGS, "AUTO"));
+		values.put(CHUNKING, getOptional(json, CHUNKING, "AUTO"));
+		values.put(MEMBER_CACHE, getOptional(json, MEMBER_CACHE, "AUTO"));
+		values.put(MEMBER_CACHE_SIZE, getOptional(json, MEMBER_CACHE_SIZE, "1000"));
+		values.put(FULL_MEMBER_GUILDS, getOptional(json, FULL_MEMBER_GUILDS, ""));
+		values.put(SHARD_TOTAL, getOptional(json, SHARD_TOTAL, "AUTO"));
+		values.put(SHARD_RANGE, getOptional(json, SHARD_RANGE, ""));
+		values.put(SHARD_READY_TIMEOUT_S, getOptional(json, SHARD_READY_TIMEOUT_S, "120"));
+		values.put(CLUSTER_MODE, getOptional(json, CLUSTER_MODE, "OFF"));
+		values.put(CLUSTER_PORT, getOptional(json, CLUSTER_PORT, "7420"));
+		values.put(CLUSTER_NODES, getOptional(json, CLUSTER_NODES, "1"));
+		values.put(CLUSTER_CONCURRENCY, getOptional(json, CLUSTER_CONCURRENCY, "1"));
+		values.put(CLUSTER_SECRET, getOptional(json, CLUSTER_SECRET, ""));
+		values.put(HEADLESS, getOptional(json, HEADLESS, "false"));
+		
+		return new ConfigSnapshot(values);
+	}
+	
+	/**
+	 * Description:<br>
+	 * Starts watching the json folder, so that saving the "private.json"
+	 * file reloads it. Does nothing if the folder is already watched.
+	 * 
+	 * @since	1.1.0
+	 */
+	public static synchronized void watch() {
+		if (watcher != null)
+			return;
+		
+		WatchService service;
+		
+		try {
+			service = FileSystems.getDefault().newWatchService();
+			Paths.get(DIRECTORY).register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			report("can't watch the " + DIRECTORY + " folder, so changes need a restart: " + e.getMessage());
+			return;
+		}
+		
+		watcher = new Thread(() -> watch(service), "config-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+	
+	/**
+	 * Description:<br>
+	 * Waits for changes to the json folder, and reloads the file whenever
+	 * it is among them. Other files in the folder, such as the guild
+	 * fingerprints, are ignored.
+	 * 
+	 * @param service	the service watching the folder
+	 * @since			1.1.0
+	 */
+	private static void watch(WatchService service) {
+		while (true)
+		{
+			try {
+				WatchKey key = service.take();
+				boolean changed = hasChanged(key);
+				
+				if (!key.reset())
+				{
+					report("the " + DIRECTORY + " folder is gone, so changes need a restart");
+					return;
+				}
+				
+				if (!changed)
+					continue;
+				
+				// Waits until the editor is done, and lets go of any changes made meanwhile
+				Thread.sleep(SETTLE_MS);
+				
+				while ((key = service.poll()) != null)
+				{
+					key.pollEvents();
+					key.reset();
+				}
+				
+				reload();
+			} catch (InterruptedException e) {
+				return;
+			}
 		}
 	}
 	
+	/**
+	 * Description:<br>
+	 * Determines whether any of the changes is to the "private.json" file.
+	 * If changes were lost, the file may have changed as well.
+	 * 
+	 * @param key	the changes to the folder
+	 * @return		<code>true</code> if the file may have changed
+	 * @since		1.1.0
+	 */
+	private static boolean hasChanged(WatchKey key) {
+		boolean changed = false;
+		
+		for (WatchEvent<?> event : key.pollEvents())
+		{
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+				changed = true;
+			else if (event.context() instanceof Path && ((Path) event.context()).getFileName().toString().equals(FILE_NAME))
+				changed = true;
+		}
+		
+		return changed;
+	}
+	
+	/**
+	 * Description:<br>
+	 * Reads the "private.json" file again, and swaps in the new settings
+	 * if every value is valid. Once swapped in, the bot applies them.
+	 * 
+	 * @return	<code>true</code> if new settings were swapped in;
+	 * 			<code>false</code> if the file was unchanged or not valid
+	 * @since	1.1.0
+	 */
+	public static boolean reload() {
+		ConfigSnapshot next;
+		
+		try {
+			JSONObject json = Bot.parseJson(DIRECTORY + "/" + FILE_NAME);
+			
+			if (json == null)
+				throw new IllegalArgumentException("it can't be read as JSON");
+			
+			next = read(json);
+		} catch (IllegalArgumentException e) {
+			report("kept the current settings, since " + FILE_NAME + " is not valid: " + e.getMessage());
+			return false;
+		}
+		
+		ConfigSnapshot previous;
+		
+		synchronized (Config.class)
+		{
+			previous = current;
+			
+			if (previous != null && previous.values.equals(next.values))
+				return false;
+			
+			current = next;
+		}
+		
+		List<String> restart = new ArrayList<>();
+		
+		for (String key : RESTART_KEYS)
+		{
+			if (previous != null && !Objects.equals(previous.get(key), next.get(key)))
+				restart.add(key);
+		}
+		
+		report("reloaded " + FILE_NAME + (restart.isEmpty() ? "" : ", but " + restart + " only change after a restart"));
+		
+		if (previous != null)
+			Bot.configChanged(previous, next);
+		
+		return true;
+	}
+	
 	/**
 	 * Description:<br>
 	 * Responsible for initializing the "private.json" file. If it does
@@ -117,11 +378,11 @@ public class Config {
 	 * @since	1.0.0
 	 */
 	private static JSONObject initJson() {
-		File tempFile = new File("json/private.json");
+		File tempFile = new File(DIRECTORY + "/" + FILE_NAME);
 		
 		if (!(tempFile.exists()))
 		{
-			File tempDir = new File("json");
+			File tempDir = new File(DIRECTORY);
 			if (!(tempDir.exists()))
 			{
 				tempDir.mkdirs();
@@ -136,9 +397,33 @@ public class Config {
 					out.write("{\n\t\"TOKEN\": \"token for the bot\","
 							+ "\n\t\"COMMAND_PREFIX\": \"what you first enter to execute commands\","
 							+ "\n\t\"ADMIN_ROLE\": \"name of the admin role to manage bot\","
-							+ "\n\t\"ACTIVITY\": \"what is displayed under the bot's profile\""
-							+ "\n\t\"BOT_NAME\": \"name of the bot\""
-							+ "\n\t\"OWNER_ID\": \"Discord ID of the owner\""
+							+ "\n\t\"ACTIVITY\": \"what is displayed under the bot's profile\","
+							+ "\n\t\"BOT_NAME\": \"name of the bot\","
+							+ "\n\t\"OWNER_ID\": \"Discord ID of the owner\","
+							+ "\n\t\"COMMAND_THREADS\": \"8\","
+							+ "\n\t\"GUILD_QUEUE_DEPTH\": \"16\","
+							+ "\n\t\"RATE_MEMBER_BURST\": \"5\","
+							+ "\n\t\"RATE_MEMBER_REFILL_MS\": \"3000\","
+							+ "\n\t\"RATE_GUILD_BURST\": \"30\","
+							+ "\n\t\"RATE_GUILD_REFILL_MS\": \"500\","
+							+ "\n\t\"BULK_CONCURRENCY\": \"4\","
+							+ "\n\t\"BOOTSTRAP_PARALLELISM\": \"4\","
+							+ "\n\t\"BOOTSTRAP_DRY_RUN\": \"false\","
+							+ "\n\t\"GATEWAY_INTENTS\": \"AUTO\","
+							+ "\n\t\"CACHE_FLAGS\": \"AUTO\","
+							+ "\n\t\"CHUNKING\": \"AUTO\","
+							+ "\n\t\"MEMBER_CACHE\": \"AUTO\","
+							+ "\n\t\"MEMBER_CACHE_SIZE\": \"1000\","
+							+ "\n\t\"FULL_MEMBER_GUILDS\": \"\","
+							+ "\n\t\"SHARD_TOTAL\": \"AUTO\","
+							+ "\n\t\"SHARD_RANGE\": \"\","
+							+ "\n\t\"SHARD_READY_TIMEOUT_S\": \"120\","
+							+ "\n\t\"CLUSTER_MODE\": \"OFF\","
+							+ "\n\t\"CLUSTER_PORT\": \"7420\","
+							+ "\n\t\"CLUSTER_NODES\": \"1\","
+							+ "\n\t\"CLUSTER_CONCURRENCY\": \"1\","
+							+ "\n\t\"CLUSTER_SECRET\": \"\","
+							+ "\n\t\"HEADLESS\": \"false\""
 							+ "\n}");
 					
 					out.flush();
@@ -155,90 +440,49 @@ public class Config {
 			return null;
 		}
 		
-		return Bot.parseJson("json/private.json");
-	}
-	
-	/**
-	 * Description:<br>
-	 * Retrieves the token from the <code>privateJsonObject</code>
-	 * variable.
-	 * 
-	 * @return	<code>bot-token</code>
-	 * @since	1.0.0
-	 */
-	private static String getToken() {
-		return privateJsonObject.get(TOKEN).toString();
-	}
-	
-	/**
-	 * Description:<br>
-	 * Retrieves the custom command prefix from the 
-	 * <code>privateJsonObject</code> variable.
-	 * 
-	 * @return	<code>command-prefix</code>
-	 * @since	1.0.0
-	 */
-	private static String getCommandPrefix() {
-		return privateJsonObject.get(COMMAND_PREFIX).toString();
-	}
-	
-	/**
-	 * Description:<br>
-	 * Retrieves the name of the admin role from the 
-	 * <code>privateJsonObject</code> variable.
-	 * 
-	 * @return	<code>admin-role-name</code>
-	 * @since	1.0.0
-	 */
-	private static String getAdminRole() {
-		return privateJsonObject.get(ADMIN_ROLE).toString();
+		return Bot.parseJson(DIRECTORY + "/" + FILE_NAME);
 	}
 	
 	/**
 	 * Description:<br>
-	 * Retrieves the custom activity status from the 
-	 * <code>privateJsonObject</code> variable.
+	 * Copies a value that must be in the file.
 	 * 
-	 * @return	<code>custom-activity</code>
-	 * @since	1.0.0
+	 * @param values	the values read so far
+	 * @param json		the parsed file
+	 * @param key		the key of the value
+	 * @since			1.1.0
 	 */
-	private static String getActivity() {
-		return privateJsonObject.get(ACTIVITY).toString();
-	}
-	
-	/**
-	 * Description:<br>
-	 * Retrieves the bot name from the <code>privateJsonObject</code>
-	 * variable.
-	 * 
-	 * @return	<code>bot-name</code>
-	 * @since	1.0.0
-	 */
-	private static String getBotName() {
-		return privateJsonObject.get(BOT_NAME).toString();
+	private static void putRequired(Map<String, String> values, JSONObject json, String key) {
+		Object value = json.get(key);
+		
+		if (value != null)
+			values.put(key, value.toString());
 	}
 	
 	/**
 	 * Description:<br>
-	 * Retrieves the owner's member ID from the <code>privateJsonObject</code>
-	 * variable.
+	 * Retrieves an optional value from the parsed file.
 	 * 
-	 * @return	<code>owner-ID</code>
-	 * @since	1.0.0
+	 * @param json			the parsed file
+	 * @param key			the key of the optional value
+	 * @param defaultValue	the value used if the key is not in the file
+	 * @return				<code>optional-value</code>
+	 * @since				1.1.0
 	 */
-	private static String getOwnerId() {
-		return privateJsonObject.get(OWNER_ID).toString();
+	private static String getOptional(JSONObject json, String key, String defaultValue) {
+		Object value = json.get(key);
+		
+		return (value == null) ? defaultValue : value.toString();
 	}
 	
 	/**
 	 * Description:<br>
-	 * Retrieves the value of any key stored inside the <code>
-	 * defaults</code> variable.
+	 * Prints a change to the settings in the console.
 	 * 
-	 * @return	<code>key's-value</code>
-	 * @since	1.0.0
+	 * @param message	the change to report
+	 * @since			1.1.0
 	 */
-	public static String get(String key) {
-		return defaults.get(key).toString();
+	private static void report(String message) {
+		System.out.println("CONFIG: " + message);
 	}
 }
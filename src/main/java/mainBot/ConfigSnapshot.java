@@ -0,0 +1,221 @@
+package mainBot;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Description:<br>
+ * The ConfigSnapshot class holds every value of the config file at one
+ * point in time. Each value is read, checked and converted once, when the
+ * snapshot is built, and is then a plain field, so reading a setting on
+ * every message costs no more than reading a field. Snapshots can't be
+ * changed once built. Reloading the config file builds a new snapshot,
+ * which <code>Config</code> swaps in as a whole, so a setting is never
+ * seen half changed.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public final class ConfigSnapshot {
+
+	public final String token;
+	public final String commandPrefix;
+	public final String adminRole;
+	public final String activity;
+	public final String botName;
+	public final long ownerId;
+
+	public final int commandThreads;
+	public final int guildQueueDepth;
+	public final int rateMemberBurst;
+	public final int rateMemberRefillMs;
+	public final int rateGuildBurst;
+	public final int rateGuildRefillMs;
+	public final int bulkConcurrency;
+	public final int bootstrapParallelism;
+	public final boolean bootstrapDryRun;
+
+	public final String gatewayIntents;
+	public final String cacheFlags;
+	public final String chunking;
+	public final String memberCache;
+	public final int memberCacheSize;
+	public final String fullMemberGuilds;
+	public final String shardTotal;
+	public final String shardRange;
+	public final int shardReadyTimeoutS;
+
+	public final boolean clusterNode;
+	public final int clusterPort;
+	public final int clusterNodes;
+	public final int clusterConcurrency;
+	public final String clusterSecret;
+
+	public final boolean headless;
+
+	// The raw values the snapshot was built from, used to tell which settings changed
+	final Map<String, String> values;
+
+	/**
+	 * Description:<br>
+	 * Builds a snapshot from the values of the config file, with any
+	 * optional value that was left out already filled in.
+	 *
+	 * @param values	<code>key-value</code> of every setting
+	 * @throws	IllegalArgumentException	if a required value is missing,
+	 * 										or a number or ID isn't valid
+	 * @since	1.1.0
+	 */
+	ConfigSnapshot(Map<String, String> values) {
+		this.values = Collections.unmodifiableMap(new HashMap<>(values));
+
+		token = required(Config.TOKEN);
+		commandPrefix = required(Config.COMMAND_PREFIX);
+		adminRole = required(Config.ADMIN_ROLE);
+		activity = required(Config.ACTIVITY);
+		botName = required(Config.BOT_NAME);
+		ownerId = id(Config.OWNER_ID);
+
+		commandThreads = atLeastOne(Config.COMMAND_THREADS);
+		guildQueueDepth = atLeastOne(Config.GUILD_QUEUE_DEPTH);
+		rateMemberBurst = atLeastOne(Config.RATE_MEMBER_BURST);
+		rateMemberRefillMs = atLeastOne(Config.RATE_MEMBER_REFILL_MS);
+		rateGuildBurst = atLeastOne(Config.RATE_GUILD_BURST);
+		rateGuildRefillMs = atLeastOne(Config.RATE_GUILD_REFILL_MS);
+		bulkConcurrency = atLeastOne(Config.BULK_CONCURRENCY);
+		bootstrapParallelism = atLeastOne(Config.BOOTSTRAP_PARALLELISM);
+		bootstrapDryRun = flag(Config.BOOTSTRAP_DRY_RUN);
+
+		gatewayIntents = required(Config.GATEWAY_INTENTS).trim();
+		cacheFlags = required(Config.CACHE_FLAGS).trim();
+		chunking = required(Config.CHUNKING).trim();
+		memberCache = required(Config.MEMBER_CACHE).trim();
+		memberCacheSize = atLeastOne(Config.MEMBER_CACHE_SIZE);
+		fullMemberGuilds = required(Config.FULL_MEMBER_GUILDS).trim();
+		shardTotal = required(Config.SHARD_TOTAL).trim();
+		shardRange = required(Config.SHARD_RANGE).trim();
+		shardReadyTimeoutS = atLeastOne(Config.SHARD_READY_TIMEOUT_S);
+
+		clusterNode = required(Config.CLUSTER_MODE).trim().equalsIgnoreCase("NODE");
+		clusterPort = number(Config.CLUSTER_PORT);
+		clusterNodes = atLeastOne(Config.CLUSTER_NODES);
+		clusterConcurrency = atLeastOne(Config.CLUSTER_CONCURRENCY);
+		clusterSecret = required(Config.CLUSTER_SECRET).trim();
+
+		headless = flag(Config.HEADLESS);
+
+		if (!shardTotal.equalsIgnoreCase("AUTO"))
+			number(Config.SHARD_TOTAL);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the raw value of any setting, as it was written in the
+	 * config file.
+	 *
+	 * @param key	the key of the setting
+	 * @return		<code>value</code>, or <code>null</code> if there is no
+	 * 				such setting
+	 * @since		1.1.0
+	 */
+	public String get(String key) {
+		return values.get(key);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a value that must be in the config file.
+	 *
+	 * @param key	the key of the value
+	 * @return		<code>value</code>
+	 * @throws	IllegalArgumentException	if the value is missing
+	 * @since	1.1.0
+	 */
+	private String required(String key) {
+		String value = values.get(key);
+
+		if (value == null)
+			throw new IllegalArgumentException(key + " is missing");
+
+		return value;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a value as a number.
+	 *
+	 * @param key	the key of the value
+	 * @return		<code>number</code>
+	 * @throws	IllegalArgumentException	if the value is missing or isn't
+	 * 										a number
+	 * @since	1.1.0
+	 */
+	private int number(String key) {
+		String value = required(key).trim();
+
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(key + " must be a number, not \"" + value + "\"");
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a value as a number, raising it to one if it is lower,
+	 * for settings such as thread counts that can't be zero.
+	 *
+	 * @param key	the key of the value
+	 * @return		<code>number</code>
+	 * @throws	IllegalArgumentException	if the value is missing or isn't
+	 * 										a number
+	 * @since	1.1.0
+	 */
+	private int atLeastOne(String key) {
+		return Math.max(1, number(key));
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a value as <code>true</code> or <code>false</code>.
+	 *
+	 * @param key	the key of the value
+	 * @return		<code>true</code> if the value is <code>true</code>;
+	 * 				<code>false</code> otherwise
+	 * @throws	IllegalArgumentException	if the value is missing
+	 * @since	1.1.0
+	 */
+	private boolean flag(String key) {
+		return Boolean.parseBoolean(required(key).trim());
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a value as a Discord ID.
+	 *
+	 * @param key	the key of the value
+	 * @return		<code>ID</code>
+	 * @throws	IllegalArgumentException	if the value is missing or isn't
+	 * 										a valid ID
+	 * @since	1.1.0
+	 */
+	private long id(String key) {
+		String value = required(key).trim();
+		long id;
+
+		try {
+			id = Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			id = 0;
+		}
+
+		if (id <= 0)
+			throw new IllegalArgumentException(key + " must be a Discord ID, not \"" + value + "\"");
+
+		return id;
+	}
+}
@@ -0,0 +1,404 @@
+package mainBot;
+
+import java.util.EnumSet;
+import java.util.Locale;
+
+import commands.util.CommandObject;
+import events.util.EventDispatcher;
+import events.util.EventObject;
+import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.sharding.DefaultShardManagerBuilder;
+import net.dv8tion.jda.api.utils.ChunkingFilter;
+import net.dv8tion.jda.api.utils.ConcurrentSessionController;
+import net.dv8tion.jda.api.utils.MemberCachePolicy;
+import net.dv8tion.jda.api.utils.cache.CacheFlag;
+
+/**
+ * Description:<br>
+ * The GatewaySettings class decides what the bot asks Discord for when it
+ * logs in: which gateway intents it subscribes to, which cache flags it
+ * enables, which guilds have their members downloaded, and which members
+ * stay in memory. Every intent and cache flag costs memory and traffic, so
+ * by default only what the commands and events declare through their
+ * <code>getIntents</code> and <code>getCacheFlags</code> methods is enabled,
+ * along with the messages the Handler reads.
+ * <br>
+ * Each setting can be changed in the config file. <code>GATEWAY_INTENTS</code>
+ * and <code>CACHE_FLAGS</code> take <code>AUTO</code>, <code>ALL</code>,
+ * <code>NONE</code>, or a comma separated list of names.
+ * <br>
+ * Only the guilds listed in <code>FULL_MEMBER_GUILDS</code> have every
+ * member downloaded and kept. In any other guild, members are loaded when
+ * a command needs them, and only the <code>MEMBER_CACHE_SIZE</code> most
+ * recently seen are kept. <code>CHUNKING</code> and <code>MEMBER_CACHE</code>
+ * can instead be set to <code>ALL</code> or <code>NONE</code>, and
+ * <code>MEMBER_CACHE</code> also takes <code>DEFAULT</code> and
+ * <code>LRU</code>.
+ * <br>
+ * The bot runs as one or more shards. <code>SHARD_TOTAL</code> sets how
+ * many shards the bot has across every process, or <code>AUTO</code> for
+ * the number Discord recommends, and <code>SHARD_RANGE</code>, such as
+ * <code>0-3</code>, limits which of them this process runs. In a
+ * cluster, the <code>ClusterCoordinator</code> decides both instead.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class GatewaySettings {
+
+	private static final String AUTO = "AUTO";
+	private static final String ALL = "ALL";
+	private static final String NONE = "NONE";
+
+	// The intents the shards logged in with, so features that rely on an intent can tell if they get its events
+	private static volatile EnumSet<GatewayIntent> enabled = EnumSet.noneOf(GatewayIntent.class);
+
+	/**
+	 * Description:<br>
+	 * Creates the builder for the bot's shards, with every setting applied.
+	 * Shards log in through a session controller that lets as many of them
+	 * identify at once as Discord allows for the bot.
+	 *
+	 * @param token		the bot's token
+	 * @return			<code>shard-manager-builder</code>
+	 * @since			1.1.0
+	 */
+	public static DefaultShardManagerBuilder createBuilder(String token) {
+		ConfigSnapshot config = Config.current();
+		EnumSet<GatewayIntent> intents = getIntents();
+		EnumSet<CacheFlag> cacheFlags = getCacheFlags(intents);
+		long [] fullGuilds = getFullGuilds();
+
+		enabled = intents;
+
+		System.out.println("GATEWAY: intents=" + intents + " cache=" + cacheFlags
+				+ " chunking=" + config.chunking + " members=" + config.memberCache
+				+ " fullGuilds=" + fullGuilds.length
+				+ " shards=" + config.shardTotal + " range=" + config.shardRange);
+
+		// A light builder starts without any cache flags, so only the chosen ones are enabled
+		DefaultShardManagerBuilder builder = DefaultShardManagerBuilder
+				.createLight(token, intents)
+				.enableCache(cacheFlags)
+				.setChunkingFilter(getChunkingFilter(intents, fullGuilds))
+				.setMemberCachePolicy(getMemberCachePolicy(intents, fullGuilds))
+				.setEventManagerProvider(shardId -> new EventDispatcher());
+
+		// In a cluster, the coordinator decides which shards this process runs and when they log in
+		if (ClusterNode.isConnected())
+		{
+			return builder
+					.setShardsTotal(ClusterNode.getShardTotal())
+					.setShards(ClusterNode.getFirstShard(), ClusterNode.getLastShard())
+					.setSessionController(new ClusterNode.Sessions());
+		}
+
+		builder.setSessionController(new ConcurrentSessionController());
+
+		String total = config.shardTotal;
+
+		if (!total.equalsIgnoreCase(AUTO))
+			builder.setShardsTotal(Integer.parseInt(total));
+
+		int [] range = getShardRange();
+
+		if (range != null)
+			builder.setShards(range[0], range[1]);
+
+		return builder;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the IDs of the shards this process runs.
+	 *
+	 * @param total		the total number of shards of the bot
+	 * @return			<code>shard-IDs</code>
+	 * @since			1.1.0
+	 */
+	public static int [] getShardIds(int total) {
+		int first = 0;
+		int last = total - 1;
+
+		if (ClusterNode.isConnected())
+		{
+			first = ClusterNode.getFirstShard();
+			last = ClusterNode.getLastShard();
+		}
+		else
+		{
+			int [] range = getShardRange();
+
+			if (range != null)
+			{
+				first = range[0];
+				last = range[1];
+			}
+		}
+
+		int [] ids = new int [Math.max(0, last - first + 1)];
+
+		for (int i = 0; i < ids.length; i++)
+		{
+			ids[i] = first + i;
+		}
+
+		return ids;
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads the shards this process runs from the config file.
+	 *
+	 * @return	<code>{first-shard, last-shard}</code>, or <code>null</code>
+	 * 			to run every shard
+	 * @throws	NumberFormatException	if the range isn't two numbers
+	 * @since	1.1.0
+	 */
+	private static int [] getShardRange() {
+		String setting = Config.current().shardRange;
+
+		if (setting.isEmpty())
+			return null;
+
+		int dash = setting.indexOf('-');
+
+		if (dash < 0)
+		{
+			int shard = Integer.parseInt(setting);
+			return new int [] {shard, shard};
+		}
+
+		return new int [] {Integer.parseInt(setting.substring(0, dash).trim()), Integer.parseInt(setting.substring(dash + 1).trim())};
+	}
+
+	/**
+	 * Description:<br>
+	 * Determines whether the shards subscribe to an intent, and so receive
+	 * its events.
+	 *
+	 * @param intent	the intent to check
+	 * @return			<code>true</code> if the intent is enabled
+	 * @since			1.1.0
+	 */
+	public static boolean isEnabled(GatewayIntent intent) {
+		return enabled.contains(intent);
+	}
+
+	/**
+	 * Description:<br>
+	 * Works out the intents to subscribe to. Commands and events must be
+	 * initialized first, so their needs are known.
+	 *
+	 * @return	<code>gateway-intents</code>
+	 * @since	1.1.0
+	 */
+	private static EnumSet<GatewayIntent> getIntents() {
+		String setting = Config.current().gatewayIntents;
+
+		if (!setting.equalsIgnoreCase(AUTO))
+			return parse(GatewayIntent.class, "GATEWAY_INTENTS", setting);
+
+		// The Handler reads the messages of every guild
+		EnumSet<GatewayIntent> intents = EnumSet.of(GatewayIntent.GUILD_MESSAGES);
+
+		for (CommandObject command : CommandObject.commands)
+		{
+			intents.addAll(command.getIntents());
+		}
+
+		for (EventObject event : EventObject.events)
+		{
+			intents.addAll(event.getIntents());
+		}
+
+		return intents;
+	}
+
+	/**
+	 * Description:<br>
+	 * Works out the cache flags to enable. Flags whose intent isn't
+	 * subscribed to are left out, since their cache would never be filled.
+	 *
+	 * @param intents	the intents the bot subscribes to
+	 * @return			<code>cache-flags</code>
+	 * @since			1.1.0
+	 */
+	private static EnumSet<CacheFlag> getCacheFlags(EnumSet<GatewayIntent> intents) {
+		String setting = Config.current().cacheFlags;
+		EnumSet<CacheFlag> flags;
+
+		if (setting.equalsIgnoreCase(AUTO))
+		{
+			flags = EnumSet.noneOf(CacheFlag.class);
+
+			for (CommandObject command : CommandObject.commands)
+			{
+				flags.addAll(command.getCacheFlags());
+			}
+
+			for (EventObject event : EventObject.events)
+			{
+				flags.addAll(event.getCacheFlags());
+			}
+		}
+		else
+			flags = parse(CacheFlag.class, "CACHE_FLAGS", setting);
+
+		flags.removeIf(flag -> {
+			GatewayIntent required = flag.getRequiredIntent();
+
+			if (required == null || intents.contains(required))
+				return false;
+
+			System.out.println("GATEWAY: cache flag " + flag + " needs the " + required + " intent, so it is disabled");
+			return true;
+		});
+
+		return flags;
+	}
+
+	/**
+	 * Description:<br>
+	 * Works out which guilds have every member downloaded when the bot
+	 * logs in. Downloading members needs the <code>GUILD_MEMBERS</code> intent.
+	 *
+	 * @param intents		the intents the bot subscribes to
+	 * @param fullGuilds	IDs of the guilds that keep every member
+	 * @return				<code>chunking-filter</code>
+	 * @since				1.1.0
+	 */
+	private static ChunkingFilter getChunkingFilter(EnumSet<GatewayIntent> intents, long [] fullGuilds) {
+		String setting = Config.current().chunking;
+
+		if (!intents.contains(GatewayIntent.GUILD_MEMBERS) || setting.equalsIgnoreCase(NONE))
+			return ChunkingFilter.NONE;
+
+		if (setting.equalsIgnoreCase(ALL))
+			return ChunkingFilter.ALL;
+
+		return ChunkingFilter.include(fullGuilds);
+	}
+
+	/**
+	 * Description:<br>
+	 * Works out which members are kept in memory. By default, every member
+	 * of the guilds that keep every member is kept, along with the owner of
+	 * each guild and the most recently seen members of every other guild.
+	 * Keeping members that aren't downloaded up front needs the
+	 * <code>GUILD_MEMBERS</code> intent, so they are removed when they leave.
+	 *
+	 * @param intents		the intents the bot subscribes to
+	 * @param fullGuilds	IDs of the guilds that keep every member
+	 * @return				<code>member-cache-policy</code>
+	 * @since				1.1.0
+	 */
+	private static MemberCachePolicy getMemberCachePolicy(EnumSet<GatewayIntent> intents, long [] fullGuilds) {
+		String setting = Config.current().memberCache.toUpperCase(Locale.ROOT);
+		boolean canTrack = intents.contains(GatewayIntent.GUILD_MEMBERS);
+
+		switch (setting)
+		{
+			case ALL:
+				return canTrack ? MemberCachePolicy.ALL : MemberCachePolicy.DEFAULT;
+			case NONE:
+				return MemberCachePolicy.NONE;
+			case "DEFAULT":
+				return MemberCachePolicy.DEFAULT;
+			default:
+				break;
+		}
+
+		if (!canTrack)
+			return MemberCachePolicy.DEFAULT;
+
+		MemberCachePolicy recent = MemberCachePolicy.lru(Config.current().memberCacheSize);
+
+		if (setting.equals("LRU"))
+			return MemberCachePolicy.OWNER.or(recent);
+
+		MemberCachePolicy full = member -> {
+			long guildId = member.getGuild().getIdLong();
+
+			for (long fullGuild : fullGuilds)
+			{
+				if (fullGuild == guildId)
+					return true;
+			}
+
+			return false;
+		};
+
+		// Members of the full guilds never reach the LRU, so they aren't pushed out by other guilds
+		return full.or(MemberCachePolicy.OWNER).or(recent);
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads the IDs of the guilds that keep every member from the config file.
+	 *
+	 * @return	<code>guild-IDs</code>
+	 * @since	1.1.0
+	 */
+	private static long [] getFullGuilds() {
+		String setting = Config.current().fullMemberGuilds;
+
+		if (setting.isEmpty())
+			return new long [0];
+
+		String [] values = setting.split(",");
+		long [] ids = new long [values.length];
+		int count = 0;
+
+		for (String value : values)
+		{
+			try {
+				ids[count++] = Long.parseLong(value.trim());
+			} catch (NumberFormatException e) {
+				count--;
+				System.out.println("GATEWAY: " + value.trim() + " in FULL_MEMBER_GUILDS is not a guild ID");
+			}
+		}
+
+		long [] result = new long [count];
+		System.arraycopy(ids, 0, result, 0, count);
+
+		return result;
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads a setting that lists the names of an enum, such as intents.
+	 * Names that don't exist are reported and left out.
+	 *
+	 * @param type		the enum
+	 * @param key		the key of the setting, used when reporting a bad name
+	 * @param setting	<code>ALL</code>, <code>NONE</code>, or a comma
+	 * 					separated list of names
+	 * @return			<code>values</code>
+	 * @since			1.1.0
+	 */
+	private static <E extends Enum<E>> EnumSet<E> parse(Class<E> type, String key, String setting) {
+		if (setting.equalsIgnoreCase(ALL))
+			return EnumSet.allOf(type);
+
+		EnumSet<E> values = EnumSet.noneOf(type);
+
+		if (setting.isEmpty() || setting.equalsIgnoreCase(NONE))
+			return values;
+
+		for (String name : setting.split(","))
+		{
+			try {
+				values.add(Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT)));
+			} catch (IllegalArgumentException e) {
+				System.out.println("GATEWAY: " + name.trim() + " in " + key + " is not a known value");
+			}
+		}
+
+		return values;
+	}
+}
@@ -0,0 +1,308 @@
+package mainBot;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.dv8tion.jda.api.entities.Guild;
+
+/**
+ * Description:<br>
+ * The GuildBootstrap class sets up each guild that the bot is in, so that
+ * it matches the standard <code>GuildTemplate</code>: the admin role, the
+ * general channel, the bot role and the silenced role. The
+ * <code>GuildReconciler</code> works out which requests each guild needs,
+ * and a guild that is already set up needs none. With
+ * <code>BOOTSTRAP_DRY_RUN</code> set in the config file, the planned
+ * changes are only reported.
+ * <br>
+ * Every request is chained onto the ones before it, so setting up a guild
+ * never holds a thread while it waits. Several
+ * guilds are set up at the same time, up to <code>BOOTSTRAP_PARALLELISM</code>
+ * in the config file, and JDA spaces out the requests to stay within
+ * Discord's rate limits. Each guild's setup runs in that guild's lane of
+ * the shared <code>GuildLanes</code>, so commands requested while the
+ * guild is still being set up wait until it is done.
+ * <br>
+ * Once a guild is set up, its <code>GuildFingerprints</code> are saved.
+ * On the next start, guilds that still match their fingerprint are
+ * skipped without comparing them against the template.
+ * <br>
+ * The time each guild took, and how many are done, is reported in the
+ * console and the dev panel as they finish.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class GuildBootstrap {
+
+	// Number of guilds that may be set up at the same time, and the setups waiting for a turn
+	private static int permits;
+	private static final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+	
+	private static volatile GuildTemplate template;
+	private static volatile boolean dryRun;
+
+	/**
+	 * Description:<br>
+	 * Reads how many guilds may be set up at the same time, and whether
+	 * this is a dry run, from the config file, and builds the template
+	 * guilds are set up with.
+	 *
+	 * @since	1.1.0
+	 */
+	public static void init() {
+		synchronized (waiting)
+		{
+			permits = Config.current().bootstrapParallelism;
+		}
+		
+		template = GuildTemplate.standard();
+		dryRun = Config.current().bootstrapDryRun;
+		
+		GuildFingerprints.load();
+	}
+
+	/**
+	 * Description:<br>
+	 * Builds the template again, after a setting it uses, such as the
+	 * admin role's name, was changed. Guilds the bot joins from now on
+	 * are set up with the new template. Guilds that renamed their own
+	 * roles are set up with a template of their own.
+	 *
+	 * @since	1.1.0
+	 */
+	public static void refreshTemplate() {
+		template = GuildTemplate.standard();
+	}
+
+	/**
+	 * Description:<br>
+	 * Sets up every guild, a few at a time.
+	 *
+	 * @param guilds	the guilds the bot is in
+	 * @return			<code>future</code> that finishes once every guild is
+	 * 					set up, whether or not each one succeeded
+	 * @since			1.1.0
+	 */
+	public static CompletableFuture<Void> initAll(List<Guild> guilds) {
+		long start = System.nanoTime();
+		int total = guilds.size();
+		AtomicInteger finished = new AtomicInteger();
+		AtomicInteger unchanged = new AtomicInteger();
+		List<CompletableFuture<Void>> setups = new ArrayList<>(total);
+
+		for (Guild guild : guilds)
+		{
+			long guildStart = System.nanoTime();
+
+			CompletableFuture<Void> setup = schedule(guild)
+					.whenComplete((changed, error) -> {
+						int count = finished.incrementAndGet();
+
+						if (error == null && !changed)
+						{
+							unchanged.incrementAndGet();
+							return;
+						}
+
+						long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - guildStart);
+
+						report("set up " + guild.getName() + " in " + ms + " ms (" + count + "/" + total + ")"
+								+ (error == null ? "" : ", failed: " + error.getMessage()));
+					})
+					.thenRun(() -> {})
+					.exceptionally(error -> null);
+
+			setups.add(setup);
+		}
+
+		return CompletableFuture.allOf(setups.toArray(new CompletableFuture [0]))
+				.thenRun(() -> {
+					GuildFingerprints.save();
+
+					report("set up " + total + " guilds in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms, "
+							+ unchanged.get() + " already matched their fingerprint");
+				});
+	}
+
+	/**
+	 * Description:<br>
+	 * Sets up a single guild, such as one the bot just joined, and saves
+	 * its fingerprint afterwards.
+	 *
+	 * @param guild		the guild to set up
+	 * @return			<code>future</code> that finishes once the guild is set up
+	 * @since			1.1.0
+	 */
+	public static CompletableFuture<Void> initGuild(Guild guild) {
+		return schedule(guild).thenRun(GuildFingerprints::save);
+	}
+
+	/**
+	 * Description:<br>
+	 * Places the setup of a guild in the guild's lane, where it waits for
+	 * a turn before starting.
+	 *
+	 * @param guild		the guild to set up
+	 * @return			<code>future</code> that finishes with <code>true</code>
+	 * 					once the guild is set up, or with <code>false</code> if
+	 * 					it already matched its fingerprint
+	 * @since			1.1.0
+	 */
+	private static CompletableFuture<Boolean> schedule(Guild guild) {
+		CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+		Runnable setup = () -> {
+			// The template depends on the guild's role names, so its saved settings are read first
+			GuildSettingsStore.load(guild.getIdLong());
+
+			acquire()
+				.thenCompose(turn -> setup(guild))
+				.whenComplete((done, error) -> {
+					release();
+
+					if (error == null)
+						result.complete(done);
+					else
+						result.completeExceptionally(error);
+				});
+		};
+
+		// The lane is only busy once the turn starts, so it holds on to its commands until then
+		boolean accepted = GuildLanes.shared.submitAsync(guild.getIdLong(), () -> {
+			setup.run();
+			return result;
+		});
+
+		if (!accepted)
+			setup.run();
+
+		return result;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the template a guild is set up with. Most guilds keep the
+	 * default role names, so they share the same template.
+	 *
+	 * @param guild		the guild
+	 * @return			<code>guild-template</code>
+	 * @since			1.1.0
+	 */
+	private static GuildTemplate getTemplate(Guild guild) {
+		GuildSettings settings = GuildSettingsStore.get(guild);
+
+		if (!settings.isChanged(GuildSettings.ADMIN_ROLE) && !settings.isChanged(GuildSettings.SILENCED_ROLE))
+			return template;
+
+		return GuildTemplate.standard(settings);
+	}
+
+	/**
+	 * Description:<br>
+	 * Sets up a single guild by comparing it against the template and
+	 * sending only the requests it needs. A guild that still matches its
+	 * fingerprint is skipped. In a dry run, the requests are reported
+	 * instead of sent.
+	 *
+	 * @param guild		the guild to set up
+	 * @return			<code>future</code> that finishes with whether the
+	 * 					guild had to be compared against the template
+	 * @since			1.1.0
+	 */
+	private static CompletableFuture<Boolean> setup(Guild guild) {
+		GuildTemplate guildTemplate = getTemplate(guild);
+
+		if (GuildFingerprints.isUnchanged(guild, guildTemplate))
+			return CompletableFuture.completedFuture(false);
+
+		GuildReconciler.Plan plan = GuildReconciler.diff(guild, guildTemplate);
+
+		if (dryRun)
+		{
+			for (String change : plan.describe())
+			{
+				report("would " + change + " in " + guild.getName());
+			}
+
+			return CompletableFuture.completedFuture(true);
+		}
+
+		// What was applied is fingerprinted even if some requests failed, so the guild isn't planned again on every start
+		return plan.apply()
+				.thenApply(failed -> {
+					for (String step : failed)
+					{
+						report("could not " + step + " in " + guild.getName());
+					}
+
+					GuildFingerprints.record(guild, guildTemplate);
+					return true;
+				});
+	}
+
+	/**
+	 * Description:<br>
+	 * Waits for a turn to set up a guild.
+	 *
+	 * @return	<code>future</code> that finishes once it is this setup's turn
+	 * @since	1.1.0
+	 */
+	private static CompletableFuture<Void> acquire() {
+		synchronized (waiting)
+		{
+			if (permits > 0)
+			{
+				permits--;
+				return CompletableFuture.completedFuture(null);
+			}
+
+			CompletableFuture<Void> turn = new CompletableFuture<>();
+			waiting.add(turn);
+			return turn;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Hands the turn of a finished setup to the next one waiting.
+	 *
+	 * @since	1.1.0
+	 */
+	private static void release() {
+		CompletableFuture<Void> next;
+
+		synchronized (waiting)
+		{
+			next = waiting.poll();
+
+			if (next == null)
+			{
+				permits++;
+				return;
+			}
+		}
+
+		next.complete(null);
+	}
+
+	/**
+	 * Description:<br>
+	 * Prints the progress of the setup in the console, and in the dev
+	 * panel once the GUI is up.
+	 *
+	 * @param message	the progress to report
+	 * @since			1.1.0
+	 */
+	private static void report(String message) {
+		System.out.println("BOOTSTRAP: " + message);
+		Bot.observer.devMessage("BOOTSTRAP: " + message);
+	}
+}
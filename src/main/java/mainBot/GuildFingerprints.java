@@ -0,0 +1,393 @@
+package mainBot;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import mainBot.GuildTemplate.ChannelSpec;
+import mainBot.GuildTemplate.OverrideSpec;
+import mainBot.GuildTemplate.RoleSpec;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.GuildChannel;
+import net.dv8tion.jda.api.entities.PermissionOverride;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.TextChannel;
+
+/**
+ * Description:<br>
+ * The GuildFingerprints class remembers, between restarts, which guilds
+ * already match the <code>GuildTemplate</code>. After a guild is set up,
+ * the IDs of its template roles and channels are saved along with a hash
+ * of everything the template cares about: the order of its roles, whether
+ * the bot has its role, and the permission overrides on every channel.
+ * <br>
+ * On the next start, the saved IDs are looked up directly in JDA's cache
+ * and the hash is worked out again. If it still matches, nothing about
+ * the guild has changed and it doesn't need to be compared against the
+ * template at all. Since the bot finds these roles and channels by name,
+ * one that was renamed while the bot was offline counts as changed, and
+ * the guild is compared against the template again. The fingerprints are
+ * saved in <code>json/fingerprints.json</code>, or in a file of its own
+ * for each node of a cluster.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class GuildFingerprints {
+
+	// Each node of a cluster keeps its own file, since it only sees its own guilds
+	private static volatile String file = "json/fingerprints.json";
+
+	// Stands in for the hash when a saved role or channel no longer exists, or was renamed
+	private static final long MISSING = 0;
+
+	private static final Map<Long, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+
+	/**
+	 * Description:<br>
+	 * The saved state of a single guild. The role and channel IDs are in
+	 * the same order as in the template.
+	 *
+	 * @since	1.1.0
+	 */
+	private static class Fingerprint {
+		final long [] roles;
+		final long [] channels;
+		final long hash;
+
+		Fingerprint(long [] roles, long [] channels, long hash) {
+			this.roles = roles;
+			this.channels = channels;
+			this.hash = hash;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Saves the fingerprints in another file from now on. Lets the startup
+	 * benchmark run without touching the bot's own fingerprints.
+	 *
+	 * @param path	the file to use
+	 * @since		1.1.0
+	 */
+	static void useFile(String path) {
+		file = path;
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads the saved fingerprints, if there are any.
+	 *
+	 * @since	1.1.0
+	 */
+	public static void load() {
+		fingerprints.clear();
+
+		if (ClusterNode.isConnected())
+			file = "json/fingerprints-node" + ClusterNode.getNode() + ".json";
+
+		if (!Files.exists(Paths.get(file)))
+			return;
+
+		JSONObject json = Bot.parseJson(file);
+
+		if (json == null)
+			return;
+
+		for (Object key : json.keySet())
+		{
+			try {
+				JSONObject entry = (JSONObject) json.get(key);
+
+				fingerprints.put(Long.parseLong(key.toString()), new Fingerprint(
+						toLongs((JSONArray) entry.get("roles")),
+						toLongs((JSONArray) entry.get("channels")),
+						((Number) entry.get("hash")).longValue()));
+			} catch (RuntimeException e) {
+				// A damaged entry only means that guild is compared against the template again
+			}
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Determines whether a guild still matches its saved fingerprint.
+	 *
+	 * @param guild		the guild to check
+	 * @param template	the template the guild was set up with
+	 * @return			<code>true</code> if nothing the template cares about
+	 * 					has changed; <code>false</code> if it has, or the guild
+	 * 					has no fingerprint
+	 * @since			1.1.0
+	 */
+	public static boolean isUnchanged(Guild guild, GuildTemplate template) {
+		Fingerprint saved = fingerprints.get(guild.getIdLong());
+
+		if (saved == null || saved.roles.length != template.roles.size() || saved.channels.length != template.channels.size())
+			return false;
+
+		long hash = hash(guild, template, saved.roles, saved.channels);
+
+		return hash != MISSING && hash == saved.hash;
+	}
+
+	/**
+	 * Description:<br>
+	 * Saves the fingerprint of a guild that was just set up. The template's
+	 * roles and channels are found by name this once, so later checks can
+	 * use their IDs.
+	 *
+	 * @param guild		the guild that was set up
+	 * @param template	the template it was set up with
+	 * @since			1.1.0
+	 */
+	public static void record(Guild guild, GuildTemplate template) {
+		long [] roles = new long [template.roles.size()];
+		long [] channels = new long [template.channels.size()];
+
+		for (int i = 0; i < roles.length; i++)
+		{
+			List<Role> found = guild.getRolesByName(template.roles.get(i).name, true);
+			roles[i] = found.isEmpty() ? MISSING : found.get(0).getIdLong();
+		}
+
+		for (int i = 0; i < channels.length; i++)
+		{
+			List<TextChannel> found = guild.getTextChannelsByName(template.channels.get(i).name, true);
+			channels[i] = found.isEmpty() ? MISSING : found.get(0).getIdLong();
+		}
+
+		long hash = hash(guild, template, roles, channels);
+
+		if (hash == MISSING)
+			fingerprints.remove(guild.getIdLong());
+		else
+			fingerprints.put(guild.getIdLong(), new Fingerprint(roles, channels, hash));
+	}
+
+	/**
+	 * Description:<br>
+	 * Forgets the fingerprint of a guild the bot is no longer in.
+	 *
+	 * @param guildId	ID of the guild
+	 * @since			1.1.0
+	 */
+	public static void forget(long guildId) {
+		fingerprints.remove(guildId);
+	}
+
+	/**
+	 * Description:<br>
+	 * Writes every fingerprint to the file. The file is written under a
+	 * temporary name first and then moved into place, so a crash while
+	 * saving never leaves a half-written file behind.
+	 *
+	 * @since	1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static synchronized void save() {
+		JSONObject json = new JSONObject();
+
+		for (Map.Entry<Long, Fingerprint> entry : fingerprints.entrySet())
+		{
+			JSONObject value = new JSONObject();
+			value.put("roles", toJson(entry.getValue().roles));
+			value.put("channels", toJson(entry.getValue().channels));
+			value.put("hash", entry.getValue().hash);
+
+			json.put(entry.getKey().toString(), value);
+		}
+
+		Path path = Paths.get(file);
+		Path temp = Paths.get(file + ".tmp");
+
+		try {
+			Files.createDirectories(path.getParent());
+
+			try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8))
+			{
+				out.write(json.toJSONString());
+			}
+
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Works out the hash of everything the template cares about in a guild,
+	 * finding its roles and channels by their IDs.
+	 *
+	 * @param guild		the guild
+	 * @param template	the template
+	 * @param roleIds	IDs of the template's roles
+	 * @param channelIds	IDs of the template's channels
+	 * @return			<code>hash</code>, or <code>MISSING</code> if one of the
+	 * 					roles or channels doesn't exist, or no longer has
+	 * 					its name from the template
+	 * @since			1.1.0
+	 */
+	private static long hash(Guild guild, GuildTemplate template, long [] roleIds, long [] channelIds) {
+		Role [] roles = new Role [roleIds.length];
+		long hash = 17;
+
+		for (int i = 0; i < roles.length; i++)
+		{
+			RoleSpec spec = template.roles.get(i);
+			roles[i] = guild.getRoleById(roleIds[i]);
+
+			if (roles[i] == null || !roles[i].getName().equalsIgnoreCase(spec.name))
+				return MISSING;
+
+			hash = mix(hash, spec.name.hashCode());
+			hash = mix(hash, spec.permissions);
+			hash = mix(hash, roleIds[i]);
+
+			if (spec.assignToBot)
+				hash = mix(hash, guild.getSelfMember().getRoles().contains(roles[i]) ? 1 : 0);
+		}
+
+		// Only whether each role is still below its target counts, since positions shift whenever any role is added
+		for (int i = 0; i < roles.length; i++)
+		{
+			String below = template.roles.get(i).below;
+
+			if (below == null)
+				continue;
+
+			Role target = findRole(guild, template, roles, below);
+			hash = mix(hash, (target != null && roles[i].getPosition() < target.getPosition()) ? 1 : 0);
+		}
+
+		for (int i = 0; i < channelIds.length; i++)
+		{
+			ChannelSpec spec = template.channels.get(i);
+			TextChannel channel = guild.getTextChannelById(channelIds[i]);
+
+			if (channel == null || !channel.getName().equalsIgnoreCase(spec.name))
+				return MISSING;
+
+			hash = mix(hash, spec.name.hashCode());
+			hash = mix(hash, channelIds[i]);
+			hash = mixOverrides(hash, guild, template, roles, channel, spec.overrides);
+		}
+
+		for (GuildChannel channel : guild.getChannels())
+		{
+			hash = mix(hash, channel.getIdLong());
+			hash = mixOverrides(hash, guild, template, roles, channel, template.everyChannel);
+		}
+
+		// MISSING is reserved
+		return (hash == MISSING) ? 1 : hash;
+	}
+
+	/**
+	 * Description:<br>
+	 * Adds the overrides a channel has for the template's roles to a hash.
+	 *
+	 * @param hash		the hash so far
+	 * @param guild		the guild
+	 * @param template	the template
+	 * @param roles		the template's roles, in template order
+	 * @param channel	the channel
+	 * @param overrides	the overrides the template sets on the channel
+	 * @return			<code>hash</code>
+	 * @since			1.1.0
+	 */
+	private static long mixOverrides(long hash, Guild guild, GuildTemplate template, Role [] roles, GuildChannel channel, List<OverrideSpec> overrides) {
+		for (OverrideSpec spec : overrides)
+		{
+			if (!spec.appliesTo(channel.getType()))
+				continue;
+
+			Role role = findRole(guild, template, roles, spec.role);
+			PermissionOverride override = (role == null) ? null : channel.getPermissionOverride(role);
+
+			hash = mix(hash, spec.allow);
+			hash = mix(hash, spec.deny);
+			hash = mix(hash, (override == null) ? -1 : override.getAllowedRaw());
+			hash = mix(hash, (override == null) ? -1 : override.getDeniedRaw());
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Description:<br>
+	 * Finds a role an override refers to by name among the template's roles.
+	 *
+	 * @param guild		the guild
+	 * @param template	the template
+	 * @param roles		the template's roles, in template order
+	 * @param name		name of the role
+	 * @return			<code>role</code>, or <code>null</code> if it isn't one
+	 * 					of the template's roles
+	 * @since			1.1.0
+	 */
+	private static Role findRole(Guild guild, GuildTemplate template, Role [] roles, String name) {
+		if (name.equals(GuildTemplate.EVERYONE))
+			return guild.getPublicRole();
+
+		for (int i = 0; i < roles.length; i++)
+		{
+			if (template.roles.get(i).name.equalsIgnoreCase(name))
+				return roles[i];
+		}
+
+		return null;
+	}
+
+	/**
+	 * Description:<br>
+	 * Mixes a value into a hash, so that small changes spread across all
+	 * of its bits.
+	 *
+	 * @param hash	the hash so far
+	 * @param value	the value to add
+	 * @return		<code>hash</code>
+	 * @since		1.1.0
+	 */
+	private static long mix(long hash, long value) {
+		hash = (hash ^ value) * 0x9E3779B97F4A7C15L;
+		return hash ^ (hash >>> 32);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static JSONArray toJson(long [] values) {
+		JSONArray array = new JSONArray();
+
+		for (long value : values)
+		{
+			array.add(value);
+		}
+
+		return array;
+	}
+
+	private static long [] toLongs(JSONArray array) {
+		long [] values = new long [array.size()];
+
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = ((Number) array.get(i)).longValue();
+		}
+
+		return values;
+	}
+}
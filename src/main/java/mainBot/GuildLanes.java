@@ -0,0 +1,291 @@
+package mainBot;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Description:<br>
+ * The GuildLanes class runs work for many guilds on a shared set of
+ * threads, while making sure the work for a single guild runs one piece
+ * at a time, in the order it was submitted. This way a ban followed by
+ * an unban in the same guild always happens in that order, while other
+ * guilds carry on in parallel.
+ * <br>
+ * Each guild has its own lane, created the first time work is submitted
+ * for it and dropped again once it is empty. A lane only runs a single
+ * task before it moves to the back of the line, so a busy guild takes
+ * turns with every other guild instead of holding on to a thread.
+ * <br>
+ * Work that waits on Discord, such as a ban followed by its reply, can be
+ * submitted as a task that returns a future. The lane then waits for the
+ * future to finish before moving on, without holding a thread while it waits.
+ * <br>
+ * A full lane turns new work away, unless the work must never be lost.
+ * That work is added past the lane's depth instead, so whoever submits
+ * it never has to wait.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class GuildLanes {
+
+	// The lanes shared by commands and guild setup
+	public static GuildLanes shared;
+
+	private final ExecutorService pool;
+	private final int queueDepth;
+	private final ConcurrentHashMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+	/**
+	 * Description:<br>
+	 * The work waiting for a single guild. A lane is <code>scheduled</code>
+	 * while it is waiting for, or running on, a thread.
+	 *
+	 * @since	1.1.0
+	 */
+	private class Lane implements Runnable {
+		final long guildId;
+		final ArrayDeque<Supplier<? extends CompletionStage<?>>> pending = new ArrayDeque<>();
+		boolean scheduled;
+		boolean removed;
+
+		Lane(long guildId) {
+			this.guildId = guildId;
+		}
+
+		/**
+		 * Description:<br>
+		 * Starts the next task of the lane. Once the task is finished, the
+		 * lane either moves to the back of the line or is dropped if there
+		 * is nothing left.
+		 *
+		 * @since	1.1.0
+		 */
+		public void run() {
+			Supplier<? extends CompletionStage<?>> task;
+
+			synchronized (this)
+			{
+				task = pending.poll();
+			}
+
+			CompletionStage<?> stage = null;
+
+			try {
+				if (task != null)
+					stage = task.get();
+			} catch (Throwable t) {
+				t.printStackTrace();
+			}
+
+			if (stage == null)
+			{
+				next();
+				return;
+			}
+
+			stage.whenComplete((result, error) -> {
+				if (error != null)
+					error.printStackTrace();
+
+				next();
+			});
+		}
+
+		/**
+		 * Description:<br>
+		 * Moves the lane to the back of the line if it has more tasks,
+		 * otherwise drops it.
+		 *
+		 * @since	1.1.0
+		 */
+		private void next() {
+			synchronized (this)
+			{
+				if (pending.isEmpty())
+				{
+					scheduled = false;
+					removed = true;
+					lanes.remove(guildId, this);
+					return;
+				}
+			}
+
+			pool.execute(this);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Creates the threads that every lane shares.
+	 *
+	 * @param name			name given to the threads
+	 * @param threads		number of threads shared by every lane
+	 * @param queueDepth	number of tasks that may wait in a single lane
+	 * @since				1.1.0
+	 */
+	public GuildLanes(String name, int threads, int queueDepth) {
+		this(createPool(name, threads), queueDepth);
+	}
+
+	/**
+	 * Description:<br>
+	 * Creates lanes that run on threads shared with other lanes, so several
+	 * sets of lanes don't each need threads of their own.
+	 *
+	 * @param pool			the threads to run the lanes on
+	 * @param queueDepth	number of tasks that may wait in a single lane
+	 * @since				1.1.0
+	 */
+	public GuildLanes(ExecutorService pool, int queueDepth) {
+		this.pool = pool;
+		this.queueDepth = Math.max(1, queueDepth);
+	}
+
+	/**
+	 * Description:<br>
+	 * Creates threads for lanes to run on. Threads that sit idle for a
+	 * minute are stopped, and started again when there is work.
+	 *
+	 * @param name		name given to the threads
+	 * @param threads	number of threads
+	 * @return			<code>thread-pool</code>
+	 * @since			1.1.0
+	 */
+	public static ExecutorService createPool(String name, int threads) {
+		AtomicInteger count = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+
+		return executor;
+	}
+
+	/**
+	 * Description:<br>
+	 * Creates the shared lanes using the values in the config file.
+	 *
+	 * @since	1.1.0
+	 */
+	public static void init() {
+		shared = new GuildLanes("guild-lane", Config.current().commandThreads, Config.current().guildQueueDepth);
+	}
+
+	/**
+	 * Description:<br>
+	 * Adds a task to the end of a guild's lane.
+	 *
+	 * @param guildId	ID of the guild the task belongs to
+	 * @param task		the work to do
+	 * @return			<code>true</code> if the task was accepted;
+	 * 					<code>false</code> if the guild's lane is full
+	 * @since			1.1.0
+	 */
+	public boolean submit(long guildId, Runnable task) {
+		return submitAsync(guildId, () -> {
+			task.run();
+			return CompletableFuture.completedFuture(null);
+		});
+	}
+
+	/**
+	 * Description:<br>
+	 * Adds a task that returns a future to the end of a guild's lane. The
+	 * next task of the guild only starts once that future is finished.
+	 *
+	 * @param guildId	ID of the guild the task belongs to
+	 * @param task		the work to start
+	 * @return			<code>true</code> if the task was accepted;
+	 * 					<code>false</code> if the guild's lane is full
+	 * @since			1.1.0
+	 */
+	public boolean submitAsync(long guildId, Supplier<? extends CompletionStage<?>> task) {
+		return !add(guildId, task, false);
+	}
+
+	/**
+	 * Description:<br>
+	 * Adds a task to the end of a guild's lane, even if the lane is full,
+	 * so the task is never turned away and the caller never waits.
+	 *
+	 * @param guildId	ID of the guild the task belongs to
+	 * @param task		the work to do
+	 * @return			<code>true</code> if the lane was already full;
+	 * 					<code>false</code> otherwise
+	 * @since			1.1.0
+	 */
+	public boolean submitOverflowing(long guildId, Runnable task) {
+		return add(guildId, () -> {
+			task.run();
+			return CompletableFuture.completedFuture(null);
+		}, true);
+	}
+
+	/**
+	 * Description:<br>
+	 * Adds a task to the end of a guild's lane, and starts the lane if it
+	 * isn't running yet.
+	 *
+	 * @param guildId		ID of the guild the task belongs to
+	 * @param task			the work to start
+	 * @param evenIfFull	whether the task is added to a full lane too
+	 * @return				<code>true</code> if the lane was already full;
+	 * 						<code>false</code> otherwise
+	 * @since				1.1.0
+	 */
+	private boolean add(long guildId, Supplier<? extends CompletionStage<?>> task, boolean evenIfFull) {
+		while (true)
+		{
+			Lane lane = lanes.computeIfAbsent(guildId, Lane::new);
+			boolean full;
+
+			synchronized (lane)
+			{
+				// The lane was dropped in the meantime, so get a fresh one
+				if (lane.removed)
+					continue;
+
+				full = lane.pending.size() >= queueDepth;
+
+				if (full && !evenIfFull)
+					return true;
+
+				lane.pending.add(task);
+
+				if (lane.scheduled)
+					return full;
+
+				lane.scheduled = true;
+			}
+
+			pool.execute(lane);
+			return full;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the number of guilds that currently have work waiting
+	 * or running.
+	 *
+	 * @return	<code>active-lanes</code>
+	 * @since	1.1.0
+	 */
+	public int getActiveLanes() {
+		return lanes.size();
+	}
+}
@@ -0,0 +1,382 @@
+package mainBot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import mainBot.GuildTemplate.ChannelSpec;
+import mainBot.GuildTemplate.OverrideSpec;
+import mainBot.GuildTemplate.RoleSpec;
+import net.dv8tion.jda.api.entities.ChannelType;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.GuildChannel;
+import net.dv8tion.jda.api.entities.PermissionOverride;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.requests.restaction.ChannelAction;
+
+/**
+ * Description:<br>
+ * The GuildReconciler class compares a guild against a
+ * <code>GuildTemplate</code>, and plans only the requests needed to make
+ * the guild match it. Nothing is requested for anything the guild already
+ * has, so a guild that is already set up costs no requests at all.
+ * <br>
+ * The guild's roles and channels are indexed by name in a single pass
+ * over JDA's cache, instead of searching them by name for every check.
+ * <br>
+ * A plan runs in three phases: missing roles are created first, then
+ * roles are assigned and moved and missing channels are created, and
+ * finally missing overrides are added to existing channels. Each phase
+ * only starts once the one before it is done, and the requests within a
+ * phase are sent together. A request that fails, such as a role the bot
+ * isn't allowed to move, doesn't stop the rest of the plan; every failed
+ * request is collected and reported once the plan is done. A plan can
+ * also just be described, without sending anything, for a dry run.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class GuildReconciler {
+
+	private static final int CREATE_ROLES = 0;
+	private static final int ARRANGE = 1;
+	private static final int OVERRIDES = 2;
+	private static final int PHASES = 3;
+
+	/**
+	 * Description:<br>
+	 * The guild's roles, looked up by name. Roles created while a plan runs
+	 * are added as they are created, so later steps can use them.
+	 *
+	 * @since	1.1.0
+	 */
+	private static class Context {
+		final Guild guild;
+		final Map<String, Role> roles = new ConcurrentHashMap<>();
+
+		Context(Guild guild) {
+			this.guild = guild;
+
+			// Roles are ordered from the top down, so the highest role of a name is kept, like getRolesByName
+			for (Role role : guild.getRoles())
+			{
+				roles.putIfAbsent(key(role.getName()), role);
+			}
+
+			roles.put(key(GuildTemplate.EVERYONE), guild.getPublicRole());
+		}
+
+		Role role(String name) {
+			return roles.get(key(name));
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * A single request of a plan.
+	 *
+	 * @since	1.1.0
+	 */
+	private static class Step {
+		final int phase;
+		final String description;
+		final Function<Context, CompletableFuture<?>> action;
+
+		Step(int phase, String description, Function<Context, CompletableFuture<?>> action) {
+			this.phase = phase;
+			this.description = description;
+			this.action = action;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * The requests needed to make a guild match a template.
+	 *
+	 * @since	1.1.0
+	 */
+	public static class Plan {
+		private final Context context;
+		private final List<Step> steps = new ArrayList<>();
+
+		private Plan(Context context) {
+			this.context = context;
+		}
+
+		/**
+		 * Description:<br>
+		 * Determines whether the guild already matches the template.
+		 *
+		 * @return	<code>true</code> if nothing needs to be done;
+		 * 			<code>false</code> otherwise
+		 * @since	1.1.0
+		 */
+		public boolean isEmpty() {
+			return steps.isEmpty();
+		}
+
+		/**
+		 * Description:<br>
+		 * Describes every request of the plan, in the order they would be
+		 * sent.
+		 *
+		 * @return	<code>planned-changes</code>
+		 * @since	1.1.0
+		 */
+		public List<String> describe() {
+			List<String> lines = new ArrayList<>();
+
+			for (int phase = 0; phase < PHASES; phase++)
+			{
+				for (Step step : steps)
+				{
+					if (step.phase == phase)
+						lines.add(step.description);
+				}
+			}
+
+			return lines;
+		}
+
+		/**
+		 * Description:<br>
+		 * Sends the requests of the plan, one phase at a time. A request
+		 * that fails is noted, and every other request is still sent.
+		 *
+		 * @return	<code>future</code> that finishes once every request is
+		 * 			done, with a description of each one that failed
+		 * @since	1.1.0
+		 */
+		public CompletableFuture<List<String>> apply() {
+			List<String> failed = Collections.synchronizedList(new ArrayList<>());
+			CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+
+			for (int phase = 0; phase < PHASES; phase++)
+			{
+				int current = phase;
+
+				chain = chain.thenCompose(done -> {
+					List<CompletableFuture<?>> requests = new ArrayList<>();
+
+					for (Step step : steps)
+					{
+						if (step.phase == current)
+							requests.add(run(step, failed));
+					}
+
+					return CompletableFuture.allOf(requests.toArray(new CompletableFuture [0]));
+				});
+			}
+
+			return chain.thenApply(done -> failed);
+		}
+
+		/**
+		 * Description:<br>
+		 * Sends a single request. Some requests fail before they are even
+		 * sent, such as one that uses a role that couldn't be created, so
+		 * those are noted the same way.
+		 *
+		 * @param step		the request to send
+		 * @param failed	the failed requests so far
+		 * @return			<code>future</code> that finishes once the request
+		 * 					is done, whether or not it succeeded
+		 * @since			1.1.0
+		 */
+		private CompletableFuture<Void> run(Step step, List<String> failed) {
+			CompletableFuture<?> request;
+
+			try {
+				request = step.action.apply(context);
+			} catch (RuntimeException e) {
+				request = CompletableFuture.failedFuture(e);
+			}
+
+			return request.handle((result, error) -> {
+				if (error != null)
+				{
+					Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+					failed.add(step.description + ": " + cause.getMessage());
+				}
+
+				return null;
+			});
+		}
+
+		private void add(int phase, String description, Function<Context, CompletableFuture<?>> action) {
+			steps.add(new Step(phase, description, action));
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Compares a guild against a template and plans the requests needed to
+	 * make them match.
+	 *
+	 * @param guild		the guild to compare
+	 * @param template	what the guild should have
+	 * @return			<code>plan</code>
+	 * @since			1.1.0
+	 */
+	public static Plan diff(Guild guild, GuildTemplate template) {
+		Context context = new Context(guild);
+		Plan plan = new Plan(context);
+
+		for (RoleSpec spec : template.roles)
+		{
+			Role existing = context.role(spec.name);
+
+			if (existing == null)
+			{
+				plan.add(CREATE_ROLES, "create role " + spec.name, ctx -> ctx.guild.createRole()
+						.setName(spec.name)
+						.setColor(spec.color)
+						.setMentionable(true)
+						.setPermissions(spec.permissions)
+						.submit()
+						.thenAccept(role -> ctx.roles.put(key(spec.name), role)));
+			}
+
+			if (spec.assignToBot && (existing == null || !guild.getSelfMember().getRoles().contains(existing)))
+			{
+				plan.add(ARRANGE, "give the bot role " + spec.name, ctx -> ctx.guild
+						.addRoleToMember(ctx.guild.getSelfMember(), ctx.role(spec.name))
+						.submit());
+			}
+
+			if (spec.below != null)
+			{
+				Role above = context.role(spec.below);
+
+				if (existing == null || above == null || existing.getPosition() >= above.getPosition())
+				{
+					plan.add(ARRANGE, "move role " + spec.name + " below " + spec.below, ctx -> ctx.guild.modifyRolePositions()
+							.selectPosition(ctx.role(spec.name))
+							.moveTo(Math.max(0, ctx.role(spec.below).getPosition() - 1))
+							.submit());
+				}
+			}
+		}
+
+		// Text channels by name, found in a single pass
+		Map<String, GuildChannel> textChannels = new HashMap<>();
+
+		for (GuildChannel channel : guild.getTextChannels())
+		{
+			textChannels.putIfAbsent(key(channel.getName()), channel);
+		}
+
+		for (ChannelSpec spec : template.channels)
+		{
+			if (textChannels.containsKey(key(spec.name)))
+			{
+				diffOverrides(plan, context, textChannels.get(key(spec.name)), spec.overrides);
+				continue;
+			}
+
+			// A new channel gets its overrides, including the ones every channel has, when it is created
+			plan.add(ARRANGE, "create channel #" + spec.name, ctx -> {
+				ChannelAction<TextChannel> action = ctx.guild.createTextChannel(spec.name).setTopic(spec.topic);
+
+				for (OverrideSpec override : spec.overrides)
+				{
+					action = action.addPermissionOverride(ctx.role(override.role), override.allow, override.deny);
+				}
+
+				for (OverrideSpec override : template.everyChannel)
+				{
+					if (override.appliesTo(ChannelType.TEXT))
+						action = action.addPermissionOverride(ctx.role(override.role), override.allow, override.deny);
+				}
+
+				if (spec.greeting == null)
+					return action.submit();
+
+				return action.submit()
+						.thenCompose(channel -> channel.sendMessage(spec.greeting).submit());
+			});
+		}
+
+		for (GuildChannel channel : guild.getChannels())
+		{
+			List<OverrideSpec> overrides = new ArrayList<>();
+
+			for (OverrideSpec override : template.everyChannel)
+			{
+				if (override.appliesTo(channel.getType()))
+					overrides.add(override);
+			}
+
+			diffOverrides(plan, context, channel, overrides);
+		}
+
+		return plan;
+	}
+
+	/**
+	 * Description:<br>
+	 * Plans the overrides an existing channel is missing. An override that
+	 * already exists keeps whatever else it allows or denies.
+	 *
+	 * @param plan		the plan to add to
+	 * @param context	the guild's roles
+	 * @param channel	the channel to compare
+	 * @param overrides	the overrides the channel should have
+	 * @since			1.1.0
+	 */
+	private static void diffOverrides(Plan plan, Context context, GuildChannel channel, List<OverrideSpec> overrides) {
+		for (OverrideSpec spec : overrides)
+		{
+			Role role = context.role(spec.role);
+			long allow = spec.allow;
+			long deny = spec.deny;
+
+			// Roles the plan creates have no overrides yet
+			if (role != null)
+			{
+				PermissionOverride current = channel.getPermissionOverride(role);
+
+				if (current != null)
+				{
+					if ((current.getAllowedRaw() & spec.allow) == spec.allow && (current.getDeniedRaw() & spec.deny) == spec.deny)
+						continue;
+
+					allow = (current.getAllowedRaw() | spec.allow) & ~spec.deny;
+					deny = (current.getDeniedRaw() | spec.deny) & ~spec.allow;
+				}
+			}
+
+			long finalAllow = allow;
+			long finalDeny = deny;
+
+			plan.add(OVERRIDES, "set " + spec.role + " override in #" + channel.getName(), ctx -> channel
+					.putPermissionOverride(ctx.role(spec.role))
+					.setPermissions(finalAllow, finalDeny)
+					.submit());
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Converts a name into the form roles and channels are looked up by,
+	 * matching Discord's case-insensitive names.
+	 *
+	 * @param name	the name
+	 * @return		<code>lower-case-name</code>
+	 * @since		1.1.0
+	 */
+	private static String key(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+}
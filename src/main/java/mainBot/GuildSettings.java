@@ -0,0 +1,303 @@
+package mainBot;
+
+import java.util.Locale;
+
+import org.json.simple.JSONObject;
+
+import commands.util.CommandArgs;
+import commands.util.PrefixTrie;
+import commands.util.Tokenizer;
+
+/**
+ * Description:<br>
+ * The GuildSettings class holds the settings a single guild has changed
+ * from the config file: its command prefix, the name of its admin role,
+ * and the name of its silenced role. A setting the guild hasn't changed
+ * follows the config file, so a reloaded config file still reaches it.
+ * <br>
+ * Settings can't be changed once created. Changing a setting creates new
+ * settings through the <code>with</code> method, which the
+ * <code>GuildSettingsStore</code> swaps in as a whole.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public final class GuildSettings {
+
+	public static final String PREFIX = "prefix";
+	public static final String ADMIN_ROLE = "adminrole";
+	public static final String SILENCED_ROLE = "silencedrole";
+
+	// Every setting a guild can change
+	public static final String [] KEYS = {PREFIX, ADMIN_ROLE, SILENCED_ROLE};
+
+	// Name of the silenced role created by the guild template
+	public static final String DEFAULT_SILENCED_ROLE = "Silenced";
+
+	// Settings of a guild that hasn't changed anything
+	public static final GuildSettings DEFAULTS = new GuildSettings(null, null, null);
+
+	// Each setting is null while the guild uses the default
+	private final String prefix;
+	private final String adminRole;
+	private final String silencedRole;
+
+	// Built once for guilds with their own prefix, so matching a message stays a single walk
+	private final PrefixTrie prefixes;
+
+	/**
+	 * Description:<br>
+	 * Constructor for the class.
+	 *
+	 * @param prefix		the guild's command prefix, or <code>null</code>
+	 * @param adminRole		the name of the guild's admin role, or <code>null</code>
+	 * @param silencedRole	the name of the guild's silenced role, or <code>null</code>
+	 * @since				1.1.0
+	 */
+	private GuildSettings(String prefix, String adminRole, String silencedRole) {
+		this.prefix = prefix;
+		this.adminRole = adminRole;
+		this.silencedRole = silencedRole;
+		this.prefixes = (prefix == null) ? null : Tokenizer.createPrefixes(prefix);
+	}
+
+	/**
+	 * Description:<br>
+	 * Breaks a message up into its words if it starts with one of the
+	 * guild's prefixes.
+	 *
+	 * @param content	the raw message
+	 * @return			<code>command-args</code> if the message is a command;
+	 * 					<code>null</code> if it is not
+	 * @since			1.1.0
+	 */
+	public CommandArgs tokenize(String content) {
+		return (prefixes == null) ? Tokenizer.tokenize(content) : Tokenizer.tokenize(content, prefixes);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the guild's command prefix.
+	 *
+	 * @return	<code>command-prefix</code>
+	 * @since	1.1.0
+	 */
+	public String getPrefix() {
+		return (prefix == null) ? Config.current().commandPrefix : prefix;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the name of the guild's admin role.
+	 *
+	 * @return	<code>admin-role-name</code>
+	 * @since	1.1.0
+	 */
+	public String getAdminRole() {
+		return (adminRole == null) ? Config.current().adminRole : adminRole;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the name of the guild's silenced role.
+	 *
+	 * @return	<code>silenced-role-name</code>
+	 * @since	1.1.0
+	 */
+	public String getSilencedRole() {
+		return (silencedRole == null) ? DEFAULT_SILENCED_ROLE : silencedRole;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the value of a setting, whether the guild changed it or not.
+	 *
+	 * @param key	one of the <code>KEYS</code>
+	 * @return		<code>value</code>
+	 * @throws	IllegalArgumentException	if there is no such setting
+	 * @since	1.1.0
+	 */
+	public String get(String key) {
+		switch (key)
+		{
+			case PREFIX:
+				return getPrefix();
+			case ADMIN_ROLE:
+				return getAdminRole();
+			case SILENCED_ROLE:
+				return getSilencedRole();
+			default:
+				throw new IllegalArgumentException("there is no setting called " + key);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Determines whether the guild changed a setting.
+	 *
+	 * @param key	one of the <code>KEYS</code>
+	 * @return		<code>true</code> if the guild changed it;
+	 * 				<code>false</code> if it follows the config file
+	 * @throws	IllegalArgumentException	if there is no such setting
+	 * @since	1.1.0
+	 */
+	public boolean isChanged(String key) {
+		switch (key)
+		{
+			case PREFIX:
+				return prefix != null;
+			case ADMIN_ROLE:
+				return adminRole != null;
+			case SILENCED_ROLE:
+				return silencedRole != null;
+			default:
+				throw new IllegalArgumentException("there is no setting called " + key);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Determines whether the guild uses the default for every setting, in
+	 * which case nothing needs to be saved for it.
+	 *
+	 * @return	<code>true</code> if nothing was changed
+	 * @since	1.1.0
+	 */
+	public boolean isDefault() {
+		return prefix == null && adminRole == null && silencedRole == null;
+	}
+
+	/**
+	 * Description:<br>
+	 * Creates settings with a single setting changed.
+	 *
+	 * @param key		one of the <code>KEYS</code>
+	 * @param value		the new value, or <code>null</code> to go back to
+	 * 					the default
+	 * @return			<code>guild-settings</code>
+	 * @throws	IllegalArgumentException	if there is no such setting, or
+	 * 										the value isn't allowed
+	 * @since	1.1.0
+	 */
+	public GuildSettings with(String key, String value) {
+		key = key.toLowerCase(Locale.ROOT);
+
+		if (value != null)
+			value = validate(key, value.trim());
+
+		GuildSettings next;
+
+		switch (key)
+		{
+			case PREFIX:
+				next = new GuildSettings(value, adminRole, silencedRole);
+				break;
+			case ADMIN_ROLE:
+				next = new GuildSettings(prefix, value, silencedRole);
+				break;
+			case SILENCED_ROLE:
+				next = new GuildSettings(prefix, adminRole, value);
+				break;
+			default:
+				throw new IllegalArgumentException("there is no setting called " + key);
+		}
+
+		// Silencing someone would otherwise give them the admin role
+		if (next.getAdminRole().equalsIgnoreCase(next.getSilencedRole()))
+			throw new IllegalArgumentException("the admin and silenced roles can't have the same name");
+
+		return next;
+	}
+
+	/**
+	 * Description:<br>
+	 * Checks a new value. A prefix is a single word, since the prefix is
+	 * always the first word of a command, and Discord limits role names
+	 * to 100 characters. The guild template sets up the admin and silenced
+	 * roles under whatever names the guild chose, so those can't be the
+	 * names of the other roles it manages.
+	 *
+	 * @param key		the setting
+	 * @param value		the new value
+	 * @return			<code>value</code>
+	 * @throws	IllegalArgumentException	if the value isn't allowed
+	 * @since	1.1.0
+	 */
+	private static String validate(String key, String value) {
+		if (value.isEmpty())
+			throw new IllegalArgumentException(key + " can't be empty");
+
+		if (key.equals(PREFIX))
+		{
+			for (int i = 0; i < value.length(); i++)
+			{
+				if (Character.isWhitespace(value.charAt(i)))
+					throw new IllegalArgumentException("the prefix can't contain spaces");
+			}
+
+			if (value.length() > 32)
+				throw new IllegalArgumentException("the prefix can't be longer than 32 characters");
+		}
+		else if (value.length() > 100)
+			throw new IllegalArgumentException("role names can't be longer than 100 characters");
+		else if (value.equalsIgnoreCase(GuildTemplate.EVERYONE) || value.equalsIgnoreCase(GuildTemplate.BOT_ROLE))
+			throw new IllegalArgumentException("\"" + value + "\" is already a role of its own");
+
+		return value;
+	}
+
+	/**
+	 * Description:<br>
+	 * Converts the changed settings to JSON, leaving out the defaults.
+	 *
+	 * @return	<code>json-object</code>
+	 * @since	1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	JSONObject toJson() {
+		JSONObject json = new JSONObject();
+
+		if (prefix != null)
+			json.put(PREFIX, prefix);
+
+		if (adminRole != null)
+			json.put(ADMIN_ROLE, adminRole);
+
+		if (silencedRole != null)
+			json.put(SILENCED_ROLE, silencedRole);
+
+		return json;
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads settings saved by <code>toJson</code>. Values that are no longer
+	 * allowed are left at the default.
+	 *
+	 * @param json	the saved settings
+	 * @return		<code>guild-settings</code>
+	 * @since		1.1.0
+	 */
+	static GuildSettings fromJson(JSONObject json) {
+		GuildSettings settings = DEFAULTS;
+
+		for (String key : KEYS)
+		{
+			Object value = json.get(key);
+
+			if (value == null)
+				continue;
+
+			try {
+				settings = settings.with(key, value.toString());
+			} catch (IllegalArgumentException e) {
+				System.out.println("SETTINGS: ignored a saved " + key + ", since " + e.getMessage());
+			}
+		}
+
+		return settings;
+	}
+}
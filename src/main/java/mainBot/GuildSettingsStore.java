@@ -0,0 +1,426 @@
+package mainBot;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.hash.TLongHashSet;
+import net.dv8tion.jda.api.entities.Guild;
+
+/**
+ * Description:<br>
+ * The GuildSettingsStore class keeps the <code>GuildSettings</code> of
+ * every guild that changed one, so each guild can have its own command
+ * prefix and role names. The settings are read on every message, so they
+ * are kept in memory by guild ID, and looking them up is a single hash
+ * lookup without boxing the ID or taking a lock. The map is never changed
+ * once it is in use: a change copies it, and swaps in the copy. Since
+ * settings rarely change, copying costs far less than locking every
+ * message.
+ * <br>
+ * Each guild's settings are saved in their own small file in the
+ * json/guilds folder. Only the IDs of the guilds with a file are read
+ * when the bot starts. A guild's file is read in the guild's lane, when
+ * the guild is set up or the first time it sends a message, so guilds
+ * the bot is no longer in, or that never changed a setting, cost nothing
+ * more than that ID. Since the file is read in the lane, reading a
+ * guild's settings never waits on a file.
+ * <br>
+ * Changes are applied in memory right away and saved a moment later, so
+ * several changes in a row are written once. Each file is written under a
+ * temporary name first and then moved into place, so a crash while saving
+ * never leaves a half-written file behind. Any changes still waiting are
+ * saved when the bot shuts down.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class GuildSettingsStore {
+
+	static final String DIRECTORY = "json/guilds";
+
+	// How long a change waits before it is saved, so changes made in a row are saved together
+	private static final long SAVE_DELAY_MS = 2000;
+
+	// Guild ID to settings, for the guilds whose settings were read or changed. Copied and swapped under the lock, never changed in place
+	private static volatile TLongObjectHashMap<GuildSettings> loaded = new TLongObjectHashMap<>();
+
+	// IDs of the guilds that have a file. Copied and swapped under the lock, never changed in place
+	private static volatile TLongHashSet saved = new TLongHashSet();
+
+	// Guards every change, along with the set below
+	private static final Object lock = new Object();
+
+	// IDs of the guilds whose changes haven't been saved yet
+	private static final TLongHashSet dirty = new TLongHashSet();
+	private static boolean saveScheduled;
+
+	private static final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "guild-settings-writer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Description:<br>
+	 * Finds which guilds have saved settings, without reading them.
+	 *
+	 * @since	1.1.0
+	 */
+	public static void init() {
+		Path directory = Paths.get(DIRECTORY);
+
+		if (!Files.isDirectory(directory))
+			return;
+
+		TLongHashSet found = new TLongHashSet();
+
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.json"))
+		{
+			for (Path file : files)
+			{
+				String name = file.getFileName().toString();
+
+				try {
+					found.add(Long.parseLong(name.substring(0, name.length() - ".json".length())));
+				} catch (NumberFormatException e) {
+					report("ignored " + name + ", since it isn't named after a guild");
+				}
+			}
+		} catch (IOException e) {
+			report("could not list the saved settings: " + e.getMessage());
+		}
+
+		synchronized (lock)
+		{
+			TLongHashSet next = copy(saved);
+
+			for (long guildId : found.toArray())
+			{
+				next.add(guildId);
+			}
+
+			saved = next;
+		}
+
+		report(found.size() + " guilds have their own settings");
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a guild's settings.
+	 *
+	 * @param guild		the guild
+	 * @return			<code>guild-settings</code>
+	 * @since			1.1.0
+	 */
+	public static GuildSettings get(Guild guild) {
+		return get(guild.getIdLong());
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a guild's settings. Never takes a lock or reads a file, so
+	 * a guild with a file that isn't loaded yet gets the defaults; see
+	 * <code>isLoaded</code>.
+	 *
+	 * @param guildId	ID of the guild
+	 * @return			<code>guild-settings</code>, which are
+	 * 					<code>GuildSettings.DEFAULTS</code> if the guild
+	 * 					hasn't changed anything
+	 * @since			1.1.0
+	 */
+	public static GuildSettings get(long guildId) {
+		GuildSettings settings = loaded.get(guildId);
+
+		return (settings != null) ? settings : GuildSettings.DEFAULTS;
+	}
+
+	/**
+	 * Description:<br>
+	 * Determines whether a guild's settings are ready to be retrieved,
+	 * without reading anything.
+	 *
+	 * @param guildId	ID of the guild
+	 * @return			<code>true</code> if the guild has no file, or its
+	 * 					file was read; <code>false</code> if its file still
+	 * 					has to be loaded
+	 * @since			1.1.0
+	 */
+	public static boolean isLoaded(long guildId) {
+		return !saved.contains(guildId) || loaded.containsKey(guildId);
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads a guild's file, unless it was read already or there is none.
+	 * Meant to run in the guild's lane, never on the thread that reads
+	 * from Discord.
+	 *
+	 * @param guildId	ID of the guild
+	 * @since			1.1.0
+	 */
+	public static void load(long guildId) {
+		if (isLoaded(guildId))
+			return;
+
+		// The file is read outside of the lock, so other guilds aren't held up
+		GuildSettings settings = read(guildId);
+
+		synchronized (lock)
+		{
+			// A change made while the file was read is newer than the file
+			if (!loaded.containsKey(guildId))
+				put(guildId, settings);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Changes a single setting of a guild. The change applies right away,
+	 * and is saved a moment later. The guild's file is read first if it
+	 * wasn't yet, so this runs in the guild's lane, like its commands.
+	 *
+	 * @param guildId	ID of the guild
+	 * @param key		one of the <code>GuildSettings.KEYS</code>
+	 * @param value		the new value, or <code>null</code> to go back to
+	 * 					the default
+	 * @return			<code>guild-settings</code> with the change
+	 * @throws	IllegalArgumentException	if there is no such setting, or
+	 * 										the value isn't allowed
+	 * @since	1.1.0
+	 */
+	public static GuildSettings set(long guildId, String key, String value) {
+		// The change is made to the saved settings, not to the defaults
+		load(guildId);
+
+		GuildSettings previous = get(guildId);
+
+		synchronized (lock)
+		{
+			GuildSettings current = loaded.get(guildId);
+			GuildSettings next = ((current != null) ? current : previous).with(key, value);
+
+			put(guildId, next);
+			dirty.add(guildId);
+
+			if (!saveScheduled)
+			{
+				saveScheduled = true;
+				writer.schedule(GuildSettingsStore::save, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+			}
+
+			return next;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Lets go of a guild's settings after the bot left it. They stay saved,
+	 * in case the bot joins the guild again.
+	 *
+	 * @param guildId	ID of the guild
+	 * @since			1.1.0
+	 */
+	public static void unload(long guildId) {
+		synchronized (lock)
+		{
+			if (!dirty.contains(guildId))
+				remove(guildId);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Saves every change that is still waiting. Guilds that went back to
+	 * the default for every setting have their file removed.
+	 *
+	 * @since	1.1.0
+	 */
+	public static synchronized void save() {
+		long [] ids;
+		GuildSettings [] settings;
+
+		synchronized (lock)
+		{
+			saveScheduled = false;
+
+			ids = dirty.toArray();
+			settings = new GuildSettings [ids.length];
+
+			for (int i = 0; i < ids.length; i++)
+			{
+				settings[i] = loaded.get(ids[i]);
+			}
+
+			dirty.clear();
+		}
+
+		for (int i = 0; i < ids.length; i++)
+		{
+			boolean written = write(ids[i], settings[i]);
+
+			synchronized (lock)
+			{
+				// Tried again with the next change, or when the bot shuts down
+				if (!written)
+				{
+					dirty.add(ids[i]);
+					continue;
+				}
+
+				TLongHashSet next = copy(saved);
+
+				if (settings[i].isDefault())
+					next.remove(ids[i]);
+				else
+					next.add(ids[i]);
+
+				saved = next;
+
+				// Guilds using the defaults don't need to be kept in memory, unless they changed again meanwhile
+				if (settings[i].isDefault() && loaded.get(ids[i]) == settings[i] && !dirty.contains(ids[i]))
+					remove(ids[i]);
+			}
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Swaps in a copy of the settings with a guild's settings changed.
+	 * Must be called while holding the lock.
+	 *
+	 * @param guildId	ID of the guild
+	 * @param settings	the guild's new settings
+	 * @since			1.1.0
+	 */
+	private static void put(long guildId, GuildSettings settings) {
+		TLongObjectHashMap<GuildSettings> next = new TLongObjectHashMap<>(loaded);
+		next.put(guildId, settings);
+		loaded = next;
+	}
+
+	/**
+	 * Description:<br>
+	 * Swaps in a copy of the settings without a guild's settings. Must be
+	 * called while holding the lock.
+	 *
+	 * @param guildId	ID of the guild
+	 * @since			1.1.0
+	 */
+	private static void remove(long guildId) {
+		if (!loaded.containsKey(guildId))
+			return;
+
+		TLongObjectHashMap<GuildSettings> next = new TLongObjectHashMap<>(loaded);
+		next.remove(guildId);
+		loaded = next;
+	}
+
+	private static TLongHashSet copy(TLongHashSet set) {
+		TLongHashSet copy = new TLongHashSet(set.size() + 1);
+
+		for (long guildId : set.toArray())
+		{
+			copy.add(guildId);
+		}
+
+		return copy;
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads a guild's file. A file that can't be read is reported, and the
+	 * guild uses the defaults.
+	 *
+	 * @param guildId	ID of the guild
+	 * @return			<code>guild-settings</code>
+	 * @since			1.1.0
+	 */
+	private static GuildSettings read(long guildId) {
+		try (Reader in = Files.newBufferedReader(getFile(guildId), StandardCharsets.UTF_8))
+		{
+			return GuildSettings.fromJson((JSONObject) new JSONParser().parse(in));
+		} catch (IOException | ParseException | ClassCastException e) {
+			report("could not read the settings of guild " + guildId + ": " + e);
+			return GuildSettings.DEFAULTS;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Writes a guild's file, or removes it if the guild uses the defaults.
+	 *
+	 * @param guildId	ID of the guild
+	 * @param settings	the guild's settings
+	 * @return			<code>true</code> if the file was written;
+	 * 					<code>false</code> if it failed
+	 * @since			1.1.0
+	 */
+	private static boolean write(long guildId, GuildSettings settings) {
+		Path path = getFile(guildId);
+
+		try {
+			if (settings.isDefault())
+			{
+				Files.deleteIfExists(path);
+				return true;
+			}
+
+			Path temp = Paths.get(path + ".tmp");
+
+			Files.createDirectories(path.getParent());
+
+			try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8))
+			{
+				out.write(settings.toJson().toJSONString());
+			}
+
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return true;
+		} catch (IOException e) {
+			report("could not save the settings of guild " + guildId + ": " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the file a guild's settings are saved in.
+	 *
+	 * @param guildId	ID of the guild
+	 * @return			<code>path</code>
+	 * @since			1.1.0
+	 */
+	private static Path getFile(long guildId) {
+		return Paths.get(DIRECTORY, guildId + ".json");
+	}
+
+	/**
+	 * Description:<br>
+	 * Prints a problem with the settings in the console.
+	 *
+	 * @param message	the problem to report
+	 * @since			1.1.0
+	 */
+	private static void report(String message) {
+		System.out.println("SETTINGS: " + message);
+	}
+}
@@ -0,0 +1,239 @@
+package mainBot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.ChannelType;
+
+/**
+ * Description:<br>
+ * The GuildTemplate class describes what every guild the bot is in should
+ * have: the roles, the channels, and the permission overrides on those
+ * channels. It only describes the end result; the
+ * <code>GuildReconciler</code> compares it against a guild and works out
+ * which requests are needed to get there.
+ * <br>
+ * Roles and overrides refer to roles by name, so a template can mention a
+ * role that doesn't exist yet and is created by the same template.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class GuildTemplate {
+
+	// Name used to refer to the guild's @everyone role
+	public static final String EVERYONE = "@everyone";
+
+	// Name of the role given to the bot
+	public static final String BOT_ROLE = "Bot";
+
+	final List<RoleSpec> roles;
+	final List<ChannelSpec> channels;
+	final List<OverrideSpec> everyChannel;
+
+	/**
+	 * Description:<br>
+	 * A role the guild should have. If it is missing, it is created with
+	 * the given color and permissions; an existing role is left as it is,
+	 * so the guild's owner can still adjust it.
+	 *
+	 * @since	1.1.0
+	 */
+	public static final class RoleSpec {
+		final String name;
+		final int color;
+		final long permissions;
+		final boolean assignToBot;
+		final String below;
+
+		/**
+		 * Description:<br>
+		 * Constructor for the class.
+		 *
+		 * @param name			name of the role
+		 * @param color			color of the role, as RGB
+		 * @param permissions	permissions of the role
+		 * @param assignToBot	whether the bot itself should have the role
+		 * @param below			name of a role this role should be placed right
+		 * 						below, or <code>null</code>
+		 * @since				1.1.0
+		 */
+		public RoleSpec(String name, int color, long permissions, boolean assignToBot, String below) {
+			this.name = name;
+			this.color = color;
+			this.permissions = permissions;
+			this.assignToBot = assignToBot;
+			this.below = below;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * A permission override for a role. The role must at least be allowed
+	 * and denied the given permissions; anything else already set on the
+	 * override is left as it is.
+	 *
+	 * @since	1.1.0
+	 */
+	public static final class OverrideSpec {
+		final String role;
+		final ChannelType type;
+		final long allow;
+		final long deny;
+
+		/**
+		 * Description:<br>
+		 * Constructor for the class.
+		 *
+		 * @param role		name of the role, or <code>EVERYONE</code>
+		 * @param type		kind of channel the override applies to, or
+		 * 					<code>null</code> for every kind
+		 * @param allow		permissions the role must be allowed
+		 * @param deny		permissions the role must be denied, other than the
+		 * 					ones it is allowed
+		 * @since			1.1.0
+		 */
+		public OverrideSpec(String role, ChannelType type, long allow, long deny) {
+			this.role = role;
+			this.type = type;
+			this.allow = allow;
+			this.deny = deny & ~allow;
+		}
+
+		/**
+		 * Description:<br>
+		 * Determines whether the override applies to a kind of channel.
+		 *
+		 * @param channelType	the kind of channel
+		 * @return				<code>true</code> if it applies;
+		 * 						<code>false</code> otherwise
+		 * @since				1.1.0
+		 */
+		boolean appliesTo(ChannelType channelType) {
+			return type == null || type == channelType;
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * A text channel the guild should have. The topic and the first
+	 * message are only used when the channel is created.
+	 *
+	 * @since	1.1.0
+	 */
+	public static final class ChannelSpec {
+		final String name;
+		final String topic;
+		final String greeting;
+		final List<OverrideSpec> overrides;
+
+		/**
+		 * Description:<br>
+		 * Constructor for the class.
+		 *
+		 * @param name			name of the channel
+		 * @param topic			topic of the channel
+		 * @param greeting		message sent once the channel is created, or
+		 * 						<code>null</code>
+		 * @param overrides		permission overrides of the channel
+		 * @since				1.1.0
+		 */
+		public ChannelSpec(String name, String topic, String greeting, List<OverrideSpec> overrides) {
+			this.name = name;
+			this.topic = topic;
+			this.greeting = greeting;
+			this.overrides = Collections.unmodifiableList(new ArrayList<>(overrides));
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Constructor for the class.
+	 *
+	 * @param roles			roles the guild should have
+	 * @param channels		text channels the guild should have
+	 * @param everyChannel	overrides every channel should have
+	 * @since				1.1.0
+	 */
+	public GuildTemplate(List<RoleSpec> roles, List<ChannelSpec> channels, List<OverrideSpec> everyChannel) {
+		this.roles = Collections.unmodifiableList(new ArrayList<>(roles));
+		this.channels = Collections.unmodifiableList(new ArrayList<>(channels));
+		this.everyChannel = Collections.unmodifiableList(new ArrayList<>(everyChannel));
+	}
+
+	/**
+	 * Description:<br>
+	 * Builds the template guilds that use the default role names are set
+	 * up with.
+	 *
+	 * @return	<code>guild-template</code>
+	 * @since	1.1.0
+	 */
+	public static GuildTemplate standard() {
+		return standard(Config.current().adminRole, GuildSettings.DEFAULT_SILENCED_ROLE);
+	}
+
+	/**
+	 * Description:<br>
+	 * Builds the template for a guild that may have renamed its admin or
+	 * silenced role, so those roles get the same permissions and overrides
+	 * under the guild's own names.
+	 *
+	 * @param settings	the guild's settings
+	 * @return			<code>guild-template</code>
+	 * @since			1.1.0
+	 */
+	public static GuildTemplate standard(GuildSettings settings) {
+		return standard(settings.getAdminRole(), settings.getSilencedRole());
+	}
+
+	/**
+	 * Description:<br>
+	 * Builds the template every guild is set up with:
+	 * <br>
+	 * - the admin role, with every permission but administrator
+	 * <br>
+	 * - the "Bot" role, given to the bot so it stands out in the members list
+	 * <br>
+	 * - the silenced role right below it, which can only read and listen in
+	 * every channel
+	 * <br>
+	 * - the "general" channel, which only admins can see, where dev messages
+	 * are sent
+	 *
+	 * @param adminRole		name of the admin role
+	 * @param silencedRole	name of the silenced role
+	 * @return				<code>guild-template</code>
+	 * @since				1.1.0
+	 */
+	private static GuildTemplate standard(String adminRole, String silencedRole) {
+		long adminPermissions = Permission.getRaw(Bot.getAdminPermissions());
+
+		List<RoleSpec> roles = new ArrayList<>();
+		roles.add(new RoleSpec(adminRole, 0xFF0000, adminPermissions, false, null));
+		roles.add(new RoleSpec(BOT_ROLE, 0x0000FF, adminPermissions, true, null));
+		roles.add(new RoleSpec(silencedRole, 0x000000, Permission.getRaw(Bot.getSilencedPermissions()), false, BOT_ROLE));
+
+		List<OverrideSpec> general = new ArrayList<>();
+		general.add(new OverrideSpec(EVERYONE, null, 0, Permission.VIEW_CHANNEL.getRawValue()));
+		general.add(new OverrideSpec(adminRole, null, Permission.VIEW_CHANNEL.getRawValue(), 0));
+
+		List<ChannelSpec> channels = new ArrayList<>();
+		channels.add(new ChannelSpec("general", 
+				"The channel that " + Config.current().botName + " created. Dev messages will be sent here.", 
+				"Move the new \"Bot\" role to the top", 
+				general));
+
+		// The silenced role can only read and listen
+		List<OverrideSpec> everyChannel = new ArrayList<>();
+		everyChannel.add(new OverrideSpec(silencedRole, ChannelType.TEXT, Permission.MESSAGE_HISTORY.getRawValue(), Permission.ALL_TEXT_PERMISSIONS));
+		everyChannel.add(new OverrideSpec(silencedRole, ChannelType.VOICE, Permission.VOICE_CONNECT.getRawValue(), Permission.ALL_VOICE_PERMISSIONS));
+
+		return new GuildTemplate(roles, channels, everyChannel);
+	}
+}
@@ -0,0 +1,131 @@
+package mainBot;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Description:<br>
+ * The LatencyHistogram class counts how long something took, such as the
+ * execution of a command, so percentiles like the median (p50) or the 99th
+ * percentile (p99) can be retrieved later.
+ * <br>
+ * Every power of two microseconds is split into four buckets, which keeps
+ * each measurement within roughly 20% of its real value while only using a
+ * fixed array of counters. Recording a measurement never locks or creates
+ * objects, so it can be done from any thread.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class LatencyHistogram {
+
+	// Number of buckets each power of two is split into, as a power of two
+	private static final int SUB_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+	private final LongAdder total = new LongAdder();
+
+	/**
+	 * Description:<br>
+	 * Adds a single measurement.
+	 *
+	 * @param nanos		the measurement in nanoseconds
+	 * @since			1.1.0
+	 */
+	public void record(long nanos) {
+		counts.incrementAndGet(index(Math.max(1, nanos / 1000)));
+		total.increment();
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the number of measurements recorded.
+	 *
+	 * @return	<code>number-of-measurements</code>
+	 * @since	1.1.0
+	 */
+	public long getCount() {
+		return total.sum();
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the value that the given fraction of measurements fall
+	 * under, such as 0.5 for the median or 0.99 for the 99th percentile.
+	 *
+	 * @param quantile	fraction between 0 and 1
+	 * @return			<code>percentile-in-milliseconds</code>, or 0 if nothing
+	 * 					has been recorded
+	 * @since			1.1.0
+	 */
+	public double getPercentile(double quantile) {
+		long count = total.sum();
+
+		if (count == 0)
+			return 0;
+
+		long target = Math.max(1, (long) Math.ceil(quantile * count));
+		long seen = 0;
+
+		for (int i = 0; i < counts.length(); i++)
+		{
+			seen += counts.get(i);
+
+			if (seen >= target)
+				return upperBound(i) / 1000.0;
+		}
+
+		return upperBound(counts.length() - 1) / 1000.0;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a short summary of the median and the 99th percentile.
+	 *
+	 * @return	<code>"p50=&lt;ms&gt; p99=&lt;ms&gt; n=&lt;count&gt;"</code>
+	 * @since	1.1.0
+	 */
+	public String getSummary() {
+		return String.format("p50=%.1fms p99=%.1fms n=%d", getPercentile(0.5), getPercentile(0.99), getCount());
+	}
+
+	/**
+	 * Description:<br>
+	 * Finds the bucket a measurement belongs to: the power of two it falls
+	 * under, followed by the next two bits after the leading one.
+	 *
+	 * @param micros	the measurement in microseconds
+	 * @return			<code>bucket-index</code>
+	 * @since			1.1.0
+	 */
+	private static int index(long micros) {
+		int exponent = 63 - Long.numberOfLeadingZeros(micros);
+		int sub;
+
+		if (exponent >= SUB_BITS)
+			sub = (int) (micros >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+		else
+			sub = (int) (micros << (SUB_BITS - exponent)) & (SUB_BUCKETS - 1);
+
+		return exponent * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the largest value a bucket holds.
+	 *
+	 * @param index		the bucket
+	 * @return			<code>upper-bound-in-microseconds</code>
+	 * @since			1.1.0
+	 */
+	private static double upperBound(int index) {
+		int exponent = index / SUB_BUCKETS;
+		int sub = index % SUB_BUCKETS;
+
+		return Math.pow(2, exponent) * (1 + (sub + 1) / (double) SUB_BUCKETS);
+	}
+}
@@ -0,0 +1,117 @@
+package mainBot;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.dv8tion.jda.api.events.ReadyEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+
+/**
+ * Description:<br>
+ * The ShardWatcher class keeps track of the shards as they log in. The
+ * shards of the <code>ShardManager</code> start in the background, as
+ * fast as Discord's login limit allows, so the rest of the bot waits
+ * here until each of them is ready. The time each shard took is reported
+ * in the console.
+ * <br>
+ * A shard that never becomes ready, such as one whose session Discord
+ * keeps rejecting, or one the cluster coordinator holds back, must not
+ * stop the bot from starting. Once no shard has become ready for
+ * <code>SHARD_READY_TIMEOUT_S</code> seconds, the watcher stops waiting
+ * and reports which shards are missing.
+ * <br>
+ * The watcher is added to the shards before they are built, so no shard
+ * can become ready before it is listening.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class ShardWatcher extends ListenerAdapter {
+
+	private final long start = System.nanoTime();
+
+	// IDs of the shards that are ready, and when the last one became ready
+	private final BitSet ready = new BitSet();
+	private long lastReady = start;
+
+	/**
+	 * Description:<br>
+	 * Counts a shard that finished logging in.
+	 *
+	 * @param event		the ReadyEvent of the shard
+	 * @since			1.1.0
+	 */
+	@Override
+	public void onReady(ReadyEvent event) {
+		int shardId = event.getJDA().getShardInfo().getShardId();
+		int count;
+
+		synchronized (this)
+		{
+			ready.set(shardId);
+			lastReady = System.nanoTime();
+			count = ready.cardinality();
+			notifyAll();
+		}
+
+		System.out.println("SHARDS: shard " + shardId + " ready after "
+				+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms (" + count + " ready)");
+	}
+
+	/**
+	 * Description:<br>
+	 * Waits until the given shards are ready, or until none has become
+	 * ready for the given time. The shards that are still missing then are
+	 * reported.
+	 *
+	 * @param shardIds		IDs of the shards this process runs
+	 * @param timeoutNanos	longest time to wait without any shard
+	 * 						becoming ready
+	 * @return				<code>true</code> if every shard is ready;
+	 * 						<code>false</code> if some are still missing
+	 * @throws				InterruptedException
+	 * @since				1.1.0
+	 */
+	public synchronized boolean await(int [] shardIds, long timeoutNanos) throws InterruptedException {
+		while (true)
+		{
+			List<Integer> missing = new ArrayList<>();
+
+			for (int shardId : shardIds)
+			{
+				if (!ready.get(shardId))
+					missing.add(shardId);
+			}
+
+			if (missing.isEmpty())
+				return true;
+
+			long wait = lastReady + timeoutNanos - System.nanoTime();
+
+			if (wait <= 0)
+			{
+				System.out.println("SHARDS: " + missing.size() + " of " + shardIds.length + " shards were not ready after "
+						+ TimeUnit.NANOSECONDS.toSeconds(timeoutNanos) + " s without progress, missing shards " + missing);
+				return false;
+			}
+
+			TimeUnit.NANOSECONDS.timedWait(this, wait);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves the number of shards that are ready.
+	 *
+	 * @return	<code>ready-shards</code>
+	 * @since	1.1.0
+	 */
+	public synchronized int getReady() {
+		return ready.cardinality();
+	}
+}
@@ -0,0 +1,115 @@
+package mainBot;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description:<br>
+ * The StartupTimer class measures how long each phase of starting the bot
+ * takes, such as reading the config file, logging in, or building the GUI.
+ * Phases follow one another, so each one is simply the time since the
+ * phase before it ended. Phases that finish in the background, like
+ * setting up the guilds, are measured from the start instead.
+ * <br>
+ * Each phase is printed in the console as it ends, and every phase can be
+ * retrieved afterwards through the getPhases and getSummary methods.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class StartupTimer {
+
+	private static long start = System.nanoTime();
+	private static long last = start;
+	private static final Map<String, Long> phases = new LinkedHashMap<>();
+
+	/**
+	 * Description:<br>
+	 * Starts measuring from now, forgetting any earlier phases.
+	 *
+	 * @since	1.1.0
+	 */
+	public static synchronized void reset() {
+		start = System.nanoTime();
+		last = start;
+		phases.clear();
+	}
+
+	/**
+	 * Description:<br>
+	 * Ends the current phase.
+	 *
+	 * @param phase		name of the phase that just ended
+	 * @since			1.1.0
+	 */
+	public static synchronized void mark(String phase) {
+		long now = System.nanoTime();
+
+		record(phase, now - last);
+		last = now;
+	}
+
+	/**
+	 * Description:<br>
+	 * Ends a phase that ran in the background since the start, without
+	 * ending the current phase.
+	 *
+	 * @param phase		name of the phase that just ended
+	 * @since			1.1.0
+	 */
+	public static synchronized void markSinceStart(String phase) {
+		record(phase, System.nanoTime() - start);
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves how long every phase took so far, in the order they ended.
+	 *
+	 * @return	<code>phase-milliseconds</code>
+	 * @since	1.1.0
+	 */
+	public static synchronized Map<String, Long> getPhases() {
+		return Collections.unmodifiableMap(new LinkedHashMap<>(phases));
+	}
+
+	/**
+	 * Description:<br>
+	 * Retrieves a single line listing how long every phase took so far.
+	 *
+	 * @return	<code>"&lt;phase&gt;=&lt;ms&gt;ms ..."</code>
+	 * @since	1.1.0
+	 */
+	public static synchronized String getSummary() {
+		StringBuilder sb = new StringBuilder();
+
+		for (Map.Entry<String, Long> entry : phases.entrySet())
+		{
+			if (sb.length() > 0)
+				sb.append(' ');
+
+			sb.append(entry.getKey() + "=" + entry.getValue() + "ms");
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Description:<br>
+	 * Stores how long a phase took and prints it.
+	 *
+	 * @param phase		name of the phase
+	 * @param nanos		how long it took
+	 * @since			1.1.0
+	 */
+	private static void record(String phase, long nanos) {
+		long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+
+		phases.put(phase, ms);
+		System.out.println("STARTUP: " + phase + " took " + ms + " ms");
+	}
+}
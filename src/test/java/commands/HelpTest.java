@@ -0,0 +1,62 @@
+package commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import commands.util.CommandObject;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+
+/**
+ * Description:<br>
+ * Builds the help embeds from the bot's full set of commands, to make
+ * sure every tier's embed stays within Discord's limits as commands are
+ * added, and still lists every command the tier can use.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class HelpTest {
+
+	@Test
+	public void catalogueOfEveryCommandFitsDiscordsLimits() {
+		CommandObject.init();
+
+		Help.Catalogue catalogue = Help.getCatalogue("!bot");
+
+		for (int tier = 0; tier < catalogue.all.length; tier++)
+		{
+			MessageEmbed embed = catalogue.all[tier];
+			StringBuilder listed = new StringBuilder();
+
+			assertTrue("the embed of tier " + tier + " is too long", embed.getLength() <= MessageEmbed.EMBED_MAX_LENGTH_BOT);
+
+			for (MessageEmbed.Field field : embed.getFields())
+			{
+				assertTrue("a field of tier " + tier + " is too long", field.getValue().length() <= MessageEmbed.VALUE_MAX_LENGTH);
+				listed.append(field.getValue()).append("\n");
+			}
+
+			// Owners and admins can use every command, and every tier can use the basic ones
+			for (CommandObject command : CommandObject.commands)
+			{
+				boolean allowed = (!command.getAdmin() || (tier & 1) != 0) && (!command.getOwner() || (tier & 2) != 0);
+				String line = command.getName() + command.getArgs() + ": " + command.getDesc();
+
+				assertEquals(command.getName() + " listed for tier " + tier, allowed, listed.indexOf(line) >= 0);
+			}
+		}
+
+		for (CommandObject command : CommandObject.commands)
+		{
+			for (MessageEmbed.Field field : catalogue.single.get(command).getFields())
+			{
+				assertTrue("the field of " + command.getName() + " is too long", field.getValue().length() <= MessageEmbed.VALUE_MAX_LENGTH);
+			}
+		}
+	}
+}
@@ -0,0 +1,233 @@
+package commands;
+
+import static testutil.Fakes.fake;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import commands.util.CommandArgs;
+import commands.util.CommandExecutor;
+import commands.util.CommandObject;
+import mainBot.GuildLanes;
+import mainBot.LatencyHistogram;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.requests.restaction.AuditableRestAction;
+import net.dv8tion.jda.api.requests.restaction.MessageAction;
+
+/**
+ * Description:<br>
+ * The ModerationBenchmark class measures the p50 and p99 latency of the
+ * ban, kick and unban commands, from the moment they are handed to the
+ * <code>CommandExecutor</code> until their reply is sent, the way the
+ * Handler hands them over. Every command is run twice: once blocking,
+ * the way commands ran before they were chained, where the worker thread
+ * waits on each request in turn like <code>complete()</code> did, and
+ * once chained, the way they run now.
+ * <br>
+ * Commands arrive at a steady rate, spread over many guilds, and every
+ * request to Discord finishes after a fixed latency on a thread of its
+ * own. Both runs share the same number of worker threads, set to the
+ * default <code>COMMAND_THREADS</code>, so the blocking run falls behind
+ * once the commands arriving hold more threads than there are.
+ * <br>
+ * Run it with:
+ * <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=commands.ModerationBenchmark
+ * -Dexec.args="&lt;commands-per-second&gt; &lt;seconds&gt; &lt;guilds&gt; &lt;latency-ms&gt; &lt;threads&gt;"</code>
+ * such as <code>"80 5 100 50 8"</code>, the defaults.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class ModerationBenchmark {
+
+	// Stands in for Discord, finishing every request after the latency
+	private static final ScheduledExecutorService discord = Executors.newScheduledThreadPool(4, runnable -> {
+		Thread thread = new Thread(runnable, "fake-discord");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private static long latencyMs;
+
+	public static void main(String [] args) throws Exception {
+		int rate = (args.length > 0) ? Integer.parseInt(args[0]) : 80;
+		int seconds = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+		int guildCount = (args.length > 2) ? Integer.parseInt(args[2]) : 100;
+		latencyMs = (args.length > 3) ? Long.parseLong(args[3]) : 50;
+		int threads = (args.length > 4) ? Integer.parseInt(args[4]) : 8;
+
+		// Deep enough that no command is turned away, so every one of them is timed
+		GuildLanes.shared = new GuildLanes("guild-lane", threads, rate * seconds);
+
+		System.out.println("MODERATION: " + rate + " commands/s for " + seconds + " s over " + guildCount + " guilds, "
+				+ latencyMs + " ms per request, " + threads + " threads");
+
+		for (CommandObject command : new CommandObject [] {new Ban(), new Kick(), new Unban()})
+		{
+			for (boolean blocking : new boolean [] {true, false})
+			{
+				run(command, blocking, rate, seconds, guildCount);
+			}
+		}
+
+		System.exit(0);
+	}
+
+	/**
+	 * Description:<br>
+	 * Hands a command to the executor at a steady rate for a while, waits
+	 * for the last of them to finish, and prints their latency.
+	 *
+	 * @param command		the command to run
+	 * @param blocking		whether each request holds the worker thread
+	 * 						until it finishes
+	 * @param rate			commands handed over per second
+	 * @param seconds		how long they are handed over
+	 * @param guildCount	number of guilds the commands are spread over
+	 * @since				1.1.0
+	 */
+	private static void run(CommandObject command, boolean blocking, int rate, int seconds, int guildCount) throws Exception {
+		String name = command.getName() + (blocking ? " blocking" : " chained");
+		int total = rate * seconds;
+		long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+		long next = System.nanoTime();
+
+		List<CompletableFuture<Void>> finished = new ArrayList<>();
+		TextChannel channel = fakeChannel();
+		Member moderator = fakeMember(1, "moderator");
+
+		for (int i = 0; i < total; i++)
+		{
+			for (long wait = next - System.nanoTime(); wait > 0; wait = next - System.nanoTime())
+			{
+				LockSupport.parkNanos(wait);
+			}
+
+			next += interval;
+
+			long targetId = 300_000_000_000_000_000L + i;
+			Guild guild = fakeGuild(i % guildCount + 1, fakeMember(targetId, "target-" + i));
+			CommandArgs arg = CommandArgs.of("!", command.getName(), "<@!" + targetId + ">");
+			CompletableFuture<Void> done = new CompletableFuture<>();
+
+			Supplier<CompletableFuture<?>> execute = () -> command.execute(guild, moderator, channel, arg);
+			Supplier<CompletionStage<?>> task = blocking
+					? () -> CompletableFuture.completedFuture(execute.get().join())
+					: () -> execute.get();
+
+			CommandExecutor.submit(guild, name, () -> task.get().whenComplete((result, error) -> done.complete(null)));
+			finished.add(done);
+		}
+
+		CompletableFuture.allOf(finished.toArray(new CompletableFuture [0])).get(10, TimeUnit.MINUTES);
+
+		// The executor records a command just after the command itself finishes
+		LatencyHistogram latency = CommandExecutor.getLatency(name);
+
+		while (latency.getCount() < total)
+		{
+			Thread.sleep(1);
+		}
+
+		System.out.println(String.format("MODERATION: %-16s %s", name, latency.getSummary()));
+	}
+
+	/**
+	 * Description:<br>
+	 * A request that finishes after the latency. When the command blocks,
+	 * it is the worker thread that waits for it, as it did on
+	 * <code>complete()</code>.
+	 *
+	 * @since	1.1.0
+	 */
+	private static <T extends RestAction<?>> T request(Class<T> type, Object value) {
+		return fake(type, (proxy, method, args) -> {
+			if (!method.getName().equals("submit"))
+				return method.getReturnType().isInstance(proxy) ? proxy : null;
+
+			CompletableFuture<Object> future = new CompletableFuture<>();
+			discord.schedule(() -> future.complete(value), latencyMs, TimeUnit.MILLISECONDS);
+			return future;
+		});
+	}
+
+	private static Guild fakeGuild(long id, Member target) {
+		User targetUser = fakeUser(target.getIdLong(), target.getEffectiveName());
+
+		return fake(Guild.class, (proxy, method, args) -> {
+			switch (method.getName())
+			{
+				case "getIdLong":
+					return id;
+				case "getName":
+					return "guild-" + id;
+				case "getMemberById":
+					return ((Number) args[0]).longValue() == target.getIdLong() ? target : null;
+				case "ban":
+				case "kick":
+				case "unban":
+					return request(AuditableRestAction.class, null);
+				case "retrieveBanList":
+					return request(RestAction.class, List.of(new Guild.Ban(targetUser, null)));
+				default:
+					throw new UnsupportedOperationException(method.getName() + " isn't faked");
+			}
+		});
+	}
+
+	private static Member fakeMember(long id, String name) {
+		return fake(Member.class, (proxy, method, args) -> {
+			switch (method.getName())
+			{
+				case "getIdLong":
+					return id;
+				case "getEffectiveName":
+					return name;
+				case "getAsMention":
+					return "<@!" + id + ">";
+				default:
+					throw new UnsupportedOperationException(method.getName() + " isn't faked");
+			}
+		});
+	}
+
+	private static User fakeUser(long id, String name) {
+		return fake(User.class, (proxy, method, args) -> {
+			switch (method.getName())
+			{
+				case "getIdLong":
+					return id;
+				case "getName":
+					return name;
+				case "getAsMention":
+					return "<@" + id + ">";
+				default:
+					throw new UnsupportedOperationException(method.getName() + " isn't faked");
+			}
+		});
+	}
+
+	private static TextChannel fakeChannel() {
+		return fake(TextChannel.class, (proxy, method, args) -> {
+			if (method.getName().startsWith("sendMessage"))
+				return request(MessageAction.class, null);
+
+			throw new UnsupportedOperationException(method.getName() + " isn't faked");
+		});
+	}
+}
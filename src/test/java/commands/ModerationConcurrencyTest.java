@@ -0,0 +1,185 @@
+package commands;
+
+import static org.junit.Assert.assertTrue;
+import static testutil.Fakes.fake;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import commands.util.CommandArgs;
+import commands.util.CommandObject;
+import commands.util.CommandResult;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.requests.restaction.AuditableRestAction;
+import net.dv8tion.jda.api.requests.restaction.MessageAction;
+
+/**
+ * Description:<br>
+ * Hammers a single instance of a moderation command from many threads at
+ * once, each with its own guild and target, to make sure every execution
+ * gets back the details of its own ban or kick. The guilds, members and
+ * text channels are fakes whose requests finish on other threads after a
+ * random delay, so the executions overlap the way they do against Discord.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class ModerationConcurrencyTest {
+
+	private static final int THREADS = 16;
+	private static final int EXECUTIONS_PER_THREAD = 500;
+
+	// Stands in for Discord, finishing requests later on
+	private final ScheduledExecutorService discord = Executors.newScheduledThreadPool(4);
+	private final ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+
+	@After
+	public void shutdown() {
+		discord.shutdownNow();
+		callers.shutdownNow();
+	}
+
+	@Test
+	public void banReturnsTheDetailsOfEachExecution() throws Exception {
+		hammer(new Ban(), "banned");
+	}
+
+	@Test
+	public void kickReturnsTheDetailsOfEachExecution() throws Exception {
+		hammer(new Kick(), "kicked");
+	}
+
+	/**
+	 * Description:<br>
+	 * Executes the command from every caller thread at once, and checks the
+	 * result of every execution.
+	 *
+	 * @param command	the single instance shared by every thread
+	 * @param action	what the command's details say happened
+	 * @since			1.1.0
+	 */
+	private void hammer(CommandObject command, String action) throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<List<String>>> mismatches = new ArrayList<>();
+
+		for (int t = 0; t < THREADS; t++)
+		{
+			int thread = t;
+
+			mismatches.add(callers.submit(() -> {
+				List<String> wrong = new ArrayList<>();
+				List<CompletableFuture<CommandResult>> results = new ArrayList<>();
+				List<String> expected = new ArrayList<>();
+
+				start.await();
+
+				for (int i = 0; i < EXECUTIONS_PER_THREAD; i++)
+				{
+					long targetId = 200_000_000_000_000_000L + thread * 100_000L + i;
+					String guildName = "guild-" + thread + "-" + i;
+					String targetName = "target-" + thread + "-" + i;
+
+					Member target = fakeMember(targetId, targetName);
+					Guild guild = fakeGuild(guildName, target);
+
+					results.add(command.execute(guild, fakeMember(1, "moderator"), fakeChannel(),
+							CommandArgs.of("!", command.getName(), "<@!" + targetId + ">")));
+					expected.add(targetName + " has been " + action + " from " + guildName);
+				}
+
+				for (int i = 0; i < results.size(); i++)
+				{
+					String details = results.get(i).get(10, TimeUnit.SECONDS).getDetails();
+
+					if (!details.equals(expected.get(i)))
+						wrong.add("expected \"" + expected.get(i) + "\" but was \"" + details + "\"");
+				}
+
+				return wrong;
+			}));
+		}
+
+		start.countDown();
+
+		for (Future<List<String>> future : mismatches)
+		{
+			List<String> wrong = future.get(60, TimeUnit.SECONDS);
+			assertTrue(wrong.isEmpty() ? "" : wrong.get(0), wrong.isEmpty());
+		}
+	}
+
+	private Guild fakeGuild(String name, Member target) {
+		return fake(Guild.class, (proxy, method, args) -> {
+			switch (method.getName())
+			{
+				case "getName":
+					return name;
+				case "getMemberById":
+					return ((Number) args[0]).longValue() == target.getIdLong() ? target : null;
+				case "ban":
+				case "kick":
+					return fake(AuditableRestAction.class, (request, call, callArgs) -> later(null));
+				default:
+					return unsupported(method.getName());
+			}
+		});
+	}
+
+	private Member fakeMember(long id, String name) {
+		return fake(Member.class, (proxy, method, args) -> {
+			switch (method.getName())
+			{
+				case "getIdLong":
+					return id;
+				case "getEffectiveName":
+					return name;
+				case "getAsMention":
+					return "<@!" + id + ">";
+				default:
+					return unsupported(method.getName());
+			}
+		});
+	}
+
+	private TextChannel fakeChannel() {
+		return fake(TextChannel.class, (proxy, method, args) -> {
+			if (method.getName().startsWith("sendMessage"))
+				return fake(MessageAction.class, (request, call, callArgs) -> later(null));
+
+			return unsupported(method.getName());
+		});
+	}
+
+	/**
+	 * Description:<br>
+	 * A future that finishes on one of Discord's threads after a short,
+	 * random delay.
+	 *
+	 * @since	1.1.0
+	 */
+	private <T> CompletableFuture<T> later(T value) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		discord.schedule(() -> future.complete(value), ThreadLocalRandom.current().nextInt(200), TimeUnit.MICROSECONDS);
+		return future;
+	}
+
+	private static Object unsupported(String method) {
+		throw new UnsupportedOperationException(method + " isn't faked");
+	}
+}
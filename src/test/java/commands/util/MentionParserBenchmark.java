@@ -0,0 +1,108 @@
+package commands.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Description:<br>
+ * The MentionParserBenchmark class measures reading a member's ID out of
+ * a command, compared to the <code>substring(3, 21)</code> the commands
+ * used before, which only read the <code>&lt;@!id&gt;</code> form. The
+ * GC profiler, which the main method adds, shows the bytes allocated
+ * per ID in <code>gc.alloc.rate.norm</code>, which should be 0 for the
+ * parser.
+ * <br>
+ * Run it with:
+ * <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=commands.util.MentionParserBenchmark</code>
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MentionParserBenchmark {
+
+	private CommandArgs [] mentions;
+	private CommandArgs [] everyForm;
+	private int next;
+
+	@Setup
+	public void setup() {
+		mentions = new CommandArgs [] {
+			Tokenizer.tokenize("! ban <@!123456789012345678>", 1),
+			Tokenizer.tokenize("! ban <@!876543210987654321> spamming", 1),
+		};
+
+		everyForm = new CommandArgs [] {
+			Tokenizer.tokenize("! ban <@!123456789012345678>", 1),
+			Tokenizer.tokenize("! ban <@1234567890123456789>", 1),
+			Tokenizer.tokenize("! ban 123456789012345678", 1),
+			Tokenizer.tokenize("! ban somebody", 1),
+		};
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads an ID the way the commands used to.
+	 *
+	 * @return	<code>user-ID</code>
+	 * @since	1.1.0
+	 */
+	@Benchmark
+	public long substring() {
+		return Long.parseLong(mentions[next++ & 1].get(2).substring(3, 21));
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads the same IDs with the parser.
+	 *
+	 * @return	<code>user-ID</code>
+	 * @since	1.1.0
+	 */
+	@Benchmark
+	public long parser() {
+		return MentionParser.parseUser(mentions[next++ & 1], 2);
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads every form of ID, and one that isn't an ID at all.
+	 *
+	 * @return	<code>user-ID</code>, or <code>INVALID</code>
+	 * @since	1.1.0
+	 */
+	@Benchmark
+	public long parserEveryForm() {
+		return MentionParser.parseUser(everyForm[next++ & 3], 2);
+	}
+
+	public static void main(String [] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(MentionParserBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,210 @@
+package commands.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * Description:<br>
+ * Tests for the MentionParser class. Besides the forms Discord uses, the
+ * parser is fuzzed with random text and with broken mentions, and every
+ * answer is compared to a slow but obvious reference built on regular
+ * expressions and <code>BigInteger</code>. The fuzzing uses fixed seeds,
+ * so a failure can be reproduced.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class MentionParserTest {
+
+	private static final Pattern USER = Pattern.compile("<@!?([0-9]+)>|([0-9]+)");
+	private static final Pattern ROLE = Pattern.compile("<@&([0-9]+)>|([0-9]+)");
+	private static final Pattern CHANNEL = Pattern.compile("<#([0-9]+)>|([0-9]+)");
+
+	private static final BigInteger LARGEST_ID = BigInteger.valueOf(Long.MAX_VALUE);
+
+	// Characters that make up mentions, with a few that never belong in one
+	private static final String ALPHABET = "<<>>@@!&#0123456789012345678901234567890123456789 a-";
+
+	private static final int FUZZ_RUNS = 500_000;
+
+	@Test
+	public void readsEveryUserForm() {
+		assertEquals(123456789012345678L, MentionParser.parseUser("<@123456789012345678>", 0, 21));
+		assertEquals(123456789012345678L, MentionParser.parseUser("<@!123456789012345678>", 0, 22));
+		assertEquals(123456789012345678L, MentionParser.parseUser("123456789012345678", 0, 18));
+
+		// 19 digit snowflakes, which substring(3, 21) used to cut short
+		assertEquals(1234567890123456789L, MentionParser.parseUser("<@!1234567890123456789>", 0, 23));
+		assertEquals(Long.MAX_VALUE, MentionParser.parseUser("9223372036854775807", 0, 19));
+	}
+
+	@Test
+	public void readsRolesAndChannels() {
+		assertEquals(42L, MentionParser.parseRole("<@&42>", 0, 6));
+		assertEquals(42L, MentionParser.parseRole("42", 0, 2));
+		assertEquals(MentionParser.INVALID, MentionParser.parseRole("<@42>", 0, 5));
+		assertEquals(42L, MentionParser.parseChannel("<#42>", 0, 5));
+		assertEquals(MentionParser.INVALID, MentionParser.parseChannel("<@42>", 0, 5));
+	}
+
+	@Test
+	public void rejectsAnythingElse() {
+		String [] invalid = {
+			"", "<>", "<@>", "<@!>", "<@&>", "<#>", "<@!!1>", "<@&1>", "<@1", "@1>",
+			"12a", "-1", "+1", " 1", "1 ", "9223372036854775808", "99999999999999999999",
+			"00000000000000000001", "<@!9223372036854775808>", "\u0661\u0662",
+		};
+
+		for (String text : invalid)
+		{
+			assertEquals("\"" + text + "\"", MentionParser.INVALID, MentionParser.parseUser(text, 0, text.length()));
+		}
+	}
+
+	@Test
+	public void readsArgumentsInPlace() {
+		CommandArgs arg = Tokenizer.tokenize("!  ban   <@!98765432109876543>  <@&5> <#6> 7", 1);
+
+		assertEquals(98765432109876543L, MentionParser.parseUser(arg, 2));
+		assertEquals(5L, MentionParser.parseRole(arg, 3));
+		assertEquals(6L, MentionParser.parseChannel(arg, 4));
+		assertEquals(7L, MentionParser.parseUser(arg, 5));
+		assertEquals(MentionParser.INVALID, MentionParser.parseUser(arg, 6));
+	}
+
+	@Test
+	public void fuzzRandomText() {
+		Random random = new Random(0x5eed);
+		StringBuilder sb = new StringBuilder();
+
+		for (int run = 0; run < FUZZ_RUNS; run++)
+		{
+			sb.setLength(0);
+			int length = random.nextInt(26);
+
+			for (int i = 0; i < length; i++)
+			{
+				sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+			}
+
+			checkAll(sb.toString(), random);
+		}
+	}
+
+	@Test
+	public void fuzzBrokenMentions() {
+		Random random = new Random(0xbad);
+		String [] forms = { "<@%s>", "<@!%s>", "<@&%s>", "<#%s>", "%s" };
+
+		for (int run = 0; run < FUZZ_RUNS; run++)
+		{
+			// IDs of every length, up to a few past the largest long
+			String id = randomDigits(random, 1 + random.nextInt(21));
+			StringBuilder sb = new StringBuilder(String.format(forms[random.nextInt(forms.length)], id));
+
+			// Some are left whole; the rest have a character changed, dropped or added
+			int edits = random.nextInt(3);
+
+			for (int e = 0; e < edits && sb.length() > 0; e++)
+			{
+				int at = random.nextInt(sb.length());
+				char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+
+				switch (random.nextInt(3))
+				{
+					case 0:
+						sb.setCharAt(at, c);
+						break;
+					case 1:
+						sb.deleteCharAt(at);
+						break;
+					default:
+						sb.insert(at, c);
+				}
+			}
+
+			checkAll(sb.toString(), random);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * Compares every kind of parse of a text to the reference, reading the
+	 * text both on its own and from the middle of a longer one.
+	 *
+	 * @since	1.1.0
+	 */
+	private static void checkAll(String text, Random random) {
+		String before = randomPadding(random);
+		String padded = before + text + randomPadding(random);
+		int start = before.length();
+		int end = start + text.length();
+
+		long user = reference(USER, text);
+		long role = reference(ROLE, text);
+		long channel = reference(CHANNEL, text);
+
+		assertEquals("user \"" + text + "\"", user, MentionParser.parseUser(text, 0, text.length()));
+		assertEquals("user \"" + text + "\" in \"" + padded + "\"", user, MentionParser.parseUser(padded, start, end));
+		assertEquals("role \"" + text + "\"", role, MentionParser.parseRole(padded, start, end));
+		assertEquals("channel \"" + text + "\"", channel, MentionParser.parseChannel(padded, start, end));
+	}
+
+	/**
+	 * Description:<br>
+	 * Reads an ID the slow way: the whole text must match the pattern, and
+	 * the ID must have at most 19 digits and fit in a long.
+	 *
+	 * @since	1.1.0
+	 */
+	private static long reference(Pattern pattern, String text) {
+		Matcher matcher = pattern.matcher(text);
+
+		if (!matcher.matches())
+			return MentionParser.INVALID;
+
+		String digits = (matcher.group(1) != null) ? matcher.group(1) : matcher.group(2);
+
+		if (digits.length() > 19)
+			return MentionParser.INVALID;
+
+		BigInteger id = new BigInteger(digits);
+
+		return (id.compareTo(LARGEST_ID) > 0) ? MentionParser.INVALID : id.longValue();
+	}
+
+	private static String randomDigits(Random random, int length) {
+		StringBuilder sb = new StringBuilder(length);
+
+		// Mostly the largest values, which are where a long overflows
+		boolean high = random.nextInt(4) == 0;
+
+		for (int i = 0; i < length; i++)
+		{
+			sb.append(high ? (char) ('7' + random.nextInt(3)) : (char) ('0' + random.nextInt(10)));
+		}
+
+		return sb.toString();
+	}
+
+	private static String randomPadding(Random random) {
+		int length = random.nextInt(4);
+		StringBuilder sb = new StringBuilder(length);
+
+		for (int i = 0; i < length; i++)
+		{
+			sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+		}
+
+		return sb.toString();
+	}
+}
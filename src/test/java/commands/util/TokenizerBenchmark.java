@@ -0,0 +1,119 @@
+package commands.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Description:<br>
+ * The TokenizerBenchmark class measures how much deciding whether a
+ * guild message is a command costs, for ordinary chat and for commands.
+ * Run with the GC profiler, which the main method adds, the
+ * <code>gc.alloc.rate.norm</code> of the non-command benchmarks shows
+ * the bytes allocated per message, which should be 0.
+ * <br>
+ * Run it with:
+ * <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=commands.util.TokenizerBenchmark</code>
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizerBenchmark {
+
+	private static final String BOT_ID = "123456789012345678";
+
+	// Ordinary chat, some of it close to a prefix without being one
+	private static final String [] CHAT = {
+		"hey, is anyone around tonight?",
+		"!important",
+		"!!!! that was close",
+		"thanks <@" + BOT_ID + ">",
+		"<@98765432109876543> look at this",
+		"lol",
+		"   leading spaces and a longer message that goes on for quite a while",
+		"",
+	};
+
+	private static final String [] COMMANDS = {
+		"! ban <@!98765432109876543> spamming",
+		"! help",
+		"<@" + BOT_ID + "> kick 98765432109876543 too loud",
+	};
+
+	private PrefixTrie prefixes;
+	private int next;
+
+	@Setup
+	public void setup() {
+		Tokenizer.init("!", "<@" + BOT_ID + ">", "<@!" + BOT_ID + ">");
+		prefixes = Tokenizer.createPrefixes("!");
+	}
+
+	/**
+	 * Description:<br>
+	 * Checks a chat message with the global prefixes.
+	 *
+	 * @return	<code>true</code> if it was a command, which it never is
+	 * @since	1.1.0
+	 */
+	@Benchmark
+	public boolean isCommand() {
+		return Tokenizer.isCommand(CHAT[next++ & 7]);
+	}
+
+	/**
+	 * Description:<br>
+	 * Tokenizes a chat message with a guild's prefixes, the way the bot
+	 * reads every guild message.
+	 *
+	 * @return	<code>command-args</code>, which is always <code>null</code>
+	 * @since	1.1.0
+	 */
+	@Benchmark
+	public CommandArgs tokenizeChat() {
+		return Tokenizer.tokenize(CHAT[next++ & 7], prefixes);
+	}
+
+	/**
+	 * Description:<br>
+	 * Tokenizes a command, for comparison. Only the word offsets and the
+	 * view are allocated.
+	 *
+	 * @return	<code>command-args</code>
+	 * @since	1.1.0
+	 */
+	@Benchmark
+	public CommandArgs tokenizeCommand() {
+		return Tokenizer.tokenize(COMMANDS[(next++ & Integer.MAX_VALUE) % 3], prefixes);
+	}
+
+	public static void main(String [] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(TokenizerBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
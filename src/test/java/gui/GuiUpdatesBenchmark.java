@@ -0,0 +1,218 @@
+package gui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.swing.SwingUtilities;
+
+import mainBot.LatencyHistogram;
+
+/**
+ * Description:<br>
+ * The GuiUpdatesBenchmark class measures how many member changes the GUI
+ * absorbs per second, and whether it falls behind while doing so. Several
+ * threads call <code>memberChanged</code> for random members of random
+ * guilds, the way the event lanes do during a burst of joins and renames,
+ * either as fast as they can or at a given rate each.
+ * <br>
+ * Two latencies are recorded: how long a change waits before the Swing
+ * thread applies it to its guild's member list, and how long any other
+ * task waits for the Swing thread, measured by handing it an empty task
+ * every millisecond. The second is what the user feels as lag. Changes
+ * are applied at most once per frame, so while the Swing thread keeps up
+ * both stay within a few frames. The rate at which they start to grow is
+ * how many changes the GUI can absorb.
+ * <br>
+ * The member lists are ordinary <code>MemberListModel</code>s without a
+ * frame, so it runs without a display.
+ * <br>
+ * Run it with:
+ * <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=gui.GuiUpdatesBenchmark
+ * -Dexec.args="&lt;thread-counts&gt; &lt;seconds&gt; &lt;guilds&gt; &lt;members-per-guild&gt; &lt;changes-per-second-per-thread&gt;"</code>
+ * such as <code>"1,2,4,8 5 100 1000 0"</code>, the defaults, where a rate
+ * of 0 sends changes as fast as possible.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class GuiUpdatesBenchmark {
+
+	/**
+	 * Description:<br>
+	 * A member list that records how long each change waited once the
+	 * Swing thread applies it.
+	 *
+	 * @since	1.1.0
+	 */
+	private static final class TimedModel extends MemberListModel {
+
+		// Gets rid of missing serialVersionUID warnings
+		private static final long serialVersionUID = 1L;
+
+		private final int firstSlot;
+		private final AtomicLongArray sent;
+		private final LatencyHistogram applied;
+
+		TimedModel(String [] names, int firstSlot, AtomicLongArray sent, LatencyHistogram applied) {
+			super(Collections.emptyList());
+
+			this.firstSlot = firstSlot;
+			this.sent = sent;
+			this.applied = applied;
+
+			for (int i = 0; i < names.length; i++)
+			{
+				super.add(i, names[i]);
+			}
+		}
+
+		@Override
+		public void add(long memberId, String name) {
+			super.add(memberId, name);
+
+			// Several changes to the same member within a frame are timed from the first
+			long start = sent.getAndSet(firstSlot + (int) memberId, 0);
+
+			if (start != 0)
+				applied.record(System.nanoTime() - start);
+		}
+	}
+
+	public static void main(String [] args) throws Exception {
+		String [] threadCounts = ((args.length > 0) ? args[0] : "1,2,4,8").split(",");
+		int seconds = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+		int guildCount = (args.length > 2) ? Integer.parseInt(args[2]) : 100;
+		int memberCount = (args.length > 3) ? Integer.parseInt(args[3]) : 1000;
+		int rate = (args.length > 4) ? Integer.parseInt(args[4]) : 0;
+
+		// Only the Swing thread is needed, never a window
+		System.setProperty("java.awt.headless", "true");
+
+		System.out.println("GUI: " + guildCount + " guilds, " + memberCount + " members each, " + seconds + " s per run, "
+				+ ((rate == 0) ? "as fast as possible" : rate + " changes/s per thread"));
+
+		for (String threads : threadCounts)
+		{
+			run(Integer.parseInt(threads.trim()), seconds, guildCount, memberCount, rate);
+		}
+
+		System.exit(0);
+	}
+
+	/**
+	 * Description:<br>
+	 * Sends member changes from the given number of threads for a while,
+	 * then waits for the Swing thread to apply the last of them, and
+	 * prints the results.
+	 *
+	 * @param threadCount	number of threads sending changes
+	 * @param seconds		how long they send changes
+	 * @param guildCount	number of guilds
+	 * @param memberCount	number of members in each guild
+	 * @param rate			changes each thread sends per second, or 0 for
+	 * 						as many as it can
+	 * @since				1.1.0
+	 */
+	private static void run(int threadCount, int seconds, int guildCount, int memberCount, int rate) throws Exception {
+		AtomicLongArray sent = new AtomicLongArray(guildCount * memberCount);
+		LatencyHistogram applied = new LatencyHistogram();
+		LatencyHistogram swingDelay = new LatencyHistogram();
+		LongAdder changes = new LongAdder();
+
+		// Every member has two names, so each change moves them in the list
+		String [][] names = new String [2][memberCount];
+
+		for (int i = 0; i < memberCount; i++)
+		{
+			names[0][i] = "member-" + i;
+			names[1][i] = "renamed-" + i;
+		}
+
+		TimedModel [] models = new TimedModel [guildCount];
+
+		for (int i = 0; i < guildCount; i++)
+		{
+			models[i] = new TimedModel(names[0], i * memberCount, sent, applied);
+		}
+
+		// Guild IDs start at 1, so the guild at index 0 has an ID like every other
+		GuiUpdates updates = new GuiUpdates(null) {
+			@Override
+			MemberListModel getMemberModel(long guildId) {
+				return models[(int) guildId - 1];
+			}
+		};
+
+		ScheduledExecutorService probe = Executors.newSingleThreadScheduledExecutor();
+		probe.scheduleAtFixedRate(() -> {
+			long start = System.nanoTime();
+			SwingUtilities.invokeLater(() -> swingDelay.record(System.nanoTime() - start));
+		}, 1, 1, TimeUnit.MILLISECONDS);
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		List<Thread> senders = new ArrayList<>();
+
+		for (int t = 0; t < threadCount; t++)
+		{
+			Thread sender = new Thread(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				long interval = (rate == 0) ? 0 : TimeUnit.SECONDS.toNanos(1) / rate;
+				long next = System.nanoTime();
+				long count = 0;
+
+				while (System.nanoTime() < deadline)
+				{
+					if (interval > 0)
+					{
+						next += interval;
+
+						for (long wait = next - System.nanoTime(); wait > 0; wait = next - System.nanoTime())
+						{
+							LockSupport.parkNanos(wait);
+						}
+					}
+
+					int guild = random.nextInt(guildCount);
+					int member = random.nextInt(memberCount);
+
+					sent.compareAndSet(guild * memberCount + member, 0, System.nanoTime());
+					updates.memberChanged(guild + 1, member, names[random.nextInt(2)][member]);
+					count++;
+				}
+
+				changes.add(count);
+			}, "sender-" + t);
+
+			senders.add(sender);
+			sender.start();
+		}
+
+		for (Thread sender : senders)
+		{
+			sender.join();
+		}
+
+		probe.shutdown();
+
+		// The last changes may still be waiting out a frame
+		Thread.sleep(100);
+		SwingUtilities.invokeAndWait(() -> {});
+
+		System.out.println(String.format("GUI: %d threads: %,d changes/s, applied after %s p99.9=%.1fms, Swing thread delay %s p99.9=%.1fms",
+				threadCount, changes.sum() / seconds,
+				applied.getSummary(), applied.getPercentile(0.999),
+				swingDelay.getSummary(), swingDelay.getPercentile(0.999)));
+	}
+}
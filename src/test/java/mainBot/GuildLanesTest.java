@@ -0,0 +1,272 @@
+package mainBot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Description:<br>
+ * Stress tests for the GuildLanes class. Bans and unbans of the same
+ * users are fired at many fake guilds from many threads at once, the way
+ * members spread over several guilds would send them, and every guild
+ * must see its own commands in exactly the order they were submitted.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class GuildLanesTest {
+
+	private static final int GUILDS = 200;
+	private static final int SENDERS = 8;
+	private static final int COMMANDS_PER_GUILD = 2_000;
+
+	// Stands in for Discord, finishing the REST requests of async commands later on
+	private final ScheduledExecutorService discord = Executors.newScheduledThreadPool(4);
+	private final ExecutorService senders = Executors.newFixedThreadPool(SENDERS);
+
+	/**
+	 * Description:<br>
+	 * A fake guild that records the commands it ran, and checks that no
+	 * two of its commands ever run at the same time.
+	 *
+	 * @since	1.1.0
+	 */
+	private static final class FakeGuild {
+		final long id;
+		final List<Integer> ran = new ArrayList<>();
+		final AtomicBoolean running = new AtomicBoolean();
+		final AtomicInteger overlaps = new AtomicInteger();
+
+		// User that is banned right now, or -1
+		long banned = -1;
+		int wrongState;
+
+		FakeGuild(long id) {
+			this.id = id;
+		}
+
+		void run(int sequence, boolean ban, long userId) {
+			if (!running.compareAndSet(false, true))
+				overlaps.incrementAndGet();
+
+			// A ban always follows the unban of the previous user, and an unban its ban
+			if (ban ? banned != -1 : banned != userId)
+				wrongState++;
+
+			banned = ban ? userId : -1;
+			ran.add(sequence);
+
+			running.set(false);
+		}
+	}
+
+	@After
+	public void shutdown() {
+		discord.shutdownNow();
+		senders.shutdownNow();
+	}
+
+	@Test
+	public void interleavedBansAndUnbansKeepTheirOrderWithinEachGuild() throws Exception {
+		GuildLanes lanes = new GuildLanes("test-lane", 4, COMMANDS_PER_GUILD);
+		FakeGuild [] guilds = new FakeGuild [GUILDS];
+
+		for (int i = 0; i < GUILDS; i++)
+		{
+			guilds[i] = new FakeGuild(100_000_000_000_000_000L + i);
+		}
+
+		CountDownLatch done = new CountDownLatch(GUILDS * COMMANDS_PER_GUILD);
+		CountDownLatch start = new CountDownLatch(1);
+
+		// Each sender owns some of the guilds, so every guild's commands are submitted in order
+		for (int s = 0; s < SENDERS; s++)
+		{
+			int sender = s;
+
+			senders.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+
+				for (int sequence = 0; sequence < COMMANDS_PER_GUILD; sequence++)
+				{
+					for (int g = sender; g < GUILDS; g += SENDERS)
+					{
+						submit(lanes, guilds[g], sequence, done);
+					}
+				}
+			});
+		}
+
+		start.countDown();
+
+		assertTrue("the lanes didn't finish in time", done.await(60, TimeUnit.SECONDS));
+
+		for (FakeGuild guild : guilds)
+		{
+			assertEquals("commands overlapped in guild " + guild.id, 0, guild.overlaps.get());
+			assertEquals("commands ran out of order in guild " + guild.id, 0, guild.wrongState);
+			assertEquals(COMMANDS_PER_GUILD, guild.ran.size());
+
+			for (int i = 0; i < COMMANDS_PER_GUILD; i++)
+			{
+				assertEquals("command " + i + " of guild " + guild.id, i, (int) guild.ran.get(i));
+			}
+		}
+
+		assertTrue("empty lanes were kept", waitForNoLanes(lanes));
+	}
+
+	@Test
+	public void busyGuildDoesNotStarveOthers() throws Exception {
+		GuildLanes lanes = new GuildLanes("test-lane", 1, 10_000);
+		AtomicInteger busyRan = new AtomicInteger();
+		CountDownLatch quiet = new CountDownLatch(1);
+
+		for (int i = 0; i < 10_000; i++)
+		{
+			assertTrue(lanes.submit(1, () -> {
+				busyRan.incrementAndGet();
+				spin(20_000);
+			}));
+		}
+
+		assertTrue(lanes.submit(2, quiet::countDown));
+
+		assertTrue("the quiet guild never ran", quiet.await(10, TimeUnit.SECONDS));
+		assertTrue("the quiet guild waited for the whole busy lane", busyRan.get() < 10_000);
+	}
+
+	@Test
+	public void fullLaneRejectsWork() throws Exception {
+		GuildLanes lanes = new GuildLanes("test-lane", 1, 2);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+
+		assertTrue(lanes.submit(1, () -> {
+			started.countDown();
+			await(release);
+		}));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		assertTrue(lanes.submit(1, () -> {}));
+		assertTrue(lanes.submit(1, () -> {}));
+		assertFalse("a full lane accepted more work", lanes.submit(1, () -> {}));
+		assertTrue("another guild's lane was full too", lanes.submit(2, () -> {}));
+
+		release.countDown();
+	}
+
+	@Test
+	public void fullLaneTakesOverflowWithoutWaiting() throws Exception {
+		GuildLanes lanes = new GuildLanes("test-lane", 1, 2);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+
+		assertTrue(lanes.submit(1, () -> {
+			started.countDown();
+			await(release);
+		}));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		assertFalse("a lane with room counted as full", lanes.submitOverflowing(1, () -> ran.add(1)));
+		assertFalse("a lane with room counted as full", lanes.submitOverflowing(1, () -> ran.add(2)));
+		assertTrue("a full lane didn't count as full", lanes.submitOverflowing(1, () -> ran.add(3)));
+		assertFalse("a full lane accepted ordinary work", lanes.submit(1, () -> ran.add(4)));
+
+		release.countDown();
+
+		assertTrue("the lane didn't finish in time", waitForNoLanes(lanes));
+		assertEquals(List.of(1, 2, 3), ran);
+	}
+
+	/**
+	 * Description:<br>
+	 * Submits a ban or unban, alternating by sequence, of the user that
+	 * belongs to that pair. Every third one finishes on a Discord thread,
+	 * the way a ban followed by its reply does.
+	 *
+	 * @since	1.1.0
+	 */
+	private void submit(GuildLanes lanes, FakeGuild guild, int sequence, CountDownLatch done) {
+		boolean ban = (sequence % 2 == 0);
+		long userId = sequence / 2;
+		boolean accepted;
+
+		if (sequence % 3 == 0)
+		{
+			accepted = lanes.submitAsync(guild.id, () -> {
+				CompletableFuture<Void> reply = new CompletableFuture<>();
+
+				discord.schedule(() -> {
+					guild.run(sequence, ban, userId);
+					done.countDown();
+					reply.complete(null);
+				}, ThreadLocalRandom.current().nextInt(50), TimeUnit.MICROSECONDS);
+
+				return reply;
+			});
+		}
+		else
+		{
+			accepted = lanes.submit(guild.id, () -> {
+				guild.run(sequence, ban, userId);
+				done.countDown();
+			});
+		}
+
+		assertTrue("the lane of guild " + guild.id + " was full", accepted);
+	}
+
+	private static boolean waitForNoLanes(GuildLanes lanes) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+		while (lanes.getActiveLanes() > 0)
+		{
+			if (System.nanoTime() > deadline)
+				return false;
+
+			Thread.sleep(10);
+		}
+
+		return true;
+	}
+
+	private static void spin(long nanos) {
+		long end = System.nanoTime() + nanos;
+
+		while (System.nanoTime() < end)
+			Thread.onSpinWait();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,514 @@
+package mainBot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.simple.JSONObject;
+
+import commands.util.AuthCache;
+import commands.util.BanCache;
+import commands.util.CommandObject;
+import commands.util.RateLimiter;
+import commands.util.Tokenizer;
+import events.util.EventObject;
+import gui.MemberListModel;
+import net.dv8tion.jda.api.entities.ChannelType;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.GuildChannel;
+import net.dv8tion.jda.api.entities.ISnowflake;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.PermissionOverride;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.requests.restaction.AuditableRestAction;
+import net.dv8tion.jda.api.requests.restaction.ChannelAction;
+import net.dv8tion.jda.api.requests.restaction.MessageAction;
+import net.dv8tion.jda.api.requests.restaction.PermissionOverrideAction;
+import net.dv8tion.jda.api.requests.restaction.RoleAction;
+import net.dv8tion.jda.api.requests.restaction.order.RoleOrderAction;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import testutil.Fakes;
+
+/**
+ * Description:<br>
+ * The StartupBenchmark class measures how long the bot takes to start
+ * with a given number of guilds and members, so startup can be compared
+ * between changes. Everything after the shards are ready runs the bot's
+ * own code, the same way <code>Bot.start</code> does: creating the
+ * commands and events, starting the services, building every guild's
+ * member list, and setting up every guild from the template. The guilds
+ * are fakes held in memory, and each request to Discord finishes after
+ * the given latency on another thread.
+ * <br>
+ * Each run starts from guilds that were never set up, then starts again
+ * with the fingerprints the first start saved, like a restart. The phases
+ * are printed in the same form as the bot's "STARTUP:" line. Later runs
+ * are after the JVM has warmed up, so compare the same run between
+ * changes.
+ * <br>
+ * Logging in isn't part of it: the gateway, JDA's parsing of the guilds
+ * and members it is sent, and showing the GUI all need Discord or a
+ * display, so they are left out.
+ * <br>
+ * Run it with:
+ * <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=mainBot.StartupBenchmark
+ * -Dexec.args="&lt;guilds&gt; &lt;members-per-guild&gt; &lt;latency-ms&gt; &lt;runs&gt;"</code>
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class StartupBenchmark {
+
+	private static final String [] CHANNELS = {"general", "off-topic", "memes", "music", "help"};
+
+	private static final AtomicLong ids = new AtomicLong(100_000_000_000_000_000L);
+
+	// Stands in for Discord, finishing requests later on
+	private static final ScheduledExecutorService discord = Executors.newScheduledThreadPool(4, runnable -> {
+		Thread thread = new Thread(runnable, "fake-discord");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private static long latencyMs;
+
+	public static void main(String [] args) throws Exception {
+		int guildCount = (args.length > 0) ? Integer.parseInt(args[0]) : 1000;
+		int memberCount = (args.length > 1) ? Integer.parseInt(args[1]) : 100;
+		latencyMs = (args.length > 2) ? Long.parseLong(args[2]) : 50;
+		int runs = (args.length > 3) ? Integer.parseInt(args[3]) : 3;
+
+		Path fingerprints = Files.createTempFile("fingerprints", ".json");
+		Files.delete(fingerprints);
+		GuildFingerprints.useFile(fingerprints.toString());
+
+		System.out.println("STARTUP: " + guildCount + " guilds, " + memberCount + " members each, "
+				+ latencyMs + " ms per request");
+
+		for (int run = 1; run <= runs; run++)
+		{
+			Files.deleteIfExists(fingerprints);
+
+			List<Guild> guilds = new ArrayList<>(guildCount);
+
+			for (int i = 0; i < guildCount; i++)
+			{
+				guilds.add(new FakeGuild("guild-" + i, memberCount).guild);
+			}
+
+			Bot.shards = fake(ShardManager.class, (method, arguments) -> method.equals("getGuilds") ? guilds : null);
+
+			System.out.println("STARTUP: run " + run + " cold " + start(guilds));
+			System.out.println("STARTUP: run " + run + " restart " + start(guilds));
+		}
+
+		Files.deleteIfExists(fingerprints);
+		System.exit(0);
+	}
+
+	/**
+	 * Description:<br>
+	 * Runs everything <code>Bot.start</code> does once the shards are
+	 * ready, and waits for every guild to be set up.
+	 *
+	 * @param guilds	the guilds the bot is in
+	 * @return			<code>"&lt;phase&gt;=&lt;ms&gt;ms ..."</code>
+	 * @since			1.1.0
+	 */
+	private static String start(List<Guild> guilds) {
+		StartupTimer.reset();
+
+		Config.init(config());
+
+		CommandObject.init();
+
+		StartupTimer.mark("commands");
+
+		EventObject.init();
+
+		StartupTimer.mark("events");
+
+		GuildLanes.init();
+
+		GuildBootstrap.init();
+
+		AuthCache.init();
+
+		BanCache.init();
+
+		RateLimiter.init();
+
+		GuildSettingsStore.init();
+
+		Tokenizer.init(Config.current().commandPrefix, "<@1>", "<@!1>");
+
+		EventObject.addListeners();
+
+		StartupTimer.mark("services");
+
+		// What the members panel builds for every guild when the GUI starts
+		for (Guild guild : guilds)
+		{
+			new MemberListModel(guild.getMembers());
+		}
+
+		StartupTimer.mark("member-lists");
+
+		GuildBootstrap.initAll(guilds).join();
+
+		StartupTimer.markSinceStart("guild-setup");
+
+		return StartupTimer.getSummary();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static JSONObject config() {
+		JSONObject json = new JSONObject();
+		json.put(Config.TOKEN, "benchmark");
+		json.put(Config.ADMIN_ROLE, "Admin");
+		json.put(Config.COMMAND_PREFIX, "!");
+		json.put(Config.ACTIVITY, "benchmark");
+		json.put(Config.BOT_NAME, "Benchmark");
+		json.put(Config.OWNER_ID, "1");
+		return json;
+	}
+
+	/**
+	 * Description:<br>
+	 * A guild held in memory, with its roles, text channels, members, and
+	 * the overrides on each channel. Requests change it once they finish,
+	 * like Discord does.
+	 *
+	 * @since	1.1.0
+	 */
+	private static class FakeGuild {
+		final Guild guild;
+		final Role everyone;
+		final Member self;
+
+		// Ordered from the top down, without the public role
+		final List<Role> roles = new CopyOnWriteArrayList<>();
+		final List<Role> selfRoles = new CopyOnWriteArrayList<>();
+		final List<TextChannel> channels = new CopyOnWriteArrayList<>();
+		final List<Member> members;
+		final Map<Long, Map<Long, long []>> overrides = new ConcurrentHashMap<>();
+
+		FakeGuild(String name, int memberCount) {
+			long id = ids.incrementAndGet();
+
+			guild = fake(Guild.class, (method, args) -> guild(id, name, method, args));
+			everyone = role(id, GuildTemplate.EVERYONE);
+			self = member(ids.incrementAndGet(), "Benchmark", true);
+
+			for (String channel : CHANNELS)
+			{
+				channels.add(channel(channel));
+			}
+
+			List<Member> list = new ArrayList<>(memberCount + 1);
+			list.add(self);
+
+			for (int i = 0; i < memberCount; i++)
+			{
+				list.add(member(ids.incrementAndGet(), "member-" + i, false));
+			}
+
+			members = Collections.unmodifiableList(list);
+		}
+
+		private Object guild(long id, String name, String method, Object [] args) {
+			switch (method)
+			{
+				case "getIdLong":
+					return id;
+				case "getId":
+					return Long.toString(id);
+				case "getName":
+					return name;
+				case "getRoles":
+					List<Role> all = new ArrayList<>(roles);
+					all.add(everyone);
+					return all;
+				case "getPublicRole":
+					return everyone;
+				case "getSelfMember":
+					return self;
+				case "getMembers":
+					return members;
+				case "getMemberCount":
+					return members.size();
+				case "getTextChannels":
+				case "getChannels":
+					return new ArrayList<>(channels);
+				case "getRoleById":
+					return byId(roles, Long.parseLong(args[0].toString()));
+				case "getTextChannelById":
+					return byId(channels, Long.parseLong(args[0].toString()));
+				case "getRolesByName":
+					return byName(roles, (String) args[0]);
+				case "getTextChannelsByName":
+					return byName(channels, (String) args[0]);
+				case "createRole":
+					return request(RoleAction.class, calls -> {
+						Role role = role(ids.incrementAndGet(), (String) calls.get("setName")[0]);
+						roles.add(role);
+						return role;
+					});
+				case "addRoleToMember":
+					return request(AuditableRestAction.class, calls -> {
+						selfRoles.add((Role) args[1]);
+						return null;
+					});
+				case "modifyRolePositions":
+					return request(RoleOrderAction.class, calls -> {
+						move((Role) calls.get("selectPosition")[0], (Integer) calls.get("moveTo")[0]);
+						return null;
+					});
+				case "createTextChannel":
+					List<Object []> initial = new CopyOnWriteArrayList<>();
+
+					return request(ChannelAction.class, initial, calls -> {
+						TextChannel channel = channel((String) args[0]);
+
+						for (Object [] override : initial)
+						{
+							overrides.get(channel.getIdLong()).put(((Role) override[0]).getIdLong(),
+									new long [] {(Long) override[1], (Long) override[2]});
+						}
+
+						channels.add(channel);
+						return channel;
+					});
+				default:
+					return null;
+			}
+		}
+
+		private Role role(long id, String name) {
+			return fake(Role.class, (method, args) -> {
+				switch (method)
+				{
+					case "getIdLong":
+						return id;
+					case "getId":
+						return Long.toString(id);
+					case "getName":
+						return name;
+					case "getGuild":
+						return guild;
+					case "getPosition":
+						return position(id);
+					default:
+						return null;
+				}
+			});
+		}
+
+		private Member member(long id, String name, boolean isSelf) {
+			return fake(Member.class, (method, args) -> {
+				switch (method)
+				{
+					case "getIdLong":
+						return id;
+					case "getId":
+						return Long.toString(id);
+					case "getEffectiveName":
+						return name;
+					case "getGuild":
+						return guild;
+					case "getRoles":
+						return isSelf ? new ArrayList<>(selfRoles) : Collections.emptyList();
+					default:
+						return null;
+				}
+			});
+		}
+
+		private TextChannel channel(String name) {
+			long id = ids.incrementAndGet();
+			Map<Long, long []> channelOverrides = new ConcurrentHashMap<>();
+			overrides.put(id, channelOverrides);
+
+			return fake(TextChannel.class, (method, args) -> {
+				switch (method)
+				{
+					case "getIdLong":
+						return id;
+					case "getId":
+						return Long.toString(id);
+					case "getName":
+						return name;
+					case "getGuild":
+						return guild;
+					case "getType":
+						return ChannelType.TEXT;
+					case "getPermissionOverride":
+						long [] override = channelOverrides.get(((Role) args[0]).getIdLong());
+						return (override == null) ? null : override(override);
+					case "putPermissionOverride":
+						return request(PermissionOverrideAction.class, calls -> {
+							Object [] permissions = calls.get("setPermissions");
+							channelOverrides.put(((Role) args[0]).getIdLong(), new long [] {(Long) permissions[0], (Long) permissions[1]});
+							return null;
+						});
+					case "sendMessage":
+						return request(MessageAction.class, calls -> null);
+					default:
+						return null;
+				}
+			});
+		}
+
+		private PermissionOverride override(long [] permissions) {
+			return fake(PermissionOverride.class, (method, args) -> {
+				switch (method)
+				{
+					case "getAllowedRaw":
+						return permissions[0];
+					case "getDeniedRaw":
+						return permissions[1];
+					default:
+						return null;
+				}
+			});
+		}
+
+		// Roles lower in the list have lower positions, and the public role is always at the bottom
+		private int position(long roleId) {
+			if (roleId == everyone.getIdLong())
+				return -1;
+
+			List<Role> current = roles;
+
+			for (int i = 0; i < current.size(); i++)
+			{
+				if (current.get(i).getIdLong() == roleId)
+					return current.size() - 1 - i;
+			}
+
+			return -1;
+		}
+
+		private synchronized void move(Role role, int position) {
+			roles.remove(role);
+			roles.add(Math.max(0, Math.min(roles.size(), roles.size() - position)), role);
+		}
+	}
+
+	/**
+	 * Description:<br>
+	 * What a fake request does once it finishes, given the last arguments
+	 * each of its setters was called with.
+	 *
+	 * @since	1.1.0
+	 */
+	private interface Result {
+		Object finish(Map<String, Object []> calls);
+	}
+
+	/**
+	 * Description:<br>
+	 * Answers a method called on a fake, by its name.
+	 *
+	 * @since	1.1.0
+	 */
+	private interface Answer {
+		Object answer(String method, Object [] args);
+	}
+
+	private static <T> T request(Class<T> type, Result result) {
+		return request(type, new ArrayList<>(), result);
+	}
+
+	/**
+	 * Description:<br>
+	 * Creates a fake request. Its setters are remembered and return the
+	 * request itself, and submitting it finishes after the latency. The
+	 * overrides of a new channel are kept apart, since they are added one
+	 * call at a time.
+	 *
+	 * @param type		the kind of request
+	 * @param overrides	where the overrides added to it are kept
+	 * @param result	what it does once it finishes
+	 * @return			<code>request</code>
+	 * @since			1.1.0
+	 */
+	private static <T> T request(Class<T> type, List<Object []> overrides, Result result) {
+		Map<String, Object []> calls = new ConcurrentHashMap<>();
+
+		return Fakes.fake(type, (proxy, method, args) -> {
+			switch (method.getName())
+			{
+				case "submit":
+					CompletableFuture<Object> future = new CompletableFuture<>();
+					discord.schedule(() -> {
+						try {
+							future.complete(result.finish(calls));
+						} catch (RuntimeException e) {
+							future.completeExceptionally(e);
+						}
+					}, latencyMs, TimeUnit.MILLISECONDS);
+					return future;
+				case "addPermissionOverride":
+					overrides.add(args);
+					return proxy;
+				default:
+					calls.put(method.getName(), (args == null) ? new Object [0] : args);
+					return method.getReturnType().isInstance(proxy) ? proxy : null;
+			}
+		});
+	}
+
+	/**
+	 * Description:<br>
+	 * Creates a fake that answers every method through the given answer.
+	 *
+	 * @param type		the interface to fake
+	 * @param answer	answers its methods
+	 * @return			<code>fake</code>
+	 * @since			1.1.0
+	 */
+	private static <T> T fake(Class<T> type, Answer answer) {
+		return Fakes.fake(type, (proxy, method, args) -> answer.answer(method.getName(), args));
+	}
+
+	private static <T extends ISnowflake> T byId(List<T> entities, long id) {
+		for (T entity : entities)
+		{
+			if (entity.getIdLong() == id)
+				return entity;
+		}
+
+		return null;
+	}
+
+	private static <T> List<T> byName(List<T> entities, String name) {
+		List<T> found = new ArrayList<>();
+
+		for (T entity : entities)
+		{
+			String entityName = (entity instanceof Role) ? ((Role) entity).getName() : ((GuildChannel) entity).getName();
+
+			if (entityName.toLowerCase(Locale.ROOT).equals(name.toLowerCase(Locale.ROOT)))
+				found.add(entity);
+		}
+
+		return found;
+	}
+}
@@ -0,0 +1,64 @@
+package testutil;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+
+/**
+ * Description:<br>
+ * The Fakes class creates stand-ins for JDA's interfaces, such as guilds,
+ * members and requests, for the tests and benchmarks that need Discord
+ * without connecting to it. A fake is a dynamic proxy: the basic object
+ * methods work as they do for JDA's entities, which are only equal to
+ * themselves, and every other call goes to the handler it was given.
+ * <p>
+ *
+ * Date:		October 17, 2026
+ * @author 		Harrison Hoggard
+ * @version		1.1.0
+ * @since		1.1.0
+ */
+public class Fakes {
+
+	private Fakes() {
+	}
+
+	/**
+	 * Description:<br>
+	 * Creates a fake of an interface. A handler that answers
+	 * <code>null</code> for a method returning a <code>boolean</code>,
+	 * <code>int</code> or <code>long</code> answers <code>false</code> or
+	 * 0 instead.
+	 *
+	 * @param type		the interface to fake
+	 * @param handler	answers every method other than the basic object ones
+	 * @return			<code>fake</code>
+	 * @since			1.1.0
+	 */
+	public static <T> T fake(Class<T> type, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?> [] {type}, (proxy, method, args) -> {
+			switch (method.getName())
+			{
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "equals":
+					return proxy == args[0];
+				case "toString":
+					return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+				default:
+					Object value = handler.invoke(proxy, method, args);
+					Class<?> returns = method.getReturnType();
+
+					if (value != null || !returns.isPrimitive() || returns == void.class)
+						return value;
+
+					if (returns == boolean.class)
+						return false;
+
+					if (returns == long.class)
+						return 0L;
+
+					return 0;
+			}
+		}));
+	}
+}